@@ -1,4 +1,5 @@
-import java.util.Scanner;
+import java.util.Arrays;
+
 class Darray {
 
     void basicImplementation(int arr[][]) {
@@ -10,11 +11,20 @@ class Darray {
         }
     }
 
+    void basicImplementation(intMatrix matrix) {
+        fastOutput out = fastOutput.out;
+        for(int i=0; i<matrix.rows; i++) {
+            int start = matrix.offset + i * matrix.stride;
+            out.printArray(matrix.data, start, start + matrix.cols, ' ').println();
+        }
+        out.flush();
+    }
+
     void inputUser(int n) {
         int matrix[][]=new int[4][6];
+        fastInput sc = fastInput.in; //one reader for the whole matrix
         for(int i=0; i<matrix.length; i++) {
             for(int j=0; j<matrix[i].length; j++) {
-                Scanner sc = new Scanner(System.in);
                 System.out.print("Enter element at position ["+i+"]["+j+"]: ");
                 matrix[i][j] = sc.nextInt();
                 System.out.println();   
@@ -23,16 +33,7 @@ class Darray {
     }
 
     public static boolean search(int matrix[][], int key) {
-        for(int i=0; i<matrix.length; i++) {
-            for(int j=0; j<matrix[0].length; j++) {
-                if(matrix[i][j] == key) {
-                    System.out.println("Found at cell ("+i+","+j+")");
-                    return true;
-                }
-            }
-        }
-        System.out.println("Element not found");
-        return false;
+        return matrices.search(matrix, key);
     }
 
     public static void printSpiral(int matrix[][]) {
@@ -73,18 +74,10 @@ class Darray {
         System.out.println();
     }
 
-    public static void diagonalSum(int matrix[][]) {
-        int sum = 0;
-        for(int i=0; i<matrix.length; i++) {
-            //pd
-            sum += matrix[i][i];
-            //sd
-            if(i != matrix.length-1-i) {
-                sum += matrix[i][matrix.length-1-i];
-            }
-        }
-        System.out.println("Sum of diagonal elements is: "+sum);
-   }
+    public static int diagonalSum(int matrix[][]) {
+        return matrices.diagonalSum(matrix);
+    }
+
     public static void main(String[] args) {
         /*int arr[][] = {
             {1, 2, 3, 5},
@@ -105,6 +98,14 @@ class Darray {
         //search(matrix, 10);
         printSpiral(matrix);
 
-            
+        //same matrix in one int[], the inner 2 x 2 block is a view of it
+        intMatrix flat = intMatrix.of(matrix);
+        matrices.printSpiral(flat.submatrix(1, 1, 2, 2));
+        matrices.diagonalSum(flat);
+
+        //rows and columns are sorted here, so all three searches work
+        System.out.println("staircase: "+Arrays.toString(matrices.staircaseSearch(matrix, 10)));
+        System.out.println("row binary search: "+Arrays.toString(matrices.rowBinarySearch(flat, 10)));
+        System.out.println("parallel: "+Arrays.toString(matrices.parallelSearch(matrix, 17)));
     }
 }
@@ -1,15 +1,14 @@
-import java.util.*;
 public class Calculator {
 
 	public static void main(String[] args) {
-		Scanner sc = new Scanner(System.in);
+		fastInput sc = fastInput.in;
 		
 		System.out.println("Take two numbers as inputs");
 		int a = sc.nextInt();
 		int b =sc.nextInt();
 		
 		System.out.println("Choose your operator");
-		char operator = sc.next().charAt(0);
+		char operator = sc.nextChar();
 		
 		switch(operator) {
 		
@@ -1,8 +1,7 @@
-import java.util.*;
 public class IncomeTax {
 
 	public static void main(String[] args) {
-		Scanner sc = new Scanner(System.in);
+		fastInput sc = fastInput.in;
 		
 		System.out.print("Enter your salary: ");
 		int income = sc.nextInt();
@@ -1,9 +1,7 @@
-import java.util.*; 
-
 public class LeapYear{
 	public static void main(String[]args) {
 		
-		Scanner sc = new Scanner(System.in);
+		fastInput sc = fastInput.in;
 		System.out.print("Input the year: ");
 		
 		int year = sc.nextInt(); 
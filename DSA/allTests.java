@@ -0,0 +1,30 @@
+// Runs every *Test class in this folder, see check.java
+public class allTests {
+
+    public static void main(String[] args) throws Exception {
+        arrayCursorsTest.main(args);
+        arrayKernelsTest.main(args);
+        basicSortingTest.main(args);
+        bitKernelsTest.main(args);
+        combinatoricsTest.main(args);
+        compressedIntsTest.main(args);
+        fastFibonacciTest.main(args);
+        fastInputTest.main(args);
+        fastOutputTest.main(args);
+        fastPowerTest.main(args);
+        intMatrixTest.main(args);
+        matricesTest.main(args);
+        matrixPowerTest.main(args);
+        maxSubarrayTest.main(args);
+        maxSubarrayStreamTest.main(args);
+        memoCacheTest.main(args);
+        numberTheoryTest.main(args);
+        packedBitSetTest.main(args);
+        radixCodecTest.main(args);
+        rangeQueryTest.main(args);
+        searchIndexTest.main(args);
+        sieveTest.main(args);
+        trampolineTest.main(args);
+        System.out.println("All tests passed");
+    }
+}
@@ -1,9 +1,7 @@
-import java.util.*;
-
 public class armstrong {
 
     public static void main(String[] args) {
-        Scanner sc = new Scanner(System.in);
+        fastInput sc = fastInput.in;
 
         System.out.print("Input for Armstrong Number: ");
         int n = sc.nextInt();
@@ -29,7 +27,6 @@ public class armstrong {
         else {
             System.out.println(originalNumber + " is not an Armstrong number.");
         }
-        
-        sc.close();
+
     }
 }
@@ -0,0 +1,264 @@
+import java.util.Spliterator;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+// Pairs and subarrays of an array without printing or building anything,
+// the lazy version of arrays.pairsinArray / arrays.printSubArray / practice.pairArr.
+//
+// Two ways to walk them:
+//  - cursors: pairCursor / subarrayCursor, call next() and read the current bounds.
+//    Nothing is allocated after the cursor itself.
+//  - streams: pairs(arr) / subarrays(arr) give a LongStream of bounds packed into one long
+//    (i in the high 32 bits, j in the low 32 bits, see pack / first / second), so they can be
+//    filtered, counted or run in parallel without boxing. The spliterator splits by number
+//    of items, not by rows, so the parallel halves get the same amount of work.
+//
+// Subarray sums: with prefix[k] = arr[0] + ... + arr[k-1] (prefixSums), the sum of
+// arr[i..j] is prefix[j+1] - prefix[i], O(1) instead of adding the elements again.
+public class arrayCursors {
+
+    public static long pack(int i, int j) {
+        return ((long)i << 32) | (j & 0xFFFFFFFFL);
+    }
+
+    public static int first(long packed) {
+        return (int)(packed >>> 32);
+    }
+
+    public static int second(long packed) {
+        return (int)packed;
+    }
+
+    // prefix[k] = sum of arr[0..k-1], prefix has arr.length+1 entries
+    public static long[] prefixSums(int arr[]) {
+        long prefix[] = new long[arr.length + 1];
+        for(int i=0; i<arr.length; i++) {
+            prefix[i+1] = prefix[i] + arr[i];
+        }
+        return prefix;
+    }
+
+    // sum of the subarray packed as (i, j), both inclusive
+    public static long sum(long prefix[], long packed) {
+        return prefix[second(packed) + 1] - prefix[first(packed)];
+    }
+
+    // all (i, j) with i < j, same order as arrays.pairsinArray
+    public static class pairCursor {
+        final int arr[];
+        int i = 0, j = 0;
+
+        public pairCursor(int arr[]) {
+            this.arr = arr;
+        }
+
+        public boolean next() {
+            j++;
+            while(j >= arr.length) {
+                i++;
+                if(i >= arr.length - 1) {
+                    j = arr.length;
+                    return false;
+                }
+                j = i + 1;
+            }
+            return true;
+        }
+
+        public int i() {
+            return i;
+        }
+
+        public int j() {
+            return j;
+        }
+
+        public int firstValue() {
+            return arr[i];
+        }
+
+        public int secondValue() {
+            return arr[j];
+        }
+    }
+
+    // all subarrays arr[start..end], same order as arrays.printSubArray
+    public static class subarrayCursor {
+        final int arr[];
+        final long prefix[]; //null when sums are not needed
+        int start = 0, end = -1;
+
+        public subarrayCursor(int arr[], boolean withSums) {
+            this.arr = arr;
+            this.prefix = withSums ? prefixSums(arr) : null;
+        }
+
+        public boolean next() {
+            end++;
+            if(end >= arr.length) {
+                start++;
+                end = start;
+                if(start >= arr.length) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        public int start() {
+            return start;
+        }
+
+        public int end() {
+            return end;
+        }
+
+        public int length() {
+            return end - start + 1;
+        }
+
+        // O(1), needs the cursor to be made with withSums = true
+        public long sum() {
+            if(prefix == null) {
+                throw new IllegalStateException("Cursor was made without sums");
+            }
+            return prefix[end + 1] - prefix[start];
+        }
+    }
+
+    // (i, j) with i < j
+    public static LongStream pairs(int arr[], boolean parallel) {
+        return StreamSupport.longStream(new triangleSpliterator(arr.length, 1), parallel);
+    }
+
+    // (start, end) with start <= end
+    public static LongStream subarrays(int arr[], boolean parallel) {
+        return StreamSupport.longStream(new triangleSpliterator(arr.length, 0), parallel);
+    }
+
+    // sum of every subarray, in the same order as subarrays()
+    public static LongStream subarraySums(int arr[], boolean parallel) {
+        long prefix[] = prefixSums(arr);
+        return subarrays(arr, parallel).map(p -> sum(prefix, p));
+    }
+
+    // Walks (i, j) for 0 <= i < n and i + gap <= j < n, row by row.
+    // Items are numbered 0..size-1 in that order and the spliterator owns the range [pos, fence).
+    static class triangleSpliterator implements Spliterator.OfLong {
+        final int n, gap;
+        long pos, fence;
+        int i, j; //bounds of item number pos
+
+        triangleSpliterator(int n, int gap) {
+            this(n, gap, 0, count(n, gap));
+        }
+
+        triangleSpliterator(int n, int gap, long pos, long fence) {
+            this.n = n;
+            this.gap = gap;
+            this.pos = pos;
+            this.fence = fence;
+            seek(pos);
+        }
+
+        // items in rows 0..n-1 of a triangle whose row i has n - i - gap items
+        static long count(int n, int gap) {
+            long rows = Math.max(0, n - gap);
+            return rows * (rows + 1) / 2;
+        }
+
+        // sets (i, j) to the bounds of item number p
+        void seek(long p) {
+            long total = count(n, gap);
+            if(p >= total) {
+                i = n;
+                j = n;
+                return;
+            }
+            //items left after p form a smaller triangle, its number of rows gives the row of p
+            long left = total - p;
+            long rows = (long)Math.ceil((Math.sqrt(8.0 * left + 1) - 1) / 2);
+            while(rows * (rows + 1) / 2 < left) {
+                rows++;
+            }
+            while(rows > 0 && (rows - 1) * rows / 2 >= left) {
+                rows--;
+            }
+            i = (int)(n - gap - rows);
+            long rowStart = total - rows * (rows + 1) / 2;
+            j = (int)(i + gap + (p - rowStart));
+        }
+
+        @Override
+        public boolean tryAdvance(LongConsumer action) {
+            if(pos >= fence) {
+                return false;
+            }
+            action.accept(pack(i, j));
+            pos++;
+            if(++j >= n) {
+                i++;
+                j = i + gap;
+            }
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(LongConsumer action) {
+            int row = i, col = j;
+            for(long p=pos; p<fence; p++) {
+                action.accept(pack(row, col));
+                if(++col >= n) {
+                    row++;
+                    col = row + gap;
+                }
+            }
+            pos = fence;
+            i = row;
+            j = col;
+        }
+
+        @Override
+        public Spliterator.OfLong trySplit() {
+            long mid = (pos + fence) >>> 1;
+            if(mid - pos < 1024) {
+                return null;
+            }
+            triangleSpliterator prefix = new triangleSpliterator(n, gap, pos, mid);
+            pos = mid;
+            seek(mid);
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - pos;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | IMMUTABLE | NONNULL | DISTINCT;
+        }
+    }
+
+    public static void main(String[] args) {
+        int arr[] = {2, 4, 6, 8, 10};
+
+        pairCursor pc = new pairCursor(arr);
+        while(pc.next()) {
+            System.out.print("("+pc.firstValue()+","+pc.secondValue()+") ");
+        }
+        System.out.println();
+
+        subarrayCursor sc = new subarrayCursor(arr, true);
+        while(sc.next()) {
+            System.out.print("["+sc.start()+".."+sc.end()+"]="+sc.sum()+" ");
+        }
+        System.out.println();
+
+        System.out.println("Pairs with an even sum: "+pairs(arr, false)
+            .filter(p -> (arr[first(p)] + arr[second(p)]) % 2 == 0).count());
+        System.out.println("Max subarray sum: "+subarraySums(arr, true).max().getAsLong());
+    }
+}
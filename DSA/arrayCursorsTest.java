@@ -0,0 +1,106 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// arrayCursors against nested loops, see check.java
+public class arrayCursorsTest {
+
+    static long[] expectedPairs(int n, int gap) {
+        List<Long> out = new ArrayList<>();
+        for(int i=0; i<n; i++) {
+            for(int j=i+gap; j<n; j++) {
+                out.add(arrayCursors.pack(i, j));
+            }
+        }
+        return out.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    public static void packing() {
+        int values[] = {0, 1, -1, Integer.MAX_VALUE, Integer.MIN_VALUE};
+        for(int i : values) {
+            for(int j : values) {
+                long p = arrayCursors.pack(i, j);
+                check.equal(i, arrayCursors.first(p), "first of ("+i+", "+j+")");
+                check.equal(j, arrayCursors.second(p), "second of ("+i+", "+j+")");
+            }
+        }
+    }
+
+    public static void cursors() {
+        Random r = new Random(10);
+        for(int n=0; n<=12; n++) {
+            int arr[] = r.ints(n, -5, 5).toArray();
+            long pairs[] = expectedPairs(n, 1), subarrays[] = expectedPairs(n, 0);
+
+            arrayCursors.pairCursor pc = new arrayCursors.pairCursor(arr);
+            for(long p : pairs) {
+                check.that(pc.next(), "pair cursor ended early, n = "+n);
+                check.equal(p, arrayCursors.pack(pc.i(), pc.j()), "pair, n = "+n);
+                check.equal(arr[pc.i()], pc.firstValue(), "firstValue, n = "+n);
+                check.equal(arr[pc.j()], pc.secondValue(), "secondValue, n = "+n);
+            }
+            check.that(!pc.next() && !pc.next(), "pair cursor stays done, n = "+n);
+
+            arrayCursors.subarrayCursor sc = new arrayCursors.subarrayCursor(arr, true);
+            for(long p : subarrays) {
+                check.that(sc.next(), "subarray cursor ended early, n = "+n);
+                check.equal(p, arrayCursors.pack(sc.start(), sc.end()), "subarray, n = "+n);
+                long sum = 0;
+                for(int k=sc.start(); k<=sc.end(); k++) {
+                    sum += arr[k];
+                }
+                check.equal(sum, sc.sum(), "sum, n = "+n);
+                check.equal(sc.end() - sc.start() + 1, sc.length(), "length, n = "+n);
+            }
+            check.that(!sc.next(), "subarray cursor done, n = "+n);
+
+            check.equal(pairs, arrayCursors.pairs(arr, false).toArray(), "pairs stream, n = "+n);
+            check.equal(subarrays, arrayCursors.subarrays(arr, false).toArray(), "subarrays stream, n = "+n);
+        }
+        arrayCursors.subarrayCursor noSums = new arrayCursors.subarrayCursor(new int[] {1}, false);
+        noSums.next();
+        check.fails(IllegalStateException.class, noSums::sum, "sum without prefix sums");
+    }
+
+    public static void parallel() {
+        int arr[] = new Random(11).ints(700).toArray();
+        //the parallel stream splits, but toArray keeps the encounter order
+        check.equal(expectedPairs(arr.length, 1), arrayCursors.pairs(arr, true).toArray(), "parallel pairs");
+        check.equal(expectedPairs(arr.length, 0), arrayCursors.subarrays(arr, true).toArray(), "parallel subarrays");
+        long prefix[] = arrayCursors.prefixSums(arr);
+        check.equal(arrayCursors.subarrays(arr, false).map(p -> arrayCursors.sum(prefix, p)).sum(),
+                    arrayCursors.subarraySums(arr, true).sum(), "parallel subarray sums");
+    }
+
+    public static void limits() {
+        int max[] = new int[1000];
+        java.util.Arrays.fill(max, Integer.MAX_VALUE);
+        long prefix[] = arrayCursors.prefixSums(max);
+        check.equal(1000L * Integer.MAX_VALUE, prefix[1000], "prefix sums past int");
+        check.equal(1000L * Integer.MAX_VALUE, arrayCursors.subarraySums(max, false).max().getAsLong(), "largest sum");
+        check.equal(1, arrayCursors.prefixSums(new int[0]).length, "prefix sums of an empty array");
+        check.equal(0, arrayCursors.pairs(new int[1], true).count(), "no pairs in one element");
+
+        //100000 elements: about 5 * 10^9 pairs, more than an int can count. seek() has to land on the
+        //right row without walking there.
+        int n = 100_000;
+        long total = (long)n * (n - 1) / 2;
+        check.equal(total, arrayCursors.pairs(new int[n], false).spliterator().estimateSize(), "pair count");
+        long positions[] = {0, 1, n - 2, n - 1, total / 2, total - 2, total - 1};
+        for(long p : positions) {
+            arrayCursors.triangleSpliterator s = new arrayCursors.triangleSpliterator(n, 1, p, total);
+            //row i starts at item i*n - i*(i+1)/2 and holds pairs (i, i+1..n-1)
+            long rowStart = (long)s.i * n - (long)s.i * (s.i + 1) / 2;
+            check.that(rowStart <= p && p < rowStart + (n - 1 - s.i), "row of item "+p);
+            check.equal(s.i + 1 + (p - rowStart), s.j, "column of item "+p);
+        }
+    }
+
+    public static void main(String[] args) {
+        packing();
+        cursors();
+        parallel();
+        limits();
+        System.out.println("arrayCursorsTest passed");
+    }
+}
@@ -0,0 +1,131 @@
+// Fast versions of the simple arrays.java loops (linearSearch, getLargest, reverseArray, update)
+// for int arrays that are tens of millions long.
+//
+// Two implementations of the same kernels:
+//  - scalarKernels below: plain loops, always there.
+//  - vector/arrayVectorKernels.java: the Vector API (jdk.incubator.vector) working on a whole
+//    SIMD register of ints per step with a scalar tail for the leftover elements.
+//    It is an incubator module, so it lives in its own folder and needs the flag to build and run:
+//        javac -d out *.java
+//        javac --add-modules jdk.incubator.vector -cp out -d out vector/*.java
+//        java --add-modules jdk.incubator.vector -cp out arrayKernels
+// At class load the vector version is picked if it was compiled, the module is there and the
+// preferred species has at least MIN_VECTOR_LANES ints, otherwise the scalar one.
+// Arrays shorter than SCALAR_MAX always take the scalar loop, setting up vectors costs more there.
+public class arrayKernels {
+
+    static final int SCALAR_MAX = 64;
+    static final int MIN_VECTOR_LANES = 4;
+
+    interface kernels {
+        int linearSearch(int numbers[], int key);
+        int[] minMax(int numbers[]);
+        int[] reverseArray(int arr[]);
+        void addScalar(int marks[], int delta);
+    }
+
+    static final kernels SCALAR = new scalarKernels();
+    static final kernels KERNELS = load();
+
+    static kernels load() {
+        try {
+            Class<?> c = Class.forName("arrayVectorKernels");
+            kernels k = (kernels)c.getDeclaredConstructor().newInstance();
+            if((int)c.getMethod("lanes").invoke(null) >= MIN_VECTOR_LANES) {
+                return k;
+            }
+        } catch(ReflectiveOperationException | LinkageError e) {
+            //not compiled or started without --add-modules jdk.incubator.vector
+        }
+        return SCALAR;
+    }
+
+    // "vector" or "scalar", whichever load() picked
+    public static String variant() {
+        return KERNELS == SCALAR ? "scalar" : "vector";
+    }
+
+    // arrays.linearSearch: first index of key, -1 if not found
+    public static int linearSearch(int numbers[], int key) {
+        return numbers.length < SCALAR_MAX ? SCALAR.linearSearch(numbers, key) : KERNELS.linearSearch(numbers, key);
+    }
+
+    // returns {smallest, largest}, arrays.getLargest prints the first and returns the second
+    public static int[] minMax(int numbers[]) {
+        if(numbers.length == 0) {
+            throw new IllegalArgumentException("Array is empty");
+        }
+        return numbers.length < SCALAR_MAX ? SCALAR.minMax(numbers) : KERNELS.minMax(numbers);
+    }
+
+    public static int getLargest(int numbers[]) {
+        return minMax(numbers)[1];
+    }
+
+    // arrays.reverseArray: reverses in place and returns arr
+    public static int[] reverseArray(int arr[]) {
+        return arr.length < SCALAR_MAX ? SCALAR.reverseArray(arr) : KERNELS.reverseArray(arr);
+    }
+
+    // arrays.update without the printing: adds delta to every element
+    public static void addScalar(int marks[], int delta) {
+        if(marks.length < SCALAR_MAX) {
+            SCALAR.addScalar(marks, delta);
+        } else {
+            KERNELS.addScalar(marks, delta);
+        }
+    }
+
+    static class scalarKernels implements kernels {
+        public int linearSearch(int numbers[], int key) {
+            for(int i=0; i<numbers.length; i++) {
+                if(numbers[i] == key) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        public int[] minMax(int numbers[]) {
+            int smallest = numbers[0];
+            int largest = numbers[0];
+            for(int i=1; i<numbers.length; i++) {
+                smallest = Math.min(smallest, numbers[i]);
+                largest = Math.max(largest, numbers[i]);
+            }
+            return new int[]{smallest, largest};
+        }
+
+        public int[] reverseArray(int arr[]) {
+            int start = 0, end = arr.length-1;
+            while(start < end) {
+                int temp = arr[start];
+                arr[start] = arr[end];
+                arr[end] = temp;
+                start++;
+                end--;
+            }
+            return arr;
+        }
+
+        public void addScalar(int marks[], int delta) {
+            for(int i=0; i<marks.length; i++) {
+                marks[i] += delta;
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        int numbers[] = new int[1000];
+        for(int i=0; i<numbers.length; i++) {
+            numbers[i] = (i * 37) % 1000;
+        }
+        System.out.println("Using "+variant()+" kernels");
+        int mm[] = minMax(numbers);
+        System.out.println("Smallest element is "+mm[0]+", largest element is "+mm[1]);
+        System.out.println("Index of 500: "+linearSearch(numbers, 500));
+        addScalar(numbers, 5);
+        reverseArray(numbers);
+        System.out.println("First element after update and reverse: "+numbers[0]);
+    }
+}
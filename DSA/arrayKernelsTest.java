@@ -0,0 +1,104 @@
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.Random;
+
+// arrayKernels against plain loops, see check.java. The vector kernels are only tested when they
+// are compiled and the run has --add-modules jdk.incubator.vector (arrayKernels.variant() says which).
+public class arrayKernelsTest {
+
+    // the kernels one by one, at every length around the vector width and the tails after it
+    static void matches(arrayKernels.kernels k, int numbers[], String what) {
+        int n = numbers.length;
+        int keys[] = {n == 0 ? 0 : numbers[n-1], n == 0 ? 0 : numbers[n/2], Integer.MIN_VALUE, 12345};
+        for(int key : keys) {
+            int expected = -1;
+            for(int i=n-1; i>=0; i--) {
+                if(numbers[i] == key) {
+                    expected = i;
+                }
+            }
+            check.equal(expected, k.linearSearch(numbers, key), what+": linearSearch("+key+")");
+        }
+        if(n > 0) {
+            int sorted[] = numbers.clone();
+            Arrays.sort(sorted);
+            check.equal(new int[] {sorted[0], sorted[n-1]}, k.minMax(numbers.clone()), what+": minMax");
+        }
+        int reversed[] = new int[n];
+        for(int i=0; i<n; i++) {
+            reversed[i] = numbers[n-1-i];
+        }
+        check.equal(reversed, k.reverseArray(numbers.clone()), what+": reverseArray");
+        int added[] = numbers.clone();
+        k.addScalar(added, Integer.MAX_VALUE);
+        for(int i=0; i<n; i++) {
+            check.equal(numbers[i] + Integer.MAX_VALUE, added[i], what+": addScalar wraps around like +");
+        }
+    }
+
+    public static void lengths() {
+        Random r = new Random(3);
+        for(int n=0; n<=300; n++) {
+            int numbers[] = new int[n];
+            for(int i=0; i<n; i++) {
+                numbers[i] = r.nextInt(50) - 25;
+            }
+            if(n > 2) {
+                numbers[r.nextInt(n)] = Integer.MAX_VALUE;
+                numbers[r.nextInt(n)] = Integer.MIN_VALUE;
+            }
+            matches(arrayKernels.SCALAR, numbers, "scalar, n = "+n);
+            matches(arrayKernels.KERNELS, numbers, arrayKernels.variant()+", n = "+n);
+        }
+        int big[] = r.ints(1_000_003).toArray();
+        matches(arrayKernels.KERNELS, big, arrayKernels.variant()+", n = 1000003");
+        int same[] = new int[100];
+        Arrays.fill(same, Integer.MIN_VALUE);
+        check.equal(new int[] {Integer.MIN_VALUE, Integer.MIN_VALUE}, arrayKernels.minMax(same), "all MIN_VALUE");
+        Arrays.fill(same, Integer.MAX_VALUE);
+        check.equal(new int[] {Integer.MAX_VALUE, Integer.MAX_VALUE}, arrayKernels.minMax(same), "all MAX_VALUE");
+    }
+
+    public static void entryPoints() {
+        int numbers[] = {4, -2, 9, 9, 0};
+        check.equal(2, arrayKernels.linearSearch(numbers, 9), "linearSearch finds the first one");
+        check.equal(-1, arrayKernels.linearSearch(new int[0], 9), "linearSearch on an empty array");
+        check.equal(9, arrayKernels.getLargest(numbers), "getLargest");
+        check.equal(new int[] {0, 9, 9, -2, 4}, arrayKernels.reverseArray(numbers), "reverseArray works in place");
+        arrayKernels.addScalar(numbers, 1);
+        check.equal(new int[] {1, 10, 10, -1, 5}, numbers, "addScalar");
+        check.fails(IllegalArgumentException.class, () -> arrayKernels.minMax(new int[0]), "minMax of an empty array");
+        check.fails(IllegalArgumentException.class, () -> arrayKernels.getLargest(new int[0]), "getLargest of an empty array");
+    }
+
+    // arrays.linearSearch, getLargest and reverseArray run on the kernels, below and above SCALAR_MAX
+    public static void arraysEntryPoints() {
+        PrintStream console = System.out;
+        System.setOut(new PrintStream(new ByteArrayOutputStream())); //getLargest prints the smallest
+        try {
+            for(int n : new int[] {5, arrayKernels.SCALAR_MAX, 1000}) {
+                int numbers[] = new int[n];
+                for(int i=0; i<n; i++) {
+                    numbers[i] = (i * 37) % n - n / 2;
+                }
+                numbers[n-2] = Integer.MAX_VALUE;
+                check.equal(n-2, arrays.linearSearch(numbers, Integer.MAX_VALUE), "arrays.linearSearch, n = "+n);
+                check.equal(-1, arrays.linearSearch(numbers, Integer.MIN_VALUE), "arrays.linearSearch missing key, n = "+n);
+                check.equal(Integer.MAX_VALUE, arrays.getLargest(numbers), "arrays.getLargest, n = "+n);
+                int reversed[] = arrays.reverseArray(numbers.clone());
+                check.equal(Integer.MAX_VALUE, reversed[1], "arrays.reverseArray, n = "+n);
+                check.equal(numbers[0], reversed[n-1], "arrays.reverseArray last, n = "+n);
+            }
+        } finally {
+            System.setOut(console);
+        }
+    }
+
+    public static void main(String[] args) {
+        lengths();
+        entryPoints();
+        arraysEntryPoints();
+        System.out.println("arrayKernelsTest passed ("+arrayKernels.variant()+" kernels)");
+    }
+}
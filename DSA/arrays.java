@@ -1,5 +1,4 @@
-
-import java.util.Scanner;
+import java.util.Objects;
 
 class arrays {
     void printArray() {
@@ -17,7 +16,7 @@ class arrays {
     void printArray1() {
         int marks[] = new int[5];
 
-        Scanner sc = new Scanner(System.in);
+        fastInput sc = fastInput.in;
         marks[0] = sc.nextInt();
         marks[1] = sc.nextInt();
         //marks[2] = 100;
@@ -33,47 +32,36 @@ class arrays {
     }
 
     public static void update(int marks[]) {
+        arrayKernels.addScalar(marks, 5);
+        fastOutput out = fastOutput.out;
         for(int i=0; i<marks.length; i++) {
-            marks[i] = marks[i]+5;
-            System.out.println("Updated mark is: "+marks[i]);
+            out.print("Updated mark is: ").print(marks[i]).println();
         }
+        out.flush();
     }
 
+    // the loops run in arrayKernels, with the Vector API when it is there
     public static int linearSearch(int numbers[], int key) {
-
-        for(int i=0; i<numbers.length; i++) {
-            if(numbers[i]==key) {
-                return i;
-            }
-        }
-
-        return -1;
+        return arrayKernels.linearSearch(numbers, key);
     }
 
     public static int getLargest(int numbers[]) {
-        int largest = numbers[0];
-        //int largest = Integer.MIN_VALUE; //minimum value of integer(-infinity)
-
-        int smallest = numbers[0];
-        //int smallest = Integer.MAX_VALUE; //maximum value of integer(+infinity)
-            
-
-        for(int i=1; i<numbers.length; i++) {
-            if(numbers[i]>largest) {
-                largest = numbers[i];
-            }
-            if(numbers[i]<smallest) {
-                smallest = numbers[i];
-            }
-        }
-        System.out.println("Smallest element is "+smallest);
-        return largest;
+        int smallestLargest[] = arrayKernels.minMax(numbers);
+        System.out.println("Smallest element is "+smallestLargest[0]);
+        return smallestLargest[1];
     }
 
     public static int binarySearch(int arr[], int key) {
-        int start = 0, end = arr.length-1;
+        return binarySearch(arr, 0, arr.length, key);
+    }
+
+    // binary search in arr[from .. from+length) only, e.g. one row of a flat matrix.
+    // Returns the index in arr, or -1
+    public static int binarySearch(int arr[], int from, int length, int key) {
+        Objects.checkFromIndexSize(from, length, arr.length);
+        int start = from, end = from+length-1;
         while(start<=end) { //start should be less than or equal to end
-            int mid = (start + end)/2;
+            int mid = start + (end - start)/2; //(start + end)/2 can overflow for big arrays
             if(arr[mid]==key) {
                 return mid; //found
             } 
@@ -89,38 +77,30 @@ class arrays {
     }
 
     public static int[] reverseArray(int arr[]) {
-        int start = 0, end = arr.length-1;
-        while(start<end) {
-            int temp = arr[start];
-            arr[start] = arr[end];
-            arr[end] = temp;
-            start++;
-            end--;
-        }
-        return arr;
-
+        return arrayKernels.reverseArray(arr);
     }
 
     public static void pairsinArray(int arr[]) {
+        fastOutput out = fastOutput.out;
         for(int i=0; i<arr.length; i++) {
             int curr = arr[i]; //2, 4, 6, 8, 10
             for(int j=i+1; j<arr.length; j++) {
-                    System.out.print("("+curr+","+arr[j]+") ");
+                    out.print('(').print(curr).print(',').print(arr[j]).print(") ");
             }
-            System.out.println();
+            out.println();
         }
+        out.flush();
 
     }
 
     public static void printSubArray(int arr[]) {
+        fastOutput out = fastOutput.out;
         for(int i=0; i<arr.length; i++) {
             for(int j=i; j<arr.length; j++) {
-                for(int k=i; k<=j; k++) {
-                    System.out.print(arr[k]+" ");
-                }
-                System.out.println();
+                out.printArray(arr, i, j+1, ' ').println();
             }
         }
+        out.flush();
 
     }
 
@@ -183,19 +163,26 @@ class arrays {
 
 class arrays2 {
     
-    //using kandane's algorithm
+    //using kandane's algorithm - O(n)
+    //(maxSubarray.java has the same thing returning the indices, plus a parallel version)
     public static void maxSubarraySum(int arr[]) {
-        int maxSum = Integer.MIN_VALUE;
-        int sum = 0;
+        long maxSum = Long.MIN_VALUE;
+        long currSum = 0;
+        int start = 0, bestStart = 0, bestEnd = -1;
         for(int i = 0; i < arr.length; i++) {
-            for(int j = i; j < arr.length; j++) {
-                for(int k = i; k <= j; k++) {
-                    sum += arr[k];
-                }
-                maxSum = Math.max(maxSum, sum);
+            //a negative sum so far can only make the next subarray smaller, start again from i
+            if(currSum < 0) {
+                currSum = 0;
+                start = i;
+            }
+            currSum += arr[i];
+            if(currSum > maxSum) {
+                maxSum = currSum;
+                bestStart = start;
+                bestEnd = i;
             }
         }
-        System.out.println("Maximum sum of subarray is: "+maxSum);
+        System.out.println("Maximum sum of subarray is: "+maxSum+" (index "+bestStart+" to "+bestEnd+")");
     }
 
     //using Brute force approach
@@ -220,6 +207,7 @@ class arrays2 {
         //Using kandanes algorithm
         int numbers[] = {2,4,6,8,10};
         //maxSubarraySum(numbers);
+        //System.out.println(maxSubarray.parallel(numbers));
 
         //Using Brute Force
         maxSubarraySum1(numbers);
@@ -1,4 +1,6 @@
 import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 public class basicSorting{
 
     public static void bubbleSort(int arr[]) {
@@ -54,33 +56,254 @@ public class basicSorting{
         Arrays.sort(arr, 0, arr.length);
     }
 
+    // LSD Radix Sort - O(n) for 32 bit ints (4 passes of 8 bits each)
+    // Works for the whole signed int range: the sign bit of the top byte is flipped
+    // so negative numbers come before positive ones.
+    // Extra space is one int[n] buffer + a 256 entry histogram per chunk, no matter how big the values are.
+    // Histogram and scatter of every pass run in parallel on the common fork-join pool,
+    // each chunk writing into its own slice of every bucket so the result stays stable.
+    static final int RADIX_BITS = 8;
+    static final int RADIX_BUCKETS = 1 << RADIX_BITS;
+    static final int RADIX_MIN_CHUNK = 1 << 16; //below this a chunk is not worth a task
+
+    public static void radixSort(int arr[]) {
+        int n = arr.length;
+        if(n < 2) {
+            return;
+        }
+
+        int parallelism = ForkJoinPool.getCommonPoolParallelism();
+        int chunks = (int)Math.max(1, Math.min((long)parallelism*4, n / RADIX_MIN_CHUNK));
+        int chunkSize = (n + chunks - 1) / chunks;
+        chunks = (n + chunkSize - 1) / chunkSize;
+
+        int hist[][] = new int[chunks][RADIX_BUCKETS];
+        int src[] = arr;
+        int dst[] = new int[n];
+
+        for(int shift=0; shift<32; shift+=RADIX_BITS) {
+            for(int c=0; c<chunks; c++) {
+                Arrays.fill(hist[c], 0);
+            }
+            runRadixTask(new radixTask(src, dst, hist, shift, chunkSize, 0, chunks, false));
+
+            //if every element falls in the same bucket this digit is already sorted
+            if(radixDigitIsConstant(hist)) {
+                continue;
+            }
+
+            //turn the counts into starting positions: bucket by bucket, chunk by chunk
+            int pos = 0;
+            for(int b=0; b<RADIX_BUCKETS; b++) {
+                for(int c=0; c<chunks; c++) {
+                    int cnt = hist[c][b];
+                    hist[c][b] = pos;
+                    pos += cnt;
+                }
+            }
+            runRadixTask(new radixTask(src, dst, hist, shift, chunkSize, 0, chunks, true));
+
+            int temp[] = src;
+            src = dst;
+            dst = temp;
+        }
+
+        if(src != arr) {
+            System.arraycopy(src, 0, arr, 0, n);
+        }
+    }
+
+    static int radixDigit(int value, int shift) {
+        int digit = (value >>> shift) & (RADIX_BUCKETS-1);
+        if(shift == 32-RADIX_BITS) {
+            digit ^= RADIX_BUCKETS >>> 1; //flip the sign bit so negatives sort first
+        }
+        return digit;
+    }
+
+    static boolean radixDigitIsConstant(int hist[][]) {
+        int nonEmpty = 0;
+        for(int b=0; b<RADIX_BUCKETS; b++) {
+            int total = 0;
+            for(int c=0; c<hist.length; c++) {
+                total += hist[c][b];
+            }
+            if(total > 0 && ++nonEmpty > 1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static void runRadixTask(radixTask task) {
+        if(task.chunkHi - task.chunkLo == 1) {
+            task.compute(); //nothing to split, skip the pool
+        } else {
+            ForkJoinPool.commonPool().invoke(task);
+        }
+    }
+
+    // One task covers the chunks [chunkLo, chunkHi) and either counts digits (histogram)
+    // or moves elements to their bucket positions (scatter).
+    static class radixTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        final int src[], dst[], hist[][];
+        final int shift, chunkSize, chunkLo, chunkHi;
+        final boolean scatter;
+
+        radixTask(int src[], int dst[], int hist[][], int shift, int chunkSize, int chunkLo, int chunkHi, boolean scatter) {
+            this.src = src;
+            this.dst = dst;
+            this.hist = hist;
+            this.shift = shift;
+            this.chunkSize = chunkSize;
+            this.chunkLo = chunkLo;
+            this.chunkHi = chunkHi;
+            this.scatter = scatter;
+        }
+
+        @Override
+        protected void compute() {
+            if(chunkHi - chunkLo > 1) {
+                int mid = (chunkLo + chunkHi) >>> 1;
+                invokeAll(new radixTask(src, dst, hist, shift, chunkSize, chunkLo, mid, scatter),
+                          new radixTask(src, dst, hist, shift, chunkSize, mid, chunkHi, scatter));
+                return;
+            }
+
+            int from = chunkLo * chunkSize;
+            int to = Math.min(src.length, from + chunkSize);
+            int h[] = hist[chunkLo];
+            if(scatter) {
+                for(int i=from; i<to; i++) {
+                    int v = src[i];
+                    dst[h[radixDigit(v, shift)]++] = v;
+                }
+            } else {
+                for(int i=from; i<to; i++) {
+                    h[radixDigit(src[i], shift)]++;
+                }
+            }
+        }
+    }
+
+    // Counting Sort - O(n + k), k = max - min + 1
+    // The count array starts at the smallest value instead of 0, so keys in a narrow
+    // window like [1_000_000, 1_010_000] only need 10_001 counters and negatives work too.
+    // Every chunk of the input is counted into its own histogram in parallel, the
+    // histograms are merged and the output is written back in runs with Arrays.fill.
+    // If k is too big compared to n counting is slower than comparing, so it falls back to Arrays.sort.
+    // It also falls back when k counters don't fit in one int[] (n above about 537M allows a k of 4n).
+    static final int COUNTING_RANGE_FACTOR = 4;
+    static final int COUNTING_MIN_RANGE = 1 << 10;
+    static final int COUNTING_MAX_RANGE = Integer.MAX_VALUE - 8; //largest array the JVM hands out
+    static final int COUNTING_MIN_CHUNK = 1 << 16;
+
+    // true when counting n values spread over range keys beats Arrays.sort
+    static boolean countingFits(long range, int n) {
+        return range <= COUNTING_MAX_RANGE && range <= Math.max(COUNTING_MIN_RANGE, (long)n * COUNTING_RANGE_FACTOR);
+    }
+
     public static void countingSort(int arr[]) {
-        int largest = Integer.MIN_VALUE;
-        for(int i=0; i<arr.length; i++) {
-            largest = Math.max(largest, arr[i]);
+        int n = arr.length;
+        if(n < 2) {
+            return;
         }
 
-        int count[] = new int[largest+1];
-        for(int i=0; i<arr.length; i++) {
-            count[arr[i]]++;
+        int smallest = arr[0];
+        int largest = arr[0];
+        for(int i=1; i<n; i++) {
+            int v = arr[i];
+            if(v < smallest) {
+                smallest = v;
+            }
+            if(v > largest) {
+                largest = v;
+            }
+        }
+
+        long range = (long)largest - smallest + 1;
+        if(!countingFits(range, n)) {
+            Arrays.sort(arr);
+            return;
+        }
+
+        //one histogram per chunk, but never more histogram memory than about n counters
+        int parallelism = ForkJoinPool.getCommonPoolParallelism();
+        long maxChunks = Math.min((long)parallelism, Math.max(1, n / range));
+        int chunks = (int)Math.max(1, Math.min(maxChunks, n / COUNTING_MIN_CHUNK));
+        int chunkSize = (n + chunks - 1) / chunks;
+        chunks = (n + chunkSize - 1) / chunkSize;
+
+        int count[][] = new int[chunks][(int)range];
+        countTask task = new countTask(arr, count, smallest, chunkSize, 0, chunks);
+        if(chunks == 1) {
+            task.compute();
+        } else {
+            ForkJoinPool.commonPool().invoke(task);
+        }
+
+        //merge all histograms into the first one
+        int total[] = count[0];
+        for(int c=1; c<chunks; c++) {
+            int h[] = count[c];
+            for(int i=0; i<h.length; i++) {
+                total[i] += h[i];
+            }
         }
 
         //sorting
-        int j=0;
-        for(int i=0; i<count.length; i++) {
-            while(count[i] > 0) {
-                arr[j] = i;
-                j++;
-                count[i]--;
+        int j = 0;
+        for(int i=0; i<total.length; i++) {
+            int cnt = total[i];
+            if(cnt > 0) {
+                Arrays.fill(arr, j, j+cnt, smallest+i);
+                j += cnt;
+            }
+        }
+    }
+
+    // Counts the values of the chunks [chunkLo, chunkHi), each into its own histogram
+    static class countTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        final int arr[], count[][];
+        final int offset, chunkSize, chunkLo, chunkHi;
+
+        countTask(int arr[], int count[][], int offset, int chunkSize, int chunkLo, int chunkHi) {
+            this.arr = arr;
+            this.count = count;
+            this.offset = offset;
+            this.chunkSize = chunkSize;
+            this.chunkLo = chunkLo;
+            this.chunkHi = chunkHi;
+        }
+
+        @Override
+        protected void compute() {
+            if(chunkHi - chunkLo > 1) {
+                int mid = (chunkLo + chunkHi) >>> 1;
+                invokeAll(new countTask(arr, count, offset, chunkSize, chunkLo, mid),
+                          new countTask(arr, count, offset, chunkSize, mid, chunkHi));
+                return;
+            }
+
+            int from = chunkLo * chunkSize;
+            int to = Math.min(arr.length, from + chunkSize);
+            int h[] = count[chunkLo];
+            for(int i=from; i<to; i++) {
+                h[arr[i] - offset]++;
             }
         }
     }
 
     public static void printArray(int arr[]) {
+        fastOutput out = fastOutput.out;
         for(int i=0; i<arr.length; i++) {
-            System.out.print(arr[i] + " ");
+            out.print(arr[i]).print(' ');
         }
-        System.out.println();
+        out.println().flush();
     }
 
 
@@ -92,6 +315,7 @@ public class basicSorting{
         //insertionSort(arr);
         //inBuiltSort(arr);
         //inBuiltSort(arr);
+        //radixSort(arr);
 
         //Arrays.sort(arr, Collections.reverseOrder());
         //printArray(arr);
@@ -0,0 +1,72 @@
+import java.util.Arrays;
+import java.util.Random;
+
+// basicSorting.radixSort and countingSort against Arrays.sort, see check.java
+public class basicSortingTest {
+
+    static void sortsLikeArraysSort(int arr[], String what) {
+        int expected[] = arr.clone();
+        Arrays.sort(expected);
+        int radix[] = arr.clone();
+        basicSorting.radixSort(radix);
+        check.equal(expected, radix, "radixSort "+what);
+        int counting[] = arr.clone();
+        basicSorting.countingSort(counting);
+        check.equal(expected, counting, "countingSort "+what);
+    }
+
+    public static void radixSort() {
+        sortsLikeArraysSort(new int[0], "empty");
+        sortsLikeArraysSort(new int[] {7}, "one element");
+        sortsLikeArraysSort(new int[] {Integer.MAX_VALUE, 0, Integer.MIN_VALUE, -1, 1, Integer.MIN_VALUE},
+                            "MIN / MAX");
+        sortsLikeArraysSort(new int[1000], "all equal");
+
+        Random r = new Random(1);
+        //more than RADIX_MIN_CHUNK elements, so the passes are split into chunks
+        for(int n : new int[] {100, basicSorting.RADIX_MIN_CHUNK + 1, 1_000_000}) {
+            int arr[] = new int[n];
+            for(int i=0; i<n; i++) {
+                arr[i] = r.nextInt();
+            }
+            sortsLikeArraysSort(arr, "random, n = "+n);
+            Arrays.sort(arr);
+            sortsLikeArraysSort(arr, "sorted, n = "+n);
+            for(int i=0; i<n; i++) {
+                arr[i] = r.nextInt(3) - 1; //only the top digit pass sees a difference
+            }
+            sortsLikeArraysSort(arr, "-1, 0, 1, n = "+n);
+        }
+    }
+
+    public static void countingSort() {
+        Random r = new Random(2);
+        int window[] = new int[basicSorting.COUNTING_MIN_CHUNK * 3];
+        for(int i=0; i<window.length; i++) {
+            window[i] = 1_000_000 + r.nextInt(10_001);
+        }
+        sortsLikeArraysSort(window, "narrow window, several chunks");
+        int wide[] = new int[1000];
+        for(int i=0; i<wide.length; i++) {
+            wide[i] = r.nextInt(); //range far above 4n, sorted by the fallback
+        }
+        sortsLikeArraysSort(wide, "wide range");
+
+        //range = n * COUNTING_RANGE_FACTOR still counts, one more falls back
+        check.that(basicSorting.countingFits(4000, 1000), "range 4n counts");
+        check.that(!basicSorting.countingFits(4001, 1000), "range 4n+1 falls back");
+        check.that(basicSorting.countingFits(basicSorting.COUNTING_MIN_RANGE, 2), "small n, small range counts");
+        //n = 600M allows a range of 2.4G by the factor, but no int[] that long exists
+        int n = 600_000_000;
+        check.that(basicSorting.countingFits(basicSorting.COUNTING_MAX_RANGE, n), "largest count array counts");
+        check.that(!basicSorting.countingFits(basicSorting.COUNTING_MAX_RANGE + 1L, n), "one more falls back");
+        check.that(!basicSorting.countingFits((long)n * basicSorting.COUNTING_RANGE_FACTOR, n), "4n above 2^31 falls back");
+        check.that(!basicSorting.countingFits(1L << 32, Integer.MAX_VALUE), "full int range falls back");
+    }
+
+    public static void main(String[] args) {
+        radixSort();
+        countingSort();
+        System.out.println("basicSortingTest passed");
+    }
+}
@@ -0,0 +1,250 @@
+// The bits.java operations (andGet, orGet, clearBit, updateBit) for every element of an
+// int[] or long[] at once, for flag columns that are tens of millions long.
+// With one position for the whole array the bitMask = 1 << pos is made once; the other variants
+// take a position per element (pos[i] for arr[i]). The array is changed in place, getBit writes
+// the 0 / 1 results to out (which may be arr itself).
+// Positions work like 1 << pos in Java: only the low 5 bits (int) or 6 bits (long) are used.
+//
+// Same layout as arrayKernels: scalarKernels below are plain loops, vector/bitVectorKernels.java
+// uses the Vector API (a whole SIMD register per step) and is picked at class load when it was
+// compiled and the module is there:
+//     javac -d out *.java
+//     javac --add-modules jdk.incubator.vector -cp out -d out vector/*.java
+//     java --add-modules jdk.incubator.vector -cp out bitKernels
+public class bitKernels {
+
+    interface kernels {
+        void getBit(int arr[], int pos, int out[]);
+        void setBit(int arr[], int pos);
+        void clearBit(int arr[], int pos);
+        void getBit(int arr[], int pos[], int out[]);
+        void setBit(int arr[], int pos[]);
+        void clearBit(int arr[], int pos[]);
+
+        void getBit(long arr[], int pos, long out[]);
+        void setBit(long arr[], int pos);
+        void clearBit(long arr[], int pos);
+        void getBit(long arr[], int pos[], long out[]);
+        void setBit(long arr[], int pos[]);
+        void clearBit(long arr[], int pos[]);
+    }
+
+    static final kernels SCALAR = new scalarKernels();
+    static final kernels KERNELS = load();
+
+    static kernels load() {
+        try {
+            Class<?> c = Class.forName("bitVectorKernels");
+            kernels k = (kernels)c.getDeclaredConstructor().newInstance();
+            if((int)c.getMethod("lanes").invoke(null) >= arrayKernels.MIN_VECTOR_LANES) {
+                return k;
+            }
+        } catch(ReflectiveOperationException | LinkageError e) {
+            //not compiled or started without --add-modules jdk.incubator.vector
+        }
+        return SCALAR;
+    }
+
+    // "vector" or "scalar", whichever load() picked
+    public static String variant() {
+        return KERNELS == SCALAR ? "scalar" : "vector";
+    }
+
+    static kernels pick(int length) {
+        return length < arrayKernels.SCALAR_MAX ? SCALAR : KERNELS;
+    }
+
+    static void sameLength(int a, int b) {
+        if(a != b) {
+            throw new IllegalArgumentException("Array lengths differ: "+a+" and "+b);
+        }
+    }
+
+    // out[i] = bit pos of arr[i] (bits.andGet)
+    public static void getBit(int arr[], int pos, int out[]) {
+        sameLength(arr.length, out.length);
+        pick(arr.length).getBit(arr, pos, out);
+    }
+
+    // arr[i] |= 1 << pos (bits.orGet)
+    public static void setBit(int arr[], int pos) {
+        pick(arr.length).setBit(arr, pos);
+    }
+
+    // arr[i] &= ~(1 << pos) (bits.clearBit)
+    public static void clearBit(int arr[], int pos) {
+        pick(arr.length).clearBit(arr, pos);
+    }
+
+    // set (oprn 1) or clear (oprn 0) bit pos of every element (bits.updateBit)
+    public static void updateBit(int arr[], int pos, int oprn) {
+        if(oprn == 1) {
+            setBit(arr, pos);
+        } else {
+            clearBit(arr, pos);
+        }
+    }
+
+    public static void getBit(int arr[], int pos[], int out[]) {
+        sameLength(arr.length, pos.length);
+        sameLength(arr.length, out.length);
+        pick(arr.length).getBit(arr, pos, out);
+    }
+
+    public static void setBit(int arr[], int pos[]) {
+        sameLength(arr.length, pos.length);
+        pick(arr.length).setBit(arr, pos);
+    }
+
+    public static void clearBit(int arr[], int pos[]) {
+        sameLength(arr.length, pos.length);
+        pick(arr.length).clearBit(arr, pos);
+    }
+
+    public static void updateBit(int arr[], int pos[], int oprn) {
+        if(oprn == 1) {
+            setBit(arr, pos);
+        } else {
+            clearBit(arr, pos);
+        }
+    }
+
+    public static void getBit(long arr[], int pos, long out[]) {
+        sameLength(arr.length, out.length);
+        pick(arr.length).getBit(arr, pos, out);
+    }
+
+    public static void setBit(long arr[], int pos) {
+        pick(arr.length).setBit(arr, pos);
+    }
+
+    public static void clearBit(long arr[], int pos) {
+        pick(arr.length).clearBit(arr, pos);
+    }
+
+    public static void updateBit(long arr[], int pos, int oprn) {
+        if(oprn == 1) {
+            setBit(arr, pos);
+        } else {
+            clearBit(arr, pos);
+        }
+    }
+
+    public static void getBit(long arr[], int pos[], long out[]) {
+        sameLength(arr.length, pos.length);
+        sameLength(arr.length, out.length);
+        pick(arr.length).getBit(arr, pos, out);
+    }
+
+    public static void setBit(long arr[], int pos[]) {
+        sameLength(arr.length, pos.length);
+        pick(arr.length).setBit(arr, pos);
+    }
+
+    public static void clearBit(long arr[], int pos[]) {
+        sameLength(arr.length, pos.length);
+        pick(arr.length).clearBit(arr, pos);
+    }
+
+    public static void updateBit(long arr[], int pos[], int oprn) {
+        if(oprn == 1) {
+            setBit(arr, pos);
+        } else {
+            clearBit(arr, pos);
+        }
+    }
+
+    static class scalarKernels implements kernels {
+        public void getBit(int arr[], int pos, int out[]) {
+            for(int i=0; i<arr.length; i++) {
+                out[i] = (arr[i] >>> pos) & 1;
+            }
+        }
+
+        public void setBit(int arr[], int pos) {
+            int bitMask = 1 << pos;
+            for(int i=0; i<arr.length; i++) {
+                arr[i] |= bitMask;
+            }
+        }
+
+        public void clearBit(int arr[], int pos) {
+            int notMask = ~(1 << pos);
+            for(int i=0; i<arr.length; i++) {
+                arr[i] &= notMask;
+            }
+        }
+
+        public void getBit(int arr[], int pos[], int out[]) {
+            for(int i=0; i<arr.length; i++) {
+                out[i] = (arr[i] >>> pos[i]) & 1;
+            }
+        }
+
+        public void setBit(int arr[], int pos[]) {
+            for(int i=0; i<arr.length; i++) {
+                arr[i] |= 1 << pos[i];
+            }
+        }
+
+        public void clearBit(int arr[], int pos[]) {
+            for(int i=0; i<arr.length; i++) {
+                arr[i] &= ~(1 << pos[i]);
+            }
+        }
+
+        public void getBit(long arr[], int pos, long out[]) {
+            for(int i=0; i<arr.length; i++) {
+                out[i] = (arr[i] >>> pos) & 1;
+            }
+        }
+
+        public void setBit(long arr[], int pos) {
+            long bitMask = 1L << pos;
+            for(int i=0; i<arr.length; i++) {
+                arr[i] |= bitMask;
+            }
+        }
+
+        public void clearBit(long arr[], int pos) {
+            long notMask = ~(1L << pos);
+            for(int i=0; i<arr.length; i++) {
+                arr[i] &= notMask;
+            }
+        }
+
+        public void getBit(long arr[], int pos[], long out[]) {
+            for(int i=0; i<arr.length; i++) {
+                out[i] = (arr[i] >>> pos[i]) & 1;
+            }
+        }
+
+        public void setBit(long arr[], int pos[]) {
+            for(int i=0; i<arr.length; i++) {
+                arr[i] |= 1L << pos[i];
+            }
+        }
+
+        public void clearBit(long arr[], int pos[]) {
+            for(int i=0; i<arr.length; i++) {
+                arr[i] &= ~(1L << pos[i]);
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        int flags[] = new int[1_000_000];
+        int pos[] = new int[flags.length];
+        for(int i=0; i<flags.length; i++) {
+            flags[i] = i;
+            pos[i] = i % 32;
+        }
+        System.out.println("Using "+variant()+" kernels");
+        setBit(flags, 31);
+        clearBit(flags, 0);
+        updateBit(flags, pos, 1);
+        int out[] = new int[flags.length];
+        getBit(flags, 31, out);
+        System.out.println("flags[5] = "+flags[5]+", bit 31 of flags[7]: "+out[7]);
+    }
+}
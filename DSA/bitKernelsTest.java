@@ -0,0 +1,108 @@
+import java.util.Random;
+
+// bitKernels against one element at a time, see check.java. The vector kernels are only tested when
+// they are compiled and the run has --add-modules jdk.incubator.vector (bitKernels.variant() says which).
+public class bitKernelsTest {
+
+    // positions past the word size and negative ones, which like 1 << pos only use the low bits
+    static final int POSITIONS[] = {0, 1, 30, 31, 32, 33, 63, 64, -1, -32, Integer.MIN_VALUE, Integer.MAX_VALUE};
+
+    static void matches(bitKernels.kernels k, int arr[], int pos[], String what) {
+        int n = arr.length;
+        for(int p : POSITIONS) {
+            int out[] = new int[n];
+            k.getBit(arr, p, out);
+            int set[] = arr.clone(), cleared[] = arr.clone();
+            k.setBit(set, p);
+            k.clearBit(cleared, p);
+            for(int i=0; i<n; i++) {
+                check.equal((arr[i] >>> p) & 1, out[i], what+": getBit("+p+")["+i+"]");
+                check.equal(arr[i] | (1 << p), set[i], what+": setBit("+p+")["+i+"]");
+                check.equal(arr[i] & ~(1 << p), cleared[i], what+": clearBit("+p+")["+i+"]");
+            }
+        }
+        int out[] = new int[n];
+        k.getBit(arr, pos, out);
+        int set[] = arr.clone(), cleared[] = arr.clone();
+        k.setBit(set, pos);
+        k.clearBit(cleared, pos);
+        for(int i=0; i<n; i++) {
+            check.equal((arr[i] >>> pos[i]) & 1, out[i], what+": getBit(pos)["+i+"]");
+            check.equal(arr[i] | (1 << pos[i]), set[i], what+": setBit(pos)["+i+"]");
+            check.equal(arr[i] & ~(1 << pos[i]), cleared[i], what+": clearBit(pos)["+i+"]");
+        }
+    }
+
+    static void matches(bitKernels.kernels k, long arr[], int pos[], String what) {
+        int n = arr.length;
+        for(int p : POSITIONS) {
+            long out[] = new long[n];
+            k.getBit(arr, p, out);
+            long set[] = arr.clone(), cleared[] = arr.clone();
+            k.setBit(set, p);
+            k.clearBit(cleared, p);
+            for(int i=0; i<n; i++) {
+                check.equal((arr[i] >>> p) & 1, out[i], what+": getBit("+p+")["+i+"]");
+                check.equal(arr[i] | (1L << p), set[i], what+": setBit("+p+")["+i+"]");
+                check.equal(arr[i] & ~(1L << p), cleared[i], what+": clearBit("+p+")["+i+"]");
+            }
+        }
+        long out[] = new long[n];
+        k.getBit(arr, pos, out);
+        long set[] = arr.clone(), cleared[] = arr.clone();
+        k.setBit(set, pos);
+        k.clearBit(cleared, pos);
+        for(int i=0; i<n; i++) {
+            check.equal((arr[i] >>> pos[i]) & 1, out[i], what+": getBit(pos)["+i+"]");
+            check.equal(arr[i] | (1L << pos[i]), set[i], what+": setBit(pos)["+i+"]");
+            check.equal(arr[i] & ~(1L << pos[i]), cleared[i], what+": clearBit(pos)["+i+"]");
+        }
+    }
+
+    public static void lengths() {
+        Random r = new Random(5);
+        for(int n=0; n<=200; n++) {
+            int ints[] = r.ints(n).toArray();
+            long longs[] = r.longs(n).toArray();
+            int pos[] = new int[n];
+            for(int i=0; i<n; i++) {
+                pos[i] = POSITIONS[r.nextInt(POSITIONS.length)];
+            }
+            if(n > 2) {
+                ints[0] = Integer.MIN_VALUE;
+                ints[1] = -1;
+                longs[0] = Long.MIN_VALUE;
+                longs[1] = -1;
+            }
+            matches(bitKernels.SCALAR, ints, pos, "scalar int, n = "+n);
+            matches(bitKernels.KERNELS, ints, pos, bitKernels.variant()+" int, n = "+n);
+            matches(bitKernels.SCALAR, longs, pos, "scalar long, n = "+n);
+            matches(bitKernels.KERNELS, longs, pos, bitKernels.variant()+" long, n = "+n);
+        }
+    }
+
+    public static void entryPoints() {
+        int arr[] = new int[100];
+        bitKernels.updateBit(arr, 31, 1);
+        check.equal(Integer.MIN_VALUE, arr[99], "updateBit 1 sets");
+        bitKernels.updateBit(arr, 31, 0);
+        check.equal(0, arr[99], "updateBit 0 clears");
+        bitKernels.getBit(arr, 0, arr); //out may be arr itself
+        check.equal(new int[100], arr, "getBit into arr");
+        long longs[] = new long[3];
+        bitKernels.updateBit(longs, new int[] {0, 63, 64}, 1);
+        check.equal(new long[] {1, Long.MIN_VALUE, 1}, longs, "updateBit per element, long");
+        bitKernels.getBit(new int[0], 3, new int[0]);
+        check.fails(IllegalArgumentException.class, () -> bitKernels.getBit(arr, 0, new int[99]), "out too short");
+        check.fails(IllegalArgumentException.class, () -> bitKernels.setBit(arr, new int[101]), "pos too long");
+        check.fails(IllegalArgumentException.class, () -> bitKernels.getBit(arr, new int[100], new int[1]), "out too short, per element");
+        check.fails(IllegalArgumentException.class, () -> bitKernels.clearBit(new long[2], new int[3]), "pos too long, long");
+        check.fails(IllegalArgumentException.class, () -> bitKernels.getBit(new long[2], 1, new long[3]), "out too long, long");
+    }
+
+    public static void main(String[] args) {
+        lengths();
+        entryPoints();
+        System.out.println("bitKernelsTest passed");
+    }
+}
@@ -0,0 +1,198 @@
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Random;
+
+// packedBitSet against java.util.BitSet, in the style of sortBenchmark: warmup iterations,
+// then measured ones, time per operation. Both sets hold the same random bits.
+// BitSet has no rank or select. The closest it offers are get(0, i).cardinality() (a copy and a
+// count of everything below i) and k steps of nextSetBit, so those are only measured up to
+// SCAN_MAX_BITS. Whole set operations (cardinality, and) are repeated so every iteration
+// touches about WHOLE_SET_BITS bits and the JIT gets to compile them during warmup.
+// This is the quick check; jmh/ has get and set as a JMH suite (bitSetBench) with forks and error bars.
+//
+// Run:  java bitSetBenchmark                 -> all workloads, all sizes
+//       java bitSetBenchmark get,rank 1048576  -> only these workloads at this size
+public class bitSetBenchmark {
+
+    static final String WORKLOADS[] = {"get", "set", "nextSetBit", "cardinality", "and", "rank", "select"};
+    static final int SIZES[] = {1 << 16, 1 << 20, 1 << 26, 1 << 30};
+    static final double DENSITY = 0.1;
+
+    static final int SCAN_MAX_BITS = 1 << 20;
+    static final long WHOLE_SET_BITS = 1L << 28;
+    static final int WARMUP_ITERATIONS = 5;
+    static final int MEASURE_ITERATIONS = 10;
+    static final int OPS = 1 << 20; //random accesses per iteration
+
+    static long sink; //keeps the JIT from throwing the results away
+
+    // ns per operation for one workload on one of the two sets
+    static double measure(String workload, boolean packed, packedBitSet p, packedBitSet p2, BitSet b, BitSet b2, int queries[]) {
+        long total = 0;
+        long ops = 1;
+        for(int it=0; it<WARMUP_ITERATIONS+MEASURE_ITERATIONS; it++) {
+            long start = System.nanoTime();
+            ops = run(workload, packed, p, p2, b, b2, queries);
+            long time = System.nanoTime() - start;
+            if(it >= WARMUP_ITERATIONS) {
+                total += time;
+            }
+        }
+        return (double)total / MEASURE_ITERATIONS / ops;
+    }
+
+    // runs the workload once and returns how many operations that was
+    static long run(String workload, boolean packed, packedBitSet p, packedBitSet p2, BitSet b, BitSet b2, int queries[]) {
+        long s = 0;
+        switch(workload) {
+            case "get":
+                for(int q : queries) {
+                    s += (packed ? p.get(q) : b.get(q)) ? 1 : 0;
+                }
+                break;
+            case "set":
+                for(int q : queries) {
+                    if(packed) {
+                        p.set(q);
+                    } else {
+                        b.set(q);
+                    }
+                }
+                break;
+            case "nextSetBit":
+                //walk over every set bit (again, until OPS bits were found), one operation per bit
+                long found = 0;
+                do {
+                    long before = found;
+                    if(packed) {
+                        for(long i=p.nextSetBit(0); i>=0; i=p.nextSetBit(i+1)) {
+                            s += i;
+                            found++;
+                        }
+                    } else {
+                        for(int i=b.nextSetBit(0); i>=0; i=b.nextSetBit(i+1)) {
+                            s += i;
+                            found++;
+                        }
+                    }
+                    if(found == before) {
+                        break; //empty set
+                    }
+                } while(found < OPS);
+                sink += s;
+                return Math.max(1, found);
+            case "cardinality": {
+                long reps = Math.max(1, WHOLE_SET_BITS / p.size());
+                for(long i=0; i<reps; i++) {
+                    s += packed ? p.cardinality() : b.cardinality();
+                }
+                sink += s;
+                return reps;
+            }
+            case "and": {
+                long reps = Math.max(1, WHOLE_SET_BITS / p.size());
+                for(long i=0; i<reps; i++) {
+                    if(packed) {
+                        p.and(p2);
+                    } else {
+                        b.and(b2);
+                    }
+                }
+                return reps;
+            }
+            case "rank":
+                if(packed) {
+                    for(int q : queries) {
+                        s += p.rank(q);
+                    }
+                } else {
+                    int n = Math.min(queries.length, 1 << 10); //each one copies and counts up to q
+                    for(int i=0; i<n; i++) {
+                        s += b.get(0, queries[i]).cardinality();
+                    }
+                    sink += s;
+                    return n;
+                }
+                break;
+            case "select":
+                if(packed) {
+                    long count = p.cardinality();
+                    for(int q : queries) {
+                        s += p.select(q % count);
+                    }
+                } else {
+                    //no select in BitSet: the k-th set bit is k steps of nextSetBit
+                    int n = Math.min(queries.length, 1 << 6);
+                    long count = b.cardinality();
+                    for(int i=0; i<n; i++) {
+                        long k = queries[i] % count;
+                        int bit = b.nextSetBit(0);
+                        for(long j=0; j<k; j++) {
+                            bit = b.nextSetBit(bit + 1);
+                        }
+                        s += bit;
+                    }
+                    sink += s;
+                    return n;
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown workload: "+workload);
+        }
+        sink += s;
+        return queries.length;
+    }
+
+    public static void main(String[] args) {
+        String workloads[] = WORKLOADS;
+        int sizes[] = SIZES;
+        if(args.length > 0) {
+            String filter[] = args[0].split(",");
+            workloads = Arrays.stream(WORKLOADS)
+                              .filter(w -> Arrays.stream(filter).anyMatch(w::equals))
+                              .toArray(String[]::new);
+        }
+        if(args.length > 1) {
+            sizes = Arrays.stream(args[1].split(",")).mapToInt(Integer::parseInt).toArray();
+        }
+
+        System.out.printf("%-12s %12s %16s %16s %8s%n", "workload", "bits", "BitSet ns/op", "packed ns/op", "speedup");
+        for(int n : sizes) {
+            Random r = new Random(42);
+            packedBitSet p = new packedBitSet(n), p2 = new packedBitSet(n);
+            BitSet b = new BitSet(n), b2 = new BitSet(n);
+            for(int i=0; i<n; i++) {
+                if(r.nextDouble() < DENSITY) {
+                    p.set(i);
+                    b.set(i);
+                }
+                if(r.nextBoolean()) {
+                    p2.set(i);
+                    b2.set(i);
+                }
+            }
+            int queries[] = new int[OPS];
+            for(int i=0; i<OPS; i++) {
+                queries[i] = r.nextInt(n);
+            }
+            for(String w : workloads) {
+                //and / set change the sets, every workload starts from its own copies
+                packedBitSet pc = copy(p);
+                BitSet bc = (BitSet)b.clone();
+                double packedNs = measure(w, true, pc, p2, bc, b2, queries);
+                boolean scan = w.equals("rank") || w.equals("select");
+                double bitSetNs = scan && n > SCAN_MAX_BITS ? Double.NaN : measure(w, false, pc, p2, bc, b2, queries);
+                System.out.printf("%-12s %12d %16.2f %16.2f %8.1f%n", w, n, bitSetNs, packedNs, bitSetNs/packedNs);
+            }
+        }
+        if(sink == 42) {
+            System.out.println();
+        }
+    }
+
+    static packedBitSet copy(packedBitSet p) {
+        packedBitSet c = new packedBitSet(p.size());
+        c.or(p);
+        return c;
+    }
+}
@@ -1,9 +1,7 @@
-import java.util.*;
-
 public class bits {
     
     void andGet() {
-        Scanner sc = new Scanner(System.in);
+        fastInput sc = fastInput.in;
 		
 		System.out.println("Take two numbers as inputs");
 		int og = sc.nextInt();
@@ -22,7 +20,7 @@ public class bits {
 
     void orGet() {
 
-        Scanner sc = new Scanner(System.in);
+        fastInput sc = fastInput.in;
 		
 		System.out.println("Take two numbers as inputs");
 		int og = sc.nextInt();
@@ -38,7 +36,7 @@ public class bits {
     }
 
     void clearBit() {
-        Scanner sc = new Scanner(System.in);
+        fastInput sc = fastInput.in;
 		
 		System.out.println("Take two numbers as inputs");
 		int og = sc.nextInt();
@@ -59,7 +57,7 @@ public class bits {
     }
 
     void updateBit() {
-        Scanner sc = new Scanner(System.in);
+        fastInput sc = fastInput.in;
 		
 		System.out.println("Take two numbers as inputs");
 		int og = sc.nextInt();
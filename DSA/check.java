@@ -0,0 +1,52 @@
+import java.util.Arrays;
+import java.util.Objects;
+
+// Checks for the *Test classes. There is no test framework in this tree, so every test is a
+// plain main that calls these and stops at the first failure with an AssertionError.
+//     javac -d out *.java
+//     java -cp out allTests              -> every test
+//     java -cp out basicSortingTest      -> one of them
+public class check {
+
+    public static void that(boolean condition, String what) {
+        if(!condition) {
+            throw new AssertionError(what);
+        }
+    }
+
+    public static void equal(long expected, long actual, String what) {
+        if(expected != actual) {
+            throw new AssertionError(what+": expected "+expected+", got "+actual);
+        }
+    }
+
+    // also compares arrays (and arrays of arrays) element by element
+    public static void equal(Object expected, Object actual, String what) {
+        if(!Objects.deepEquals(expected, actual)) {
+            throw new AssertionError(what+": expected "+show(expected)+", got "+show(actual));
+        }
+    }
+
+    static String show(Object x) {
+        String s = Arrays.deepToString(new Object[] {x});
+        s = s.substring(1, s.length()-1);
+        return s.length() > 200 ? s.substring(0, 200)+"..." : s;
+    }
+
+    public interface code {
+        void run() throws Exception;
+    }
+
+    // code has to throw exactly this kind of exception (or a subclass)
+    public static void fails(Class<? extends Throwable> type, code c, String what) {
+        try {
+            c.run();
+        } catch(Throwable t) {
+            if(type.isInstance(t)) {
+                return;
+            }
+            throw new AssertionError(what+": expected "+type.getSimpleName()+", got "+t, t);
+        }
+        throw new AssertionError(what+": expected "+type.getSimpleName()+", nothing was thrown");
+    }
+}
@@ -0,0 +1,127 @@
+import java.math.BigInteger;
+
+// Binomial coefficients nCr without the overflow of parameters.binCoeff,
+// which computes three whole factorials in int (13! already does not fit).
+//
+// Three ways, pick by what the answer is needed for:
+//  nCr(n, r)          exact value as long, C(n, r) = C(n, r-1) * (n-r+1) / r one factor at a time,
+//                     ArithmeticException if the answer does not fit in a long. O(min(r, n-r)).
+//  modTable           C(n, r) mod a prime p for every n <= maxN. Factorials and inverse factorials
+//                     are built once in O(maxN), then every query is O(1): n! / r! / (n-r)!.
+//  nCrBig(n, r)       exact value of any size as BigInteger.
+public class combinatorics {
+
+    public static long nCr(long n, long r) {
+        if(n < 0) {
+            throw new IllegalArgumentException("n must not be negative: "+n);
+        }
+        if(r < 0 || r > n) {
+            return 0;
+        }
+        r = Math.min(r, n - r); //C(n, r) = C(n, n-r), fewer steps
+        long result = 1;
+        for(long i=1; i<=r; i++) {
+            //result * (n-r+i) / i, divide by the common part first so the product stays small
+            long factor = n - r + i;
+            long g = numberTheory.gcd(result, i);
+            long div = i / g;
+            result /= g;
+            factor /= div; //C(n, i) is a whole number, so after taking g out div divides factor
+            result = Math.multiplyExact(result, factor);
+        }
+        return result;
+    }
+
+    public static BigInteger nCrBig(int n, int r) {
+        if(n < 0) {
+            throw new IllegalArgumentException("n must not be negative: "+n);
+        }
+        if(r < 0 || r > n) {
+            return BigInteger.ZERO;
+        }
+        r = Math.min(r, n - r);
+        BigInteger result = BigInteger.ONE;
+        for(int i=1; i<=r; i++) {
+            result = result.multiply(BigInteger.valueOf(n - r + i)).divide(BigInteger.valueOf(i));
+        }
+        return result;
+    }
+
+    // C(n, r) mod p for 0 <= n <= maxN, p a prime bigger than maxN (like 1_000_000_007)
+    public static class modTable {
+        final int maxN;
+        final long p;
+        final long fact[], invFact[];
+
+        public modTable(int maxN, long p) {
+            if(p > Integer.MAX_VALUE || !numberTheory.isPrime(p)) {
+                throw new IllegalArgumentException("p must be a prime below 2^31: "+p);
+            }
+            if(maxN < 0 || maxN >= p) {
+                throw new IllegalArgumentException("maxN must be in [0, p): "+maxN);
+            }
+            this.maxN = maxN;
+            this.p = p;
+            fact = new long[maxN + 1];
+            invFact = new long[maxN + 1];
+            fact[0] = 1;
+            for(int i=1; i<=maxN; i++) {
+                fact[i] = fact[i-1] * i % p;
+            }
+            //only one modular inverse (Fermat: a^(p-2)), the rest come from 1/(i-1)! = i / i!
+            invFact[maxN] = powMod(fact[maxN], p - 2, p);
+            for(int i=maxN; i>0; i--) {
+                invFact[i-1] = invFact[i] * i % p;
+            }
+        }
+
+        public long nCr(int n, int r) {
+            if(n < 0 || n > maxN) {
+                throw new IllegalArgumentException("n must be in [0, "+maxN+"]: "+n);
+            }
+            if(r < 0 || r > n) {
+                return 0;
+            }
+            return fact[n] * invFact[r] % p * invFact[n-r] % p;
+        }
+
+        public long factorial(int n) {
+            return fact[n];
+        }
+
+        // out[i] = C(ns[i], rs[i]) mod p
+        public void nCr(int ns[], int rs[], long out[]) {
+            for(int i=0; i<ns.length; i++) {
+                out[i] = nCr(ns[i], rs[i]);
+            }
+        }
+    }
+
+    // base^exp mod m for m < 2^31
+    static long powMod(long base, long exp, long m) {
+        long result = 1 % m;
+        base %= m;
+        while(exp > 0) {
+            if((exp & 1) == 1) {
+                result = result * base % m;
+            }
+            base = base * base % m;
+            exp >>= 1;
+        }
+        return result;
+    }
+
+    public static void main(String[] args) {
+        System.out.println("C(5, 2) = "+nCr(5, 2));
+        System.out.println("C(66, 33) = "+nCr(66, 33));
+        System.out.println("C(100, 50) = "+nCrBig(100, 50));
+
+        modTable table = new modTable(1_000_000, 1_000_000_007);
+        System.out.println("C(1000000, 500000) mod 1e9+7 = "+table.nCr(1_000_000, 500_000));
+        try {
+            nCr(100, 50);
+        } catch(ArithmeticException e) {
+            System.out.println("C(100, 50) does not fit in a long");
+        }
+    }
+}
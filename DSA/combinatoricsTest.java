@@ -0,0 +1,82 @@
+import java.math.BigInteger;
+
+// combinatorics against Pascal's triangle in BigInteger, see check.java
+public class combinatoricsTest {
+
+    static final int ROWS = 80;
+
+    static BigInteger[][] pascal() {
+        BigInteger c[][] = new BigInteger[ROWS + 1][];
+        for(int n=0; n<=ROWS; n++) {
+            c[n] = new BigInteger[n + 1];
+            c[n][0] = c[n][n] = BigInteger.ONE;
+            for(int r=1; r<n; r++) {
+                c[n][r] = c[n-1][r-1].add(c[n-1][r]);
+            }
+        }
+        return c;
+    }
+
+    public static void exact() {
+        BigInteger c[][] = pascal();
+        BigInteger longMax = BigInteger.valueOf(Long.MAX_VALUE);
+        for(int n=0; n<=ROWS; n++) {
+            for(int r=0; r<=n; r++) {
+                int nn = n, rr = r;
+                check.equal(c[n][r], combinatorics.nCrBig(n, r), "nCrBig("+n+", "+r+")");
+                if(c[n][r].compareTo(longMax) <= 0) {
+                    check.equal(c[n][r].longValue(), combinatorics.nCr(n, r), "nCr("+n+", "+r+")");
+                } else {
+                    check.fails(ArithmeticException.class, () -> combinatorics.nCr(nn, rr), "nCr("+n+", "+r+") overflows");
+                }
+            }
+            check.equal(0, combinatorics.nCr(n, -1), "r below 0");
+            check.equal(0, combinatorics.nCr(n, n + 1), "r above n");
+            check.equal(BigInteger.ZERO, combinatorics.nCrBig(n, n + 1), "nCrBig with r above n");
+        }
+        check.equal(7_219_428_434_016_265_740L, combinatorics.nCr(66, 33), "largest middle value that fits");
+        check.fails(ArithmeticException.class, () -> combinatorics.nCr(67, 33), "C(67, 33) is past a long");
+        check.equal(Long.MAX_VALUE, combinatorics.nCr(Long.MAX_VALUE, 1), "C(MAX, 1)");
+        check.equal(Long.MAX_VALUE, combinatorics.nCr(Long.MAX_VALUE, Long.MAX_VALUE - 1), "C(MAX, MAX - 1)");
+        check.equal(1, combinatorics.nCr(Long.MAX_VALUE, Long.MAX_VALUE), "C(MAX, MAX)");
+        check.fails(ArithmeticException.class, () -> combinatorics.nCr(Long.MAX_VALUE, 2), "C(MAX, 2)");
+        check.fails(IllegalArgumentException.class, () -> combinatorics.nCr(-1, 0), "negative n");
+        check.fails(IllegalArgumentException.class, () -> combinatorics.nCrBig(-1, 0), "nCrBig with negative n");
+    }
+
+    public static void modular() {
+        BigInteger c[][] = pascal();
+        for(long p : new long[] {2, 83, 1_000_000_007L, Integer.MAX_VALUE}) {
+            int maxN = (int)Math.min(ROWS, p - 1);
+            combinatorics.modTable t = new combinatorics.modTable(maxN, p);
+            BigInteger bp = BigInteger.valueOf(p);
+            for(int n=0; n<=maxN; n++) {
+                for(int r=-1; r<=n+1; r++) {
+                    long expected = r < 0 || r > n ? 0 : c[n][r].mod(bp).longValue();
+                    check.equal(expected, t.nCr(n, r), "C("+n+", "+r+") mod "+p);
+                }
+            }
+            check.equal(1, t.factorial(0), "0! mod "+p);
+        }
+        combinatorics.modTable t = new combinatorics.modTable(100_000, 1_000_000_007L);
+        int ns[] = {100_000, 100_000, 5, 0}, rs[] = {50_000, 1, 7, 0};
+        long out[] = new long[ns.length];
+        t.nCr(ns, rs, out);
+        check.equal(new long[] {149_033_233L, 100_000, 0, 1}, out, "batch");
+        check.equal(457_992_974L, t.factorial(100_000), "100000! mod 10^9+7");
+
+        check.fails(IllegalArgumentException.class, () -> new combinatorics.modTable(10, 15), "p not prime");
+        check.fails(IllegalArgumentException.class, () -> new combinatorics.modTable(10, 1), "p = 1");
+        check.fails(IllegalArgumentException.class, () -> new combinatorics.modTable(10, 4_294_967_311L), "p past an int");
+        check.fails(IllegalArgumentException.class, () -> new combinatorics.modTable(7, 7), "maxN = p");
+        check.fails(IllegalArgumentException.class, () -> new combinatorics.modTable(-1, 7), "negative maxN");
+        check.fails(IllegalArgumentException.class, () -> t.nCr(100_001, 1), "n past maxN");
+        check.fails(IllegalArgumentException.class, () -> t.nCr(-1, 0), "negative n");
+    }
+
+    public static void main(String[] args) {
+        exact();
+        modular();
+        System.out.println("combinatoricsTest passed");
+    }
+}
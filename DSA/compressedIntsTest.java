@@ -0,0 +1,141 @@
+import java.util.Arrays;
+import java.util.Random;
+
+// compressedInts against the plain int[] it was built from, see check.java
+public class compressedIntsTest {
+
+    // first index with value >= key in a sorted int[]
+    static int lowerBound(int sorted[], int key) {
+        int lo = 0, hi = sorted.length;
+        while(lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if(sorted[mid] < key) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    static void same(int values[], compressedInts.bitPacked p, String what) {
+        check.equal(values.length, p.size(), what+" size");
+        for(int i=0; i<values.length; i++) {
+            check.equal(values[i], p.get(i), what+" get("+i+")");
+        }
+        int out[] = new int[values.length + 3];
+        Arrays.fill(out, 77);
+        p.decode(out);
+        check.equal(values, Arrays.copyOf(out, values.length), what+" decode");
+        check.equal(new int[] {77, 77, 77}, Arrays.copyOfRange(out, values.length, out.length), what+" decode past size");
+    }
+
+    static void same(int sorted[], compressedInts.deltaVarint d, String what) {
+        check.equal(sorted.length, d.size(), what+" size");
+        for(int i=0; i<sorted.length; i++) {
+            check.equal(sorted[i], d.get(i), what+" get("+i+")");
+        }
+        int out[] = new int[sorted.length];
+        d.decode(out);
+        check.equal(sorted, out, what+" decode");
+    }
+
+    // lowerBound and indexOf for every value, the ones next to it and both ends of the int range
+    static void searches(int sorted[], compressedInts.bitPacked p, compressedInts.deltaVarint d, String what) {
+        int keys[] = new int[3 * sorted.length + 2];
+        for(int i=0; i<sorted.length; i++) {
+            keys[3*i] = sorted[i];
+            keys[3*i+1] = sorted[i] - 1;
+            keys[3*i+2] = sorted[i] + 1;
+        }
+        keys[keys.length-2] = Integer.MIN_VALUE;
+        keys[keys.length-1] = Integer.MAX_VALUE;
+        for(int key : keys) {
+            int expected = lowerBound(sorted, key);
+            check.equal(expected, p.lowerBound(key), what+" bitPacked lowerBound("+key+")");
+            check.equal(expected, d.lowerBound(key), what+" deltaVarint lowerBound("+key+")");
+            int index = expected < sorted.length && sorted[expected] == key ? expected : -1;
+            check.equal(index, p.indexOf(key), what+" bitPacked indexOf("+key+")");
+            check.equal(index, d.indexOf(key), what+" deltaVarint indexOf("+key+")");
+        }
+    }
+
+    public static void everyWidth() {
+        Random r = new Random(9);
+        //one block per width 0..32, the last one with the whole int range in it
+        int values[] = new int[33 * compressedInts.BLOCK];
+        for(int w=0; w<=32; w++) {
+            int base = r.nextInt();
+            for(int k=0; k<compressedInts.BLOCK; k++) {
+                long delta = w == 0 ? 0 : r.nextLong() & ((1L << w) - 1);
+                values[w * compressedInts.BLOCK + k] = (int)Math.min(Integer.MAX_VALUE, (long)base + delta);
+            }
+        }
+        int last = 32 * compressedInts.BLOCK;
+        values[last] = Integer.MIN_VALUE;
+        values[last + 1] = Integer.MAX_VALUE;
+        compressedInts.bitPacked p = new compressedInts.bitPacked(values);
+        for(int w=0; w<=32; w++) {
+            check.that(p.blockWidth[w] <= Math.max(w, 1), "block "+w+" is "+p.blockWidth[w]+" bits wide");
+        }
+        check.equal(32, p.blockWidth[32], "MIN_VALUE and MAX_VALUE in one block");
+        same(values, p, "widths 0..32");
+        check.fails(IllegalStateException.class, () -> p.lowerBound(0), "lowerBound on unsorted values");
+    }
+
+    public static void sortedArrays() {
+        Random r = new Random(11);
+        int sizes[] = {0, 1, 2, 127, 128, 129, 255, 256, 1000};
+        for(int n : sizes) {
+            for(int gapBits : new int[] {0, 3, 12, 31}) {
+                int sorted[] = new int[n];
+                long value = Integer.MIN_VALUE + (gapBits == 31 ? 0 : r.nextInt(1000));
+                for(int i=0; i<n; i++) {
+                    sorted[i] = (int)Math.min(Integer.MAX_VALUE, value);
+                    value += gapBits == 0 ? 0 : r.nextInt(1 << Math.min(gapBits, 30)) * (gapBits == 31 ? 2L : 1L);
+                }
+                compressedInts.bitPacked p = new compressedInts.bitPacked(sorted);
+                compressedInts.deltaVarint d = new compressedInts.deltaVarint(sorted);
+                String what = "n = "+n+", gaps of "+gapBits+" bits";
+                same(sorted, p, what);
+                same(sorted, d, what);
+                searches(sorted, p, d, what);
+            }
+        }
+        //the biggest gap there is, 2^32 - 1, takes five varint bytes
+        int ends[] = {Integer.MIN_VALUE, Integer.MAX_VALUE};
+        compressedInts.deltaVarint d = new compressedInts.deltaVarint(ends);
+        compressedInts.bitPacked p = new compressedInts.bitPacked(ends);
+        same(ends, d, "MIN_VALUE, MAX_VALUE");
+        same(ends, p, "MIN_VALUE, MAX_VALUE");
+        searches(ends, p, d, "MIN_VALUE, MAX_VALUE");
+        //duplicates: lowerBound finds the first one
+        int dups[] = new int[300];
+        Arrays.fill(dups, 100, 300, 5);
+        check.equal(100, new compressedInts.bitPacked(dups).lowerBound(5), "bitPacked first of the duplicates");
+        check.equal(100, new compressedInts.deltaVarint(dups).lowerBound(5), "deltaVarint first of the duplicates");
+    }
+
+    public static void errors() {
+        compressedInts.bitPacked p = new compressedInts.bitPacked(new int[] {1, 2, 3});
+        compressedInts.deltaVarint d = new compressedInts.deltaVarint(new int[] {1, 2, 3});
+        check.fails(IndexOutOfBoundsException.class, () -> p.get(3), "bitPacked get(size)");
+        check.fails(IndexOutOfBoundsException.class, () -> p.get(-1), "bitPacked get(-1)");
+        check.fails(IndexOutOfBoundsException.class, () -> d.get(3), "deltaVarint get(size)");
+        check.fails(IndexOutOfBoundsException.class, () -> d.get(-1), "deltaVarint get(-1)");
+        check.fails(IllegalArgumentException.class, () -> p.decode(new int[2]), "bitPacked out too short");
+        check.fails(IllegalArgumentException.class, () -> d.decode(new int[2]), "deltaVarint out too short");
+        check.fails(IllegalArgumentException.class, () -> new compressedInts.deltaVarint(new int[] {2, 1}), "deltaVarint unsorted");
+        compressedInts.bitPacked empty = new compressedInts.bitPacked(new int[0]);
+        empty.decode(new int[0]);
+        check.equal(0, empty.lowerBound(Integer.MIN_VALUE), "empty lowerBound");
+        check.equal(-1, new compressedInts.deltaVarint(new int[0]).indexOf(0), "empty indexOf");
+    }
+
+    public static void main(String[] args) {
+        everyWidth();
+        sortedArrays();
+        errors();
+        System.out.println("compressedIntsTest passed");
+    }
+}
@@ -1,4 +1,3 @@
-import java.util.*;
 public class do_while {
 	
 	void trial() {
@@ -12,7 +11,7 @@ public class do_while {
 	
 	void break1() {
 		
-		Scanner sc = new Scanner(System.in);
+		fastInput sc = fastInput.in;
 		
 		do{
 			System.out.print("Enter the number: ");
@@ -29,7 +28,7 @@ public class do_while {
 
 	void continue1() {
 		
-		Scanner sc = new Scanner(System.in);
+		fastInput sc = fastInput.in;
 		
 		System.out.print("Enter the number: ");
 		do{
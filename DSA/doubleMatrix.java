@@ -0,0 +1,121 @@
+import java.util.Arrays;
+import java.util.Objects;
+
+// intMatrix for double cells: one double[] row after row, with row / column / submatrix views
+// that share it. See intMatrix.java.
+public class doubleMatrix {
+
+    final double data[];
+    final int offset;
+    final int rows, cols;
+    final int stride; //distance between the starts of two rows in data
+
+    public doubleMatrix(int rows, int cols) {
+        this(new double[checkedSize(rows, paddedStride(cols))], 0, rows, cols, paddedStride(cols));
+    }
+
+    doubleMatrix(double data[], int offset, int rows, int cols, int stride) {
+        this.data = data;
+        this.offset = offset;
+        this.rows = rows;
+        this.cols = cols;
+        this.stride = stride;
+    }
+
+    // 1024 byte rows get a spare cache line, as in intMatrix.paddedStride
+    static int paddedStride(int cols) {
+        return cols >= 256 && cols % 128 == 0 ? cols + 8 : cols;
+    }
+
+    static int checkedSize(int rows, int cols) {
+        if(rows < 0 || cols < 0 || (long)rows * cols > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("No "+rows+" x "+cols+" matrix fits in one array");
+        }
+        return rows * cols;
+    }
+
+    // uses data as it is, row after row, without copying
+    public static doubleMatrix wrap(double data[], int rows, int cols) {
+        if(checkedSize(rows, cols) != data.length) {
+            throw new IllegalArgumentException(rows+" x "+cols+" needs "+rows*cols+" cells, data has "+data.length);
+        }
+        return new doubleMatrix(data, 0, rows, cols, cols);
+    }
+
+    // copies an int[][] whose rows all have the same length
+    public static doubleMatrix of(double matrix[][]) {
+        int cols = matrix.length == 0 ? 0 : matrix[0].length;
+        doubleMatrix m = new doubleMatrix(matrix.length, cols);
+        for(int i=0; i<matrix.length; i++) {
+            if(matrix[i].length != cols) {
+                throw new IllegalArgumentException("Row "+i+" has "+matrix[i].length+" cells, row 0 has "+cols);
+            }
+            System.arraycopy(matrix[i], 0, m.data, i * m.stride, cols);
+        }
+        return m;
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int cols() {
+        return cols;
+    }
+
+    // index of (i, j) in data
+    int index(int i, int j) {
+        Objects.checkIndex(i, rows);
+        Objects.checkIndex(j, cols);
+        return offset + i * stride + j;
+    }
+
+    public double get(int i, int j) {
+        return data[index(i, j)];
+    }
+
+    public void set(int i, int j, double value) {
+        data[index(i, j)] = value;
+    }
+
+    // row i as a 1 x cols view
+    public doubleMatrix row(int i) {
+        return submatrix(i, 0, 1, cols);
+    }
+
+    // column j as a rows x 1 view
+    public doubleMatrix column(int j) {
+        return submatrix(0, j, rows, 1);
+    }
+
+    // the rows x cols block whose top left cell is (row, col), as a view
+    public doubleMatrix submatrix(int row, int col, int rows, int cols) {
+        Objects.checkFromIndexSize(row, rows, this.rows);
+        Objects.checkFromIndexSize(col, cols, this.cols);
+        return new doubleMatrix(data, offset + row * stride + col, rows, cols, stride);
+    }
+
+    public void fill(double value) {
+        for(int i=0; i<rows; i++) {
+            int start = offset + i * stride;
+            Arrays.fill(data, start, start + cols, value);
+        }
+    }
+
+    // a new matrix with its own data
+    public doubleMatrix copy() {
+        doubleMatrix m = new doubleMatrix(rows, cols);
+        for(int i=0; i<rows; i++) {
+            System.arraycopy(data, offset + i * stride, m.data, i * m.stride, cols);
+        }
+        return m;
+    }
+
+    public double[][] toArray() {
+        double matrix[][] = new double[rows][cols];
+        for(int i=0; i<rows; i++) {
+            System.arraycopy(data, offset + i * stride, matrix[i], 0, cols);
+        }
+        return matrix;
+    }
+}
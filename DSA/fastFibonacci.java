@@ -0,0 +1,279 @@
+import java.math.BigInteger;
+import java.util.stream.IntStream;
+
+// Fibonacci numbers without walking through every term like fibonacci.main and recursion.fibo.
+// Fast doubling, from the pair (F(k), F(k+1)):
+//     F(2k)   = F(k) * (2*F(k+1) - F(k))
+//     F(2k+1) = F(k)^2 + F(k+1)^2
+// one step per bit of n, so O(log n) multiplications, 60 steps for n = 10^18.
+//
+//  fib(n)             exact long, F(92) is the last one that fits (table lookup)
+//  fibMod(n, m)       F(n) mod m for any 1 <= m <= Long.MAX_VALUE
+//  fibBig(n)          exact BigInteger, F(10^6) has about 209000 digits
+//  pisano             F(n) mod m repeats with the Pisano period of m, for many queries
+//                     with the same m the period is found once, small periods are tabulated
+//  fill / fillMod     a whole range F(from), F(from+1), ... into a long[]
+public class fastFibonacci {
+
+    public static final int MAX_LONG_INDEX = 92;
+    static final long FIB_LONG[] = new long[MAX_LONG_INDEX + 1];
+    static final int PISANO_TABLE_LIMIT = 1 << 20; //tabulate periods up to this length
+    static final int FILL_CHUNK = 1 << 16;
+
+    static {
+        FIB_LONG[1] = 1;
+        for(int i=2; i<=MAX_LONG_INDEX; i++) {
+            FIB_LONG[i] = FIB_LONG[i-1] + FIB_LONG[i-2];
+        }
+    }
+
+    public static long fib(long n) {
+        if(n < 0) {
+            throw new IllegalArgumentException("n must not be negative: "+n);
+        }
+        if(n > MAX_LONG_INDEX) {
+            throw new ArithmeticException("F("+n+") does not fit in a long");
+        }
+        return FIB_LONG[(int)n];
+    }
+
+    // arithmetic mod m, in the fastest form fastPower would pick for that m
+    static class ring {
+        final long m;
+        final numberTheory.montgomery mg; //only for odd m above 2^31
+
+        ring(long m) {
+            if(m < 1) {
+                throw new IllegalArgumentException("Modulus must be positive: "+m);
+            }
+            this.m = m;
+            this.mg = m > (1L << 31) && (m & 1) == 1 ? new numberTheory.montgomery(m) : null;
+        }
+
+        long in(long x) {
+            x = Math.floorMod(x, m);
+            return mg == null ? x : mg.toMont(x);
+        }
+
+        long out(long x) {
+            return mg == null ? x : mg.fromMont(x);
+        }
+
+        long mul(long a, long b) {
+            if(mg != null) {
+                return mg.mul(a, b);
+            }
+            return m <= (1L << 31) ? a * b % m : fastPower.mulMod(a, b, m);
+        }
+
+        long add(long a, long b) {
+            long s = a - (m - b); //a + b - m without overflowing
+            return s < 0 ? s + m : s;
+        }
+
+        long sub(long a, long b) {
+            long s = a - b;
+            return s < 0 ? s + m : s;
+        }
+    }
+
+    // {F(n), F(n+1)} mod m, still in the ring's form
+    static long[] pair(long n, ring r) {
+        long a = r.in(0), b = r.in(1);
+        for(int bit=63-Long.numberOfLeadingZeros(n); bit>=0; bit--) {
+            long c = r.mul(a, r.sub(r.add(b, b), a)); //F(2k)
+            long d = r.add(r.mul(a, a), r.mul(b, b)); //F(2k+1)
+            if(((n >>> bit) & 1) == 0) {
+                a = c;
+                b = d;
+            } else {
+                a = d;
+                b = r.add(c, d);
+            }
+        }
+        return new long[]{a, b};
+    }
+
+    public static long fibMod(long n, long m) {
+        if(n < 0) {
+            throw new IllegalArgumentException("n must not be negative: "+n);
+        }
+        ring r = new ring(m);
+        return r.out(pair(n, r)[0]);
+    }
+
+    public static BigInteger fibBig(int n) {
+        if(n < 0) {
+            throw new IllegalArgumentException("n must not be negative: "+n);
+        }
+        if(n <= MAX_LONG_INDEX) {
+            return BigInteger.valueOf(FIB_LONG[n]);
+        }
+        //squaring is cheaper than a general multiply, so here the pair is (F(k), F(k-1)) and
+        //    F(2k+1) = 4*F(k)^2 - F(k-1)^2 + 2*(-1)^k
+        //    F(2k-1) = F(k)^2 + F(k-1)^2
+        //    F(2k)   = F(2k+1) - F(2k-1)
+        //two squarings per bit instead of three multiplications
+        BigInteger a = BigInteger.ONE, b = BigInteger.ZERO; //k = 1
+        boolean odd = true; //k is odd
+        for(int bit=30-Integer.numberOfLeadingZeros(n); bit>0; bit--) {
+            BigInteger a2 = a.multiply(a), b2 = b.multiply(b);
+            BigInteger next = a2.shiftLeft(2).subtract(b2).add(BigInteger.valueOf(odd ? -2 : 2)); //F(2k+1)
+            BigInteger prev = a2.add(b2); //F(2k-1)
+            BigInteger even = next.subtract(prev); //F(2k)
+            odd = ((n >>> bit) & 1) == 1;
+            if(odd) {
+                a = next;
+                b = even;
+            } else {
+                a = even;
+                b = prev;
+            }
+        }
+        //the last step only needs one of the two, and each is a single multiplication:
+        //    F(2k+1) = (2F(k) + F(k-1)) * (2F(k) - F(k-1)) + 2*(-1)^k
+        //    F(2k)   = F(k) * (F(k) + 2F(k-1))
+        if((n & 1) == 1) {
+            BigInteger twoA = a.shiftLeft(1);
+            return twoA.add(b).multiply(twoA.subtract(b)).add(BigInteger.valueOf(odd ? -2 : 2));
+        }
+        return a.multiply(a.add(b.shiftLeft(1)));
+    }
+
+    // Pisano period of m, the length of the cycle of F(n) mod m.
+    // For a prime p it divides p-1 when p = +-1 mod 5, and 2(p+1) when p = +-2 mod 5
+    // (3 for p = 2, 20 for p = 5). The period of p^k divides p^(k-1) times the one of p,
+    // and the period of m is the lcm over its prime powers. That gives a multiple of the
+    // period, then prime factors are taken out for as long as it stays a period.
+    public static long pisanoPeriod(long m) {
+        ring r = new ring(m);
+        if(m == 1) {
+            return 1;
+        }
+        long factors[] = numberTheory.factor(m);
+        long period = 1;
+        for(int i=0; i<factors.length; ) {
+            long p = factors[i];
+            int j = i;
+            while(j < factors.length && factors[j] == p) {
+                j++;
+            }
+            long forP;
+            if(p == 2) {
+                forP = 3;
+            } else if(p == 5) {
+                forP = 20;
+            } else if(p % 5 == 1 || p % 5 == 4) {
+                forP = p - 1;
+            } else {
+                forP = Math.multiplyExact(2, p + 1);
+            }
+            for(int e=i+1; e<j; e++) {
+                forP = Math.multiplyExact(forP, p);
+            }
+            period = Math.multiplyExact(period / numberTheory.gcd(period, forP), forP);
+            i = j;
+        }
+        long one = r.in(1), zero = r.in(0);
+        for(long q : numberTheory.factor(period)) {
+            if(period % q != 0) {
+                continue;
+            }
+            long smaller[] = pair(period / q, r);
+            if(smaller[0] == zero && smaller[1] == one) {
+                period /= q;
+            }
+        }
+        return period;
+    }
+
+    // F(n) mod m for many n: the period is found once, and if it is short all of
+    // F(0..period-1) mod m are stored, then every query is one lookup
+    public static class pisano {
+        final long m, period;
+        final long table[];
+        final ring r;
+
+        public pisano(long m) {
+            this.m = m;
+            this.r = new ring(m);
+            this.period = pisanoPeriod(m);
+            if(period <= PISANO_TABLE_LIMIT) {
+                table = new long[(int)period];
+                fillMod(table, 0, m);
+            } else {
+                table = null;
+            }
+        }
+
+        public long period() {
+            return period;
+        }
+
+        public long fib(long n) {
+            if(n < 0) {
+                throw new IllegalArgumentException("n must not be negative: "+n);
+            }
+            n %= period;
+            if(table != null) {
+                return table[(int)n];
+            }
+            return r.out(pair(n, r)[0]);
+        }
+
+        // out[i] = F(ns[i]) mod m
+        public void fib(long ns[], long out[]) {
+            for(int i=0; i<ns.length; i++) {
+                out[i] = fib(ns[i]);
+            }
+        }
+    }
+
+    // out[i] = F(from + i), ArithmeticException if the last one does not fit in a long
+    public static void fill(long out[], long from) {
+        if(from < 0) {
+            throw new IllegalArgumentException("from must not be negative: "+from);
+        }
+        if(from > MAX_LONG_INDEX + 1 - out.length) { //from + out.length - 1 could overflow
+            throw new ArithmeticException("F("+from+" + "+(out.length - 1)+") does not fit in a long");
+        }
+        System.arraycopy(FIB_LONG, (int)from, out, 0, out.length);
+    }
+
+    // out[i] = F(from + i) mod m. Every chunk starts from its own first pair by fast doubling
+    // and then only adds, so the chunks are independent and run in parallel.
+    public static void fillMod(long out[], long from, long m) {
+        if(from < 0 || from > Long.MAX_VALUE - out.length) {
+            throw new IllegalArgumentException("from out of range: "+from);
+        }
+        ring r = new ring(m);
+        int chunks = (out.length + FILL_CHUNK - 1) / FILL_CHUNK;
+        IntStream.range(0, chunks).parallel().forEach(c -> {
+            int start = c * FILL_CHUNK;
+            int end = Math.min(out.length, start + FILL_CHUNK);
+            long first[] = pair(from + start, r);
+            long a = r.out(first[0]), b = r.out(first[1]);
+            for(int i=start; i<end; i++) {
+                out[i] = a;
+                long s = a - (m - b);
+                a = b;
+                b = s < 0 ? s + m : s;
+            }
+        });
+    }
+
+    public static void main(String[] args) {
+        System.out.println("F(92) = "+fib(92));
+        long start = System.nanoTime();
+        long big = fibMod(1_000_000_000_000_000_000L, 1_000_000_007);
+        System.out.println("F(10^18) mod 1e9+7 = "+big+" ("+(System.nanoTime()-start)/1000+" us)");
+
+        start = System.nanoTime();
+        BigInteger f = fibBig(1_000_000);
+        long ms = (System.nanoTime()-start)/1_000_000;
+        System.out.println("F(10^6) has "+f.bitLength()+" bits ("+ms+" ms)");
+
+        pisano p = new pisano(1000);
+        System.out.println("Pisano period of 1000 = "+p.period()+", F(10^18) mod 1000 = "+p.fib(1_000_000_000_000_000_000L));
+    }
+}
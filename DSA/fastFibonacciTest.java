@@ -0,0 +1,110 @@
+import java.math.BigInteger;
+
+// fastFibonacci against adding up the terms one by one, see check.java
+public class fastFibonacciTest {
+
+    static BigInteger[] slowFib(int count) {
+        BigInteger f[] = new BigInteger[count];
+        for(int i=0; i<count; i++) {
+            f[i] = i < 2 ? BigInteger.valueOf(i) : f[i-1].add(f[i-2]);
+        }
+        return f;
+    }
+
+    public static void exact() {
+        BigInteger f[] = slowFib(1000);
+        for(int n=0; n<f.length; n++) {
+            check.equal(f[n], fastFibonacci.fibBig(n), "fibBig("+n+")");
+            if(n <= fastFibonacci.MAX_LONG_INDEX) {
+                check.equal(f[n].longValue(), fastFibonacci.fib(n), "fib("+n+")");
+            }
+        }
+        check.equal(7_540_113_804_746_346_429L, fastFibonacci.fib(92), "F(92), the last one in a long");
+        check.fails(ArithmeticException.class, () -> fastFibonacci.fib(93), "F(93)");
+        check.fails(ArithmeticException.class, () -> fastFibonacci.fib(Long.MAX_VALUE), "F(MAX_VALUE)");
+        check.fails(IllegalArgumentException.class, () -> fastFibonacci.fib(-1), "fib(-1)");
+        check.fails(IllegalArgumentException.class, () -> fastFibonacci.fibBig(-1), "fibBig(-1)");
+        check.fails(IllegalArgumentException.class, () -> fastFibonacci.fibBig(Integer.MIN_VALUE), "fibBig(MIN_VALUE)");
+        //a large one against fibMod: the two share no code
+        BigInteger big = fastFibonacci.fibBig(100_001);
+        check.equal(20_899, big.toString().length(), "F(100001) has 20899 digits");
+        for(long m : new long[] {1_000_000_007L, Long.MAX_VALUE, 1L << 62}) {
+            check.equal(big.mod(BigInteger.valueOf(m)).longValue(), fastFibonacci.fibMod(100_001, m), "F(100001) mod "+m);
+        }
+    }
+
+    public static void modular() {
+        BigInteger f[] = slowFib(300);
+        long moduli[] = {1, 2, 10, 1_000_000_007L, 1L << 31, (1L << 31) + 1, 1L << 40, Long.MAX_VALUE, Long.MAX_VALUE - 1};
+        for(long m : moduli) {
+            BigInteger bm = BigInteger.valueOf(m);
+            long filled[] = new long[f.length];
+            fastFibonacci.fillMod(filled, 0, m);
+            long tail[] = new long[5];
+            fastFibonacci.fillMod(tail, 295, m);
+            for(int n=0; n<f.length; n++) {
+                long expected = f[n].mod(bm).longValue();
+                check.equal(expected, fastFibonacci.fibMod(n, m), "F("+n+") mod "+m);
+                check.equal(expected, filled[n], "fillMod F("+n+") mod "+m);
+            }
+            check.equal(java.util.Arrays.copyOfRange(filled, 295, 300), tail, "fillMod from 295 mod "+m);
+        }
+        //across the chunks of fillMod
+        long many[] = new long[3 * fastFibonacci.FILL_CHUNK + 5];
+        fastFibonacci.fillMod(many, 1_000_000_000_000L, 1_000_000_007L);
+        for(int i=0; i<many.length; i+=fastFibonacci.FILL_CHUNK / 2) {
+            check.equal(fastFibonacci.fibMod(1_000_000_000_000L + i, 1_000_000_007L), many[i], "fillMod at "+i);
+        }
+        check.fails(IllegalArgumentException.class, () -> fastFibonacci.fibMod(5, 0), "modulus 0");
+        check.fails(IllegalArgumentException.class, () -> fastFibonacci.fibMod(-1, 7), "fibMod(-1)");
+        check.fails(IllegalArgumentException.class, () -> fastFibonacci.fillMod(new long[3], Long.MAX_VALUE - 1, 7),
+                    "fillMod past Long.MAX_VALUE");
+    }
+
+    public static void periods() {
+        for(int m=1; m<=2000; m++) {
+            //walk the pairs until (0, 1) comes back
+            long a = 0, b = 1 % m, period = 0;
+            do {
+                long c = (a + b) % m;
+                a = b;
+                b = c;
+                period++;
+            } while(a != 0 || b != 1 % m);
+            check.equal(period, fastFibonacci.pisanoPeriod(m), "pisano period of "+m);
+        }
+        check.equal(2_000_000_016L, fastFibonacci.pisanoPeriod(1_000_000_007L), "period of 10^9+7");
+        fastFibonacci.pisano small = new fastFibonacci.pisano(1000);
+        fastFibonacci.pisano large = new fastFibonacci.pisano(1_000_000_007L); //too long for a table
+        check.equal(1500, small.period(), "period of 1000");
+        long ns[] = {0, 1, 1499, 1500, 1501, Long.MAX_VALUE, 1_000_000_000_000_000_000L};
+        long out[] = new long[ns.length];
+        small.fib(ns, out);
+        for(int i=0; i<ns.length; i++) {
+            check.equal(fastFibonacci.fibMod(ns[i], 1000), out[i], "pisano(1000).fib("+ns[i]+")");
+            check.equal(fastFibonacci.fibMod(ns[i], 1_000_000_007L), large.fib(ns[i]), "pisano(10^9+7).fib("+ns[i]+")");
+        }
+        check.fails(IllegalArgumentException.class, () -> small.fib(-1), "pisano fib(-1)");
+    }
+
+    public static void fills() {
+        long all[] = new long[fastFibonacci.MAX_LONG_INDEX + 1];
+        fastFibonacci.fill(all, 0);
+        for(int n=0; n<all.length; n++) {
+            check.equal(fastFibonacci.fib(n), all[n], "fill F("+n+")");
+        }
+        fastFibonacci.fill(new long[0], 93); //nothing to fill
+        check.fails(ArithmeticException.class, () -> fastFibonacci.fill(new long[0], Long.MAX_VALUE), "empty fill from MAX_VALUE");
+        check.fails(ArithmeticException.class, () -> fastFibonacci.fill(new long[2], 92), "fill past F(92)");
+        check.fails(ArithmeticException.class, () -> fastFibonacci.fill(new long[2], Long.MAX_VALUE), "fill from MAX_VALUE");
+        check.fails(IllegalArgumentException.class, () -> fastFibonacci.fill(new long[2], -1), "fill from -1");
+    }
+
+    public static void main(String[] args) {
+        exact();
+        modular();
+        periods();
+        fills();
+        System.out.println("fastFibonacciTest passed");
+    }
+}
@@ -0,0 +1,155 @@
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.InputMismatchException;
+import java.util.NoSuchElementException;
+
+// Buffered input for reading a lot of numbers.
+// Scanner.nextInt() matches every token against a regex and creates Strings on the way.
+// Here the input comes from the channel in big blocks into one byte buffer and
+// numbers are parsed digit by digit from the bytes, so nextInt/nextLong/nextChar allocate nothing.
+// Errors work like Scanner: NoSuchElementException at end of input, InputMismatchException for a bad number.
+// Not thread safe. Use the shared fastInput.in for System.in: two buffered readers on
+// the same stream would each swallow input meant for the other.
+//
+// Usage:  fastInput sc = fastInput.in;   int n = sc.nextInt();
+public class fastInput {
+
+    static final int BUFFER_SIZE = 1 << 16;
+
+    // shared reader for stdin
+    public static final fastInput in = new fastInput(new FileInputStream(FileDescriptor.in).getChannel());
+
+    final ReadableByteChannel channel;
+    final byte buf[];
+    final ByteBuffer view;
+    int pos = 0, len = 0;
+
+    public fastInput(ReadableByteChannel channel) {
+        this(channel, BUFFER_SIZE);
+    }
+
+    public fastInput(ReadableByteChannel channel, int bufferSize) {
+        this.channel = channel;
+        this.buf = new byte[bufferSize];
+        this.view = ByteBuffer.wrap(buf);
+    }
+
+    // next byte without consuming it, -1 at end of input
+    int peek() {
+        if(pos == len && !fill()) {
+            return -1;
+        }
+        return buf[pos] & 0xFF; //bytes above 127 are not spaces, and 0xFF is not the end
+    }
+
+    boolean fill() {
+        view.clear();
+        try {
+            int n;
+            do {
+                n = channel.read(view);
+            } while(n == 0);
+            pos = 0;
+            len = Math.max(n, 0);
+            return n > 0;
+        } catch(IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // skips spaces, tabs and newlines, returns the first byte of the next token or -1
+    int skipSpaces() {
+        int c;
+        while((c = peek()) != -1 && c <= ' ') {
+            pos++;
+        }
+        return c;
+    }
+
+    public boolean hasNext() {
+        return skipSpaces() != -1;
+    }
+
+    public long nextLong() {
+        int c = skipSpaces();
+        if(c == -1) {
+            throw new NoSuchElementException();
+        }
+        boolean negative = false;
+        if(c == '-' || c == '+') {
+            negative = c == '-';
+            pos++;
+            c = peek();
+        }
+        if(c < '0' || c > '9') {
+            throw new InputMismatchException("Expected a number");
+        }
+        //build the value as a negative number so Long.MIN_VALUE fits
+        long result = 0;
+        while((c = peek()) >= '0' && c <= '9') {
+            int digit = c - '0';
+            if(result < (Long.MIN_VALUE + digit) / 10) {
+                throw new InputMismatchException("Number out of range for long");
+            }
+            result = result*10 - digit;
+            pos++;
+        }
+        if(c > ' ') {
+            throw new InputMismatchException("Unexpected character '"+(char)c+"' in number");
+        }
+        if(!negative) {
+            if(result == Long.MIN_VALUE) {
+                throw new InputMismatchException("Number out of range for long");
+            }
+            result = -result;
+        }
+        return result;
+    }
+
+    public int nextInt() {
+        long x = nextLong();
+        if(x < Integer.MIN_VALUE || x > Integer.MAX_VALUE) {
+            throw new InputMismatchException("Number out of range for int: "+x);
+        }
+        return (int)x;
+    }
+
+    // first character of the next token, the rest of the token is skipped (like sc.next().charAt(0))
+    public char nextChar() {
+        int c = skipSpaces();
+        if(c == -1) {
+            throw new NoSuchElementException();
+        }
+        char first = (char)(c & 0xFF);
+        while((c = peek()) > ' ') {
+            pos++;
+        }
+        return first;
+    }
+
+    // next whitespace separated token as a String, one char per byte (this one does allocate)
+    public String next() {
+        int c = skipSpaces();
+        if(c == -1) {
+            throw new NoSuchElementException();
+        }
+        StringBuilder sb = new StringBuilder();
+        while((c = peek()) > ' ') {
+            sb.append((char)c);
+            pos++;
+        }
+        return sb.toString();
+    }
+
+    // fills arr with the next arr.length ints
+    public int[] nextInts(int arr[]) {
+        for(int i=0; i<arr.length; i++) {
+            arr[i] = nextInt();
+        }
+        return arr;
+    }
+}
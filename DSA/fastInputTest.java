@@ -0,0 +1,71 @@
+import java.io.ByteArrayInputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.InputMismatchException;
+import java.util.NoSuchElementException;
+
+// fastInput against Long.parseLong, see check.java
+public class fastInputTest {
+
+    static fastInput input(String text, int bufferSize) {
+        byte bytes[] = text.getBytes(StandardCharsets.ISO_8859_1);
+        return new fastInput(Channels.newChannel(new ByteArrayInputStream(bytes)), bufferSize);
+    }
+
+    public static void numbers() {
+        long longs[] = {0, 1, -1, 9, -10, Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MAX_VALUE + 1L,
+                        Long.MAX_VALUE, Long.MIN_VALUE, Long.MIN_VALUE + 1};
+        StringBuilder text = new StringBuilder("  \n\t");
+        for(long x : longs) {
+            text.append(x).append(x % 2 == 0 ? "\r\n" : "  ");
+        }
+        //buffer 1 and 7 make every number cross a refill
+        for(int size : new int[] {1, 7, fastInput.BUFFER_SIZE}) {
+            fastInput in = input(text.toString(), size);
+            for(long x : longs) {
+                check.that(in.hasNext(), "hasNext before "+x+", buffer "+size);
+                check.equal(x, in.nextLong(), "nextLong, buffer "+size);
+            }
+            check.that(!in.hasNext(), "no more input, buffer "+size);
+        }
+        fastInput in = input("+5 2147483647 -2147483648 1 2 3", 3);
+        check.equal(5, in.nextInt(), "leading +");
+        check.equal(Integer.MAX_VALUE, in.nextInt(), "int MAX");
+        check.equal(Integer.MIN_VALUE, in.nextInt(), "int MIN");
+        check.equal(new int[] {1, 2, 3}, in.nextInts(new int[3]), "nextInts");
+    }
+
+    public static void tokens() {
+        fastInput in = input("yes no\nhello \u00e9t\u00e9", 2);
+        check.equal('y', in.nextChar(), "nextChar");
+        check.equal("no", in.next(), "next after nextChar skipped the rest of the token");
+        check.equal("hello", in.next(), "next");
+        check.equal("\u00e9t\u00e9", in.next(), "one char per byte");
+        check.fails(NoSuchElementException.class, () -> in.next(), "next at the end");
+        check.that(!in.hasNext(), "end of input");
+        fastInput high = input("\u00ff\u00a0 7", 1);
+        check.equal("\u00ff\u00a0", high.next(), "bytes 0xFF and 0xA0 are part of a token");
+        check.equal(7, high.nextInt(), "number after them");
+    }
+
+    public static void errors() {
+        check.fails(NoSuchElementException.class, () -> input("", 8).nextInt(), "empty input");
+        check.fails(NoSuchElementException.class, () -> input(" \n ", 8).nextChar(), "only spaces");
+        check.fails(NoSuchElementException.class, () -> input("", 8).next(), "next on empty input");
+        check.fails(InputMismatchException.class, () -> input("abc", 8).nextLong(), "not a number");
+        check.fails(InputMismatchException.class, () -> input("-", 8).nextLong(), "only a sign");
+        check.fails(InputMismatchException.class, () -> input("12x", 8).nextLong(), "letter inside a number");
+        check.fails(InputMismatchException.class, () -> input("9223372036854775808", 8).nextLong(), "long MAX + 1");
+        check.fails(InputMismatchException.class, () -> input("-9223372036854775809", 8).nextLong(), "long MIN - 1");
+        check.fails(InputMismatchException.class, () -> input("2147483648", 8).nextInt(), "int MAX + 1");
+        check.fails(InputMismatchException.class, () -> input("-2147483649", 8).nextInt(), "int MIN - 1");
+        check.fails(InputMismatchException.class, () -> input("99999999999999999999", 8).nextLong(), "20 digits");
+    }
+
+    public static void main(String[] args) {
+        numbers();
+        tokens();
+        errors();
+        System.out.println("fastInputTest passed");
+    }
+}
@@ -0,0 +1,204 @@
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+// Buffered output for printing a lot of numbers.
+// System.out.print(arr[i] + " ") builds a String and takes the PrintStream lock for every element.
+// Here ints are turned into ASCII digits straight inside one reused byte buffer
+// and the buffer goes to the channel in big blocks, only when it is full or on flush().
+// Not thread safe: one thread prints at a time (same as the loops that use it).
+// fastOutput.out hands its blocks to whatever System.out is at that moment, so System.setOut
+// redirects it like any other print.
+//
+// Usage:  fastOutput.out.print(x).print(' ');   ...   fastOutput.out.println().flush();
+public class fastOutput {
+
+    static final int BUFFER_SIZE = 1 << 16;
+    static final int MAX_LONG_CHARS = 20; //"-9223372036854775808"
+
+    // shared sink for stdout
+    public static final fastOutput out = new fastOutput(new systemOut());
+
+    // System.out as a channel, looked up on every write instead of once
+    static class systemOut implements WritableByteChannel {
+        public int write(ByteBuffer src) {
+            int n = src.remaining();
+            PrintStream stream = System.out;
+            if(src.hasArray()) {
+                stream.write(src.array(), src.arrayOffset() + src.position(), n);
+                src.position(src.position() + n);
+            } else {
+                byte copy[] = new byte[n];
+                src.get(copy);
+                stream.write(copy, 0, n);
+            }
+            stream.flush();
+            return n;
+        }
+
+        public boolean isOpen() {
+            return true;
+        }
+
+        public void close() {
+        }
+    }
+
+    final WritableByteChannel channel;
+    final byte buf[];
+    final ByteBuffer view;
+    int pos = 0;
+
+    public fastOutput(WritableByteChannel channel) {
+        this(channel, BUFFER_SIZE);
+    }
+
+    public fastOutput(WritableByteChannel channel, int bufferSize) {
+        this.channel = channel;
+        this.buf = new byte[Math.max(bufferSize, MAX_LONG_CHARS)];
+        this.view = ByteBuffer.wrap(buf);
+    }
+
+    // makes sure there are at least n free bytes in the buffer
+    void ensure(int n) {
+        if(pos + n > buf.length) {
+            drain();
+        }
+    }
+
+    void drain() {
+        if(pos == 0) {
+            return;
+        }
+        //anything already sitting in System.out's buffer was printed first, keep that order
+        System.out.flush();
+        view.clear().limit(pos);
+        try {
+            while(view.hasRemaining()) {
+                channel.write(view);
+            }
+        } catch(IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        pos = 0;
+    }
+
+    public fastOutput print(int x) {
+        if(x == Integer.MIN_VALUE) {
+            return print((long)x);
+        }
+        ensure(11);
+        if(x < 0) {
+            buf[pos++] = '-';
+            x = -x;
+        }
+        //count the digits, then fill them in from the right
+        int len = 1;
+        for(int t=x; t>=10; t/=10) {
+            len++;
+        }
+        int end = pos + len;
+        for(int i=end-1; i>=pos; i--) {
+            buf[i] = (byte)('0' + x % 10);
+            x /= 10;
+        }
+        pos = end;
+        return this;
+    }
+
+    public fastOutput print(long x) {
+        if(x >= Integer.MIN_VALUE+1 && x <= Integer.MAX_VALUE) {
+            return print((int)x);
+        }
+        ensure(MAX_LONG_CHARS);
+        boolean negative = x < 0;
+        //work with the negative value so Long.MIN_VALUE does not overflow
+        if(!negative) {
+            x = -x;
+        }
+        int start = pos;
+        if(negative) {
+            buf[pos++] = '-';
+            start++;
+        }
+        int len = 1;
+        for(long t=x; t<=-10; t/=10) {
+            len++;
+        }
+        int end = start + len;
+        for(int i=end-1; i>=start; i--) {
+            buf[i] = (byte)('0' - x % 10);
+            x /= 10;
+        }
+        pos = end;
+        return this;
+    }
+
+    public fastOutput print(char c) {
+        if(c < 0x80) {
+            ensure(1);
+            buf[pos++] = (byte)c;
+            return this;
+        }
+        return print(String.valueOf(c));
+    }
+
+    public fastOutput print(String s) {
+        int n = s.length();
+        for(int i=0; i<n; i++) {
+            char c = s.charAt(i);
+            if(c >= 0x80) {
+                //rare non ASCII text: let the JDK encode the rest
+                return printBytes(s.substring(i).getBytes());
+            }
+            ensure(1);
+            buf[pos++] = (byte)c;
+        }
+        return this;
+    }
+
+    fastOutput printBytes(byte b[]) {
+        for(int i=0; i<b.length; ) {
+            ensure(1);
+            int len = Math.min(b.length - i, buf.length - pos);
+            System.arraycopy(b, i, buf, pos, len);
+            pos += len;
+            i += len;
+        }
+        return this;
+    }
+
+    // prints c count times, used by the pattern programs
+    public fastOutput repeat(char c, int count) {
+        while(count > 0) {
+            ensure(1);
+            int len = Math.min(count, buf.length - pos);
+            for(int i=0; i<len; i++) {
+                buf[pos+i] = (byte)c;
+            }
+            pos += len;
+            count -= len;
+        }
+        return this;
+    }
+
+    // prints arr[from..to) separated by sep, without a trailing newline
+    public fastOutput printArray(int arr[], int from, int to, char sep) {
+        for(int i=from; i<to; i++) {
+            print(arr[i]);
+            print(sep);
+        }
+        return this;
+    }
+
+    public fastOutput println() {
+        return print('\n');
+    }
+
+    public fastOutput flush() {
+        drain();
+        return this;
+    }
+}
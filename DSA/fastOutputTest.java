@@ -0,0 +1,85 @@
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+
+// fastOutput against String.valueOf, see check.java
+public class fastOutputTest {
+
+    // runs the prints on a fastOutput with a tiny buffer, so most of them cross a drain
+    interface prints {
+        void to(fastOutput out);
+    }
+
+    static String output(int bufferSize, prints p) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        fastOutput out = new fastOutput(Channels.newChannel(bytes), bufferSize);
+        p.to(out);
+        out.flush();
+        return new String(bytes.toByteArray(), StandardCharsets.ISO_8859_1); //one char per byte
+    }
+
+    static String bytesOf(String s) {
+        return new String(s.getBytes(), StandardCharsets.ISO_8859_1);
+    }
+
+    public static void numbers() {
+        int ints[] = {0, 1, -1, 9, 10, -10, 999_999_999, 1_000_000_000, Integer.MAX_VALUE, Integer.MIN_VALUE,
+                      Integer.MIN_VALUE + 1};
+        long longs[] = {0L, Integer.MAX_VALUE + 1L, Integer.MIN_VALUE - 1L, Long.MAX_VALUE, Long.MIN_VALUE,
+                        Long.MIN_VALUE + 1, -1_000_000_000_000L};
+        StringBuilder expected = new StringBuilder();
+        for(int x : ints) {
+            expected.append(x).append(' ');
+        }
+        for(long x : longs) {
+            expected.append(x).append(' ');
+        }
+        for(int size : new int[] {1, 20, 64, fastOutput.BUFFER_SIZE}) {
+            check.equal(expected.toString(), output(size, out -> {
+                for(int x : ints) {
+                    out.print(x).print(' ');
+                }
+                for(long x : longs) {
+                    out.print(x).print(' ');
+                }
+            }), "ints and longs, buffer "+size);
+        }
+    }
+
+    public static void text() {
+        check.equal("", output(20, out -> {}), "nothing printed");
+        check.equal("", output(20, out -> out.printArray(new int[] {1, 2}, 1, 1, ',')), "empty range");
+        check.equal("1,2,3,", output(20, out -> out.printArray(new int[] {1, 2, 3}, 0, 3, ',')), "printArray");
+        check.equal("*".repeat(50)+"\n", output(20, out -> out.repeat('*', 50).println()), "repeat over the buffer");
+        check.equal("x", output(20, out -> out.repeat('-', 0).print("x")), "repeat 0 times");
+        //non ASCII text goes out in the platform encoding, like String.getBytes()
+        String mixed = "abc \u00e9 \u00fc \u6f22\u5b57 "+"z".repeat(40);
+        check.equal(bytesOf(mixed), output(20, out -> out.print(mixed)), "non ASCII text");
+        check.equal(bytesOf("\u00f1"), output(20, out -> out.print('\u00f1')), "non ASCII char");
+    }
+
+    // fastOutput.out writes to the current System.out, so a redirect catches it
+    public static void redirected() {
+        PrintStream console = System.out;
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(bytes));
+        try {
+            System.out.print("before ");
+            fastOutput.out.print(-42).print(' ').repeat('x', fastOutput.BUFFER_SIZE).println().flush();
+            System.out.print("after");
+            System.out.flush();
+        } finally {
+            System.setOut(console);
+        }
+        check.equal("before -42 "+"x".repeat(fastOutput.BUFFER_SIZE)+"\n"+"after",
+                    new String(bytes.toByteArray(), StandardCharsets.ISO_8859_1), "fastOutput.out after System.setOut");
+    }
+
+    public static void main(String[] args) {
+        numbers();
+        text();
+        redirected();
+        System.out.println("fastOutputTest passed");
+    }
+}
@@ -0,0 +1,162 @@
+import java.math.BigInteger;
+
+// x^n by square and multiply, the loop version of recursion.calcPower2:
+//     x^n = (x^(n/2))^2 * (x if n is odd)
+// walks the bits of n once, so O(log n) multiplications, 60 steps for n = 10^18.
+//
+//  pow(x, n)        exact long, ArithmeticException if the answer does not fit
+//  powMod(x, n, m)  x^n mod m for any 1 <= m <= Long.MAX_VALUE
+//  powBig(x, n)     exact BigInteger
+//  powAll / powModAll  the same exponent for a whole array of bases
+public class fastPower {
+
+    public static long pow(long x, long n) {
+        if(n < 0) {
+            throw new IllegalArgumentException("Exponent must not be negative: "+n);
+        }
+        //the only bases whose powers never overflow, whatever n is
+        if(x == 0) {
+            return n == 0 ? 1 : 0;
+        }
+        if(x == 1) {
+            return 1;
+        }
+        if(x == -1) {
+            return (n & 1) == 0 ? 1 : -1;
+        }
+        //|x| >= 2, so n >= 64 always overflows, and the loop below is at most 6 steps
+        long result = 1;
+        while(true) {
+            if((n & 1) == 1) {
+                result = Math.multiplyExact(result, x);
+            }
+            n >>= 1;
+            if(n == 0) {
+                return result;
+            }
+            x = Math.multiplyExact(x, x);
+        }
+    }
+
+    public static long powMod(long x, long n, long m) {
+        if(n < 0) {
+            throw new IllegalArgumentException("Exponent must not be negative: "+n);
+        }
+        if(m < 1) {
+            throw new IllegalArgumentException("Modulus must be positive: "+m);
+        }
+        x %= m;
+        if(x < 0) {
+            x += m;
+        }
+        if(m <= (1L << 31)) {
+            //products of two numbers below 2^31 fit in a long
+            long result = 1 % m;
+            while(n > 0) {
+                if((n & 1) == 1) {
+                    result = result * x % m;
+                }
+                x = x * x % m;
+                n >>= 1;
+            }
+            return result;
+        }
+        if((m & 1) == 1) {
+            numberTheory.montgomery mg = new numberTheory.montgomery(m);
+            return mg.fromMont(mg.pow(mg.toMont(x), n));
+        }
+        long result = 1;
+        while(n > 0) {
+            if((n & 1) == 1) {
+                result = mulMod(result, x, m);
+            }
+            x = mulMod(x, x, m);
+            n >>= 1;
+        }
+        return result;
+    }
+
+    // a*b mod m for 0 <= a, b < m < 2^63, used for even moduli above 2^31 where Montgomery form
+    // does not work. The 128 bit product (hi, lo) comes from Math.multiplyHigh and is divided by m
+    // in two 32 bit digits (long division as in Hacker's Delight, divlu): m is shifted up until
+    // its top bit is set, then every digit of the quotient is guessed from the top half of m and
+    // corrected at most twice. Two divisions instead of a loop over the 64 bits of b.
+    static long mulMod(long a, long b, long m) {
+        long hi = Math.multiplyHigh(a, b), lo = a * b; //hi < m because a, b < m
+        int s = Long.numberOfLeadingZeros(m); //at least 1
+        long v = m << s;
+        long vHi = v >>> 32, vLo = v & 0xFFFFFFFFL;
+        long top = (hi << s) | (lo >>> (64 - s));
+        lo <<= s;
+        long rest = divStep(top, lo >>> 32, v, vHi, vLo);
+        return divStep(rest, lo & 0xFFFFFFFFL, v, vHi, vLo) >>> s;
+    }
+
+    // (top * 2^32 + digit) mod v for top < v and a 32 bit digit, v with its top bit set
+    static long divStep(long top, long digit, long v, long vHi, long vLo) {
+        long q = Long.divideUnsigned(top, vHi);
+        long r = top - q * vHi;
+        //q is at most 2 too big: lower it while q * v > top * 2^32 + digit
+        while(q > 0xFFFFFFFFL || Long.compareUnsigned(q * vLo, (r << 32) | digit) > 0) {
+            q--;
+            r += vHi;
+            if(r > 0xFFFFFFFFL) {
+                break;
+            }
+        }
+        return (top << 32) + digit - q * v;
+    }
+
+    public static BigInteger powBig(BigInteger x, long n) {
+        if(n < 0) {
+            throw new IllegalArgumentException("Exponent must not be negative: "+n);
+        }
+        if(n <= Integer.MAX_VALUE) {
+            return x.pow((int)n); //BigInteger.pow already squares and multiplies
+        }
+        if(x.signum() == 0 || x.equals(BigInteger.ONE)) {
+            return x;
+        }
+        if(x.equals(BigInteger.ONE.negate())) {
+            return (n & 1) == 0 ? BigInteger.ONE : x;
+        }
+        throw new ArithmeticException("x^"+n+" is too big for a BigInteger");
+    }
+
+    // out[i] = bases[i]^n, ArithmeticException if one of them overflows
+    public static void powAll(long bases[], long n, long out[]) {
+        for(int i=0; i<bases.length; i++) {
+            out[i] = pow(bases[i], n);
+        }
+    }
+
+    // out[i] = bases[i]^n mod m, the Montgomery setup for m is done once for the whole array
+    public static void powModAll(long bases[], long n, long m, long out[]) {
+        if(m > (1L << 31) && (m & 1) == 1 && n >= 0) {
+            numberTheory.montgomery mg = new numberTheory.montgomery(m);
+            for(int i=0; i<bases.length; i++) {
+                long x = bases[i] % m;
+                if(x < 0) {
+                    x += m;
+                }
+                out[i] = mg.fromMont(mg.pow(mg.toMont(x), n));
+            }
+            return;
+        }
+        for(int i=0; i<bases.length; i++) {
+            out[i] = powMod(bases[i], n, m);
+        }
+    }
+
+    public static void main(String[] args) {
+        System.out.println("2^62 = "+pow(2, 62));
+        System.out.println("3^(10^18) mod 1e9+7 = "+powMod(3, 1_000_000_000_000_000_000L, 1_000_000_007));
+        System.out.println("3^(10^18) mod (2^61-1) = "+powMod(3, 1_000_000_000_000_000_000L, (1L << 61) - 1));
+        System.out.println("2^100 = "+powBig(BigInteger.TWO, 100));
+        try {
+            pow(2, 63);
+        } catch(ArithmeticException e) {
+            System.out.println("2^63 does not fit in a long");
+        }
+    }
+}
@@ -0,0 +1,90 @@
+import java.math.BigInteger;
+import java.util.Random;
+
+// fastPower against BigInteger.pow / modPow, see check.java
+public class fastPowerTest {
+
+    public static void exact() {
+        BigInteger longMin = BigInteger.valueOf(Long.MIN_VALUE), longMax = BigInteger.valueOf(Long.MAX_VALUE);
+        for(long x=-20; x<=20; x++) {
+            for(int n=0; n<=70; n++) {
+                long xx = x;
+                int nn = n;
+                BigInteger expected = BigInteger.valueOf(x).pow(n);
+                if(expected.compareTo(longMin) >= 0 && expected.compareTo(longMax) <= 0) {
+                    check.equal(expected.longValue(), fastPower.pow(x, n), x+"^"+n);
+                } else {
+                    check.fails(ArithmeticException.class, () -> fastPower.pow(xx, nn), x+"^"+n+" overflows");
+                }
+            }
+        }
+        check.equal(Long.MIN_VALUE, fastPower.pow(-2, 63), "(-2)^63 is exactly MIN_VALUE");
+        check.fails(ArithmeticException.class, () -> fastPower.pow(2, 63), "2^63");
+        check.equal(4_052_555_153_018_976_267L, fastPower.pow(3, 39), "3^39");
+        check.fails(ArithmeticException.class, () -> fastPower.pow(3, 40), "3^40");
+        check.equal(Long.MIN_VALUE, fastPower.pow(Long.MIN_VALUE, 1), "MIN_VALUE^1");
+        check.fails(ArithmeticException.class, () -> fastPower.pow(Long.MIN_VALUE, 2), "MIN_VALUE^2");
+        check.equal(1, fastPower.pow(-1, Long.MAX_VALUE - 1), "(-1)^even");
+        check.equal(-1, fastPower.pow(-1, Long.MAX_VALUE), "(-1)^odd");
+        check.equal(0, fastPower.pow(0, Long.MAX_VALUE), "0^MAX");
+        check.equal(1, fastPower.pow(0, 0), "0^0");
+        check.fails(IllegalArgumentException.class, () -> fastPower.pow(2, -1), "negative exponent");
+
+        long bases[] = {2, -3, 0}, out[] = new long[3];
+        fastPower.powAll(bases, 5, out);
+        check.equal(new long[] {32, -243, 0}, out, "powAll");
+        check.fails(ArithmeticException.class, () -> fastPower.powAll(new long[] {2, 1L << 40}, 2, new long[2]),
+                    "powAll overflow");
+    }
+
+    public static void modular() {
+        Random r = new Random(17);
+        long moduli[] = {1, 2, 3, 1_000_000_007L, 1L << 31, (1L << 31) + 1, 1L << 32, (1L << 32) + 2,
+                         (1L << 61) - 1, 1L << 62, Long.MAX_VALUE, Long.MAX_VALUE - 1,
+                         r.nextLong() >>> 1 | 1, r.nextLong() >>> 1 & -2};
+        for(long m : moduli) {
+            BigInteger bm = BigInteger.valueOf(m);
+            long bases[] = new long[40];
+            for(int i=0; i<bases.length; i++) {
+                bases[i] = i < 4 ? new long[] {0, -1, Long.MIN_VALUE, Long.MAX_VALUE}[i] : r.nextLong();
+            }
+            for(long n : new long[] {0, 1, 2, 63, 64, 1_000_000_000_000_000_000L, Long.MAX_VALUE}) {
+                long all[] = new long[bases.length];
+                fastPower.powModAll(bases, n, m, all);
+                for(int i=0; i<bases.length; i++) {
+                    long expected = BigInteger.valueOf(bases[i]).modPow(BigInteger.valueOf(n), bm).longValue();
+                    check.equal(expected, fastPower.powMod(bases[i], n, m), bases[i]+"^"+n+" mod "+m);
+                    check.equal(expected, all[i], "powModAll "+bases[i]+"^"+n+" mod "+m);
+                }
+            }
+        }
+        for(long m : new long[] {1L << 62, Long.MAX_VALUE - 1, 6_000_000_000L}) {
+            for(int i=0; i<200; i++) {
+                long a = (r.nextLong() >>> 1) % m, b = i == 0 ? m - 1 : (r.nextLong() >>> 1) % m;
+                long expected = BigInteger.valueOf(a).multiply(BigInteger.valueOf(b))
+                                          .mod(BigInteger.valueOf(m)).longValue();
+                check.equal(expected, fastPower.mulMod(a, b, m), a+" * "+b+" mod "+m);
+            }
+        }
+        check.fails(IllegalArgumentException.class, () -> fastPower.powMod(2, 3, 0), "modulus 0");
+        check.fails(IllegalArgumentException.class, () -> fastPower.powMod(2, 3, Long.MIN_VALUE), "negative modulus");
+        check.fails(IllegalArgumentException.class, () -> fastPower.powMod(2, -1, 7), "negative exponent");
+    }
+
+    public static void big() {
+        check.equal(BigInteger.TWO.pow(1000), fastPower.powBig(BigInteger.TWO, 1000), "2^1000");
+        check.equal(BigInteger.ONE, fastPower.powBig(BigInteger.TEN, 0), "10^0");
+        check.equal(BigInteger.ZERO, fastPower.powBig(BigInteger.ZERO, Long.MAX_VALUE), "0^MAX");
+        check.equal(BigInteger.ONE.negate(), fastPower.powBig(BigInteger.ONE.negate(), Long.MAX_VALUE), "(-1)^MAX");
+        check.equal(BigInteger.ONE, fastPower.powBig(BigInteger.ONE.negate(), Long.MAX_VALUE - 1), "(-1)^(MAX - 1)");
+        check.fails(ArithmeticException.class, () -> fastPower.powBig(BigInteger.TWO, Long.MAX_VALUE), "2^MAX");
+        check.fails(IllegalArgumentException.class, () -> fastPower.powBig(BigInteger.TWO, -1), "negative exponent");
+    }
+
+    public static void main(String[] args) {
+        exact();
+        modular();
+        big();
+        System.out.println("fastPowerTest passed");
+    }
+}
@@ -1,24 +1,24 @@
-import java.util.*;
 public class fibonacci {
 
 	public static void main(String[] args) {
-		Scanner sc = new Scanner(System.in);
+		fastInput sc = fastInput.in;
 		System.out.print("Input for nth term for Fibonacci: ");
 		int n = sc.nextInt();
+		if(n < 0) {
+			System.out.println("n must be 0 or more, got "+n);
+			return;
+		}
 		
-		int first = 0;
-		int second = 1;
-		int third = 0;
+		//long holds the terms up to F(92), after that only the n-th term is printed
+		long terms[] = new long[Math.min(n, fastFibonacci.MAX_LONG_INDEX) + 1];
+		fastFibonacci.fill(terms, 0);
 		
 		System.out.print("Fibonacci Series: ");
-		for(int i=2; i<=n; i++) {
-			third = first + second;
-			first=second;
-			second=third;
-			
-			System.out.print(third);
+		for(int i=0; i<terms.length; i++) {
+			System.out.print(terms[i]+" ");
 		}
-		
+		System.out.println();
+		System.out.println("F("+n+") = "+fastFibonacci.fibBig(n));
 
 	}
 
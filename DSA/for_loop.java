@@ -1,5 +1,3 @@
-import java.util.*;
-
 public class for_loop {
 	void sq_pattern() {
 		for(int line=1; line<=4; line++) {
@@ -8,7 +6,7 @@ public class for_loop {
 	}
 	
 	void reverse() {
-		Scanner sc = new Scanner(System.in);
+		fastInput sc = fastInput.in;
 		System.out.print("Input the number: ");
 		int n = sc.nextInt();
 		
@@ -21,7 +19,7 @@ public class for_loop {
 	}
 	
 	void reverse2() {
-		Scanner sc = new Scanner(System.in);
+		fastInput sc = fastInput.in;
 		
 		System.out.print("Input the number: ");
 		int n = sc.nextInt();
@@ -40,7 +38,7 @@ public class for_loop {
 	}
 
 	void prime() {
-		Scanner sc = new Scanner(System.in);
+		fastInput sc = fastInput.in;
 		System.out.print("Input the number: ");
 		int n = sc.nextInt();
 
@@ -50,9 +48,13 @@ public class for_loop {
 			System.out.println("Prime");
 		}
 		else {
-			for(int i=2; i<=Math.sqrt(n); i++) {
+			if(n<2) {
+				isPrime = false;
+			}
+			for(int i=2; (long)i*i<=n; i++) {
 				if(n%i==0) {
 					isPrime = false;
+					break; //one divisor is enough
 				}
 			}
 
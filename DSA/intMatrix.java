@@ -0,0 +1,131 @@
+import java.util.Arrays;
+import java.util.Objects;
+
+// A rows x cols matrix in one int[], row after row (row-major): cell (i, j) is
+// data[offset + i*stride + j]. An int[][] is an array of separate row arrays, every row is its
+// own object somewhere on the heap, so walking down a column or over many rows follows a pointer
+// per row. Here the next row starts right after the last one (plus a cache line of padding for
+// some widths, see paddedStride).
+//
+// row(i), column(j) and submatrix(...) are views: they share data with the matrix they came from,
+// nothing is copied and set() on a view changes the original. Only offset, rows, cols and stride
+// differ. longMatrix and doubleMatrix are the same for long and double cells.
+// The Darray operations (search, printSpiral, diagonalSum) have intMatrix versions in matrices.java.
+public class intMatrix {
+
+    final int data[];
+    final int offset;
+    final int rows, cols;
+    final int stride; //distance between the starts of two rows in data
+
+    public intMatrix(int rows, int cols) {
+        this(new int[checkedSize(rows, paddedStride(cols))], 0, rows, cols, paddedStride(cols));
+    }
+
+    intMatrix(int data[], int offset, int rows, int cols, int stride) {
+        this.data = data;
+        this.offset = offset;
+        this.rows = rows;
+        this.cols = cols;
+        this.stride = stride;
+    }
+
+    // rows whose length is a multiple of 1024 bytes start at the same place in every cache set,
+    // so a walk down a column keeps evicting itself. One spare cache line per row (16 cells)
+    // moves every row start to a different set.
+    static int paddedStride(int cols) {
+        return cols >= 512 && cols % 256 == 0 ? cols + 16 : cols;
+    }
+
+    static int checkedSize(int rows, int cols) {
+        if(rows < 0 || cols < 0 || (long)rows * cols > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("No "+rows+" x "+cols+" matrix fits in one array");
+        }
+        return rows * cols;
+    }
+
+    // uses data as it is, row after row, without copying
+    public static intMatrix wrap(int data[], int rows, int cols) {
+        if(checkedSize(rows, cols) != data.length) {
+            throw new IllegalArgumentException(rows+" x "+cols+" needs "+rows*cols+" cells, data has "+data.length);
+        }
+        return new intMatrix(data, 0, rows, cols, cols);
+    }
+
+    // copies an int[][] whose rows all have the same length
+    public static intMatrix of(int matrix[][]) {
+        int cols = matrix.length == 0 ? 0 : matrix[0].length;
+        intMatrix m = new intMatrix(matrix.length, cols);
+        for(int i=0; i<matrix.length; i++) {
+            if(matrix[i].length != cols) {
+                throw new IllegalArgumentException("Row "+i+" has "+matrix[i].length+" cells, row 0 has "+cols);
+            }
+            System.arraycopy(matrix[i], 0, m.data, i * m.stride, cols);
+        }
+        return m;
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int cols() {
+        return cols;
+    }
+
+    // index of (i, j) in data
+    int index(int i, int j) {
+        Objects.checkIndex(i, rows);
+        Objects.checkIndex(j, cols);
+        return offset + i * stride + j;
+    }
+
+    public int get(int i, int j) {
+        return data[index(i, j)];
+    }
+
+    public void set(int i, int j, int value) {
+        data[index(i, j)] = value;
+    }
+
+    // row i as a 1 x cols view
+    public intMatrix row(int i) {
+        return submatrix(i, 0, 1, cols);
+    }
+
+    // column j as a rows x 1 view
+    public intMatrix column(int j) {
+        return submatrix(0, j, rows, 1);
+    }
+
+    // the rows x cols block whose top left cell is (row, col), as a view
+    public intMatrix submatrix(int row, int col, int rows, int cols) {
+        Objects.checkFromIndexSize(row, rows, this.rows);
+        Objects.checkFromIndexSize(col, cols, this.cols);
+        return new intMatrix(data, offset + row * stride + col, rows, cols, stride);
+    }
+
+    public void fill(int value) {
+        for(int i=0; i<rows; i++) {
+            int start = offset + i * stride;
+            Arrays.fill(data, start, start + cols, value);
+        }
+    }
+
+    // a new matrix with its own data
+    public intMatrix copy() {
+        intMatrix m = new intMatrix(rows, cols);
+        for(int i=0; i<rows; i++) {
+            System.arraycopy(data, offset + i * stride, m.data, i * m.stride, cols);
+        }
+        return m;
+    }
+
+    public int[][] toArray() {
+        int matrix[][] = new int[rows][cols];
+        for(int i=0; i<rows; i++) {
+            System.arraycopy(data, offset + i * stride, matrix[i], 0, cols);
+        }
+        return matrix;
+    }
+}
@@ -0,0 +1,93 @@
+// intMatrix, longMatrix and doubleMatrix against the int[][] / long[][] / double[][] they copy, see check.java
+public class intMatrixTest {
+
+    static int[][] numbered(int rows, int cols) {
+        int matrix[][] = new int[rows][cols];
+        for(int i=0; i<rows; i++) {
+            for(int j=0; j<cols; j++) {
+                matrix[i][j] = i * 1000 + j;
+            }
+        }
+        return matrix;
+    }
+
+    public static void views() {
+        //512 and 1024 columns get a padded stride, 100 does not
+        for(int cols : new int[] {1, 7, 100, 512, 1024}) {
+            int matrix[][] = numbered(5, cols);
+            intMatrix m = intMatrix.of(matrix);
+            check.equal(5, m.rows(), "rows, cols "+cols);
+            check.equal(cols, m.cols(), "cols");
+            check.equal(matrix, m.toArray(), "toArray, cols "+cols);
+            check.that(m.stride >= cols && (cols < 512 || m.stride > cols), "stride "+m.stride+" for "+cols+" cols");
+            check.equal(new int[][] {matrix[3]}, m.row(3).toArray(), "row(3)");
+            int column[][] = new int[5][1];
+            for(int i=0; i<5; i++) {
+                column[i][0] = matrix[i][cols-1];
+            }
+            check.equal(column, m.column(cols-1).toArray(), "column(cols-1)");
+            if(cols >= 3) {
+                intMatrix inner = m.submatrix(1, 1, 3, cols-2);
+                check.equal(matrix[2][2], inner.get(1, 1), "submatrix get");
+                inner.set(0, 0, -5); //a view writes through to the matrix it came from
+                check.equal(-5, m.get(1, 1), "set through a view");
+                intMatrix copy = inner.copy();
+                copy.set(0, 0, 9);
+                check.equal(-5, m.get(1, 1), "a copy has its own data");
+                inner.fill(Integer.MIN_VALUE);
+                check.equal(Integer.MIN_VALUE, m.get(3, cols-2), "fill, bottom right of the view");
+                check.equal(matrix[4][cols-1], m.get(4, cols-1), "fill stays inside the view");
+                check.equal(matrix[1][0], m.get(1, 0), "fill stays inside the view, left");
+            }
+        }
+        int data[] = {1, 2, 3, 4, 5, 6};
+        intMatrix w = intMatrix.wrap(data, 2, 3);
+        w.set(1, 2, 60);
+        check.equal(60, data[5], "wrap shares the array");
+        check.equal(new int[][] {{1, 2, 3}, {4, 5, 60}}, w.toArray(), "wrap");
+        check.equal(new int[0][0], intMatrix.of(new int[0][]).toArray(), "0 x 0");
+        check.equal(new int[3][0], new intMatrix(3, 0).toArray(), "3 x 0");
+        check.equal(0, new intMatrix(4, 4).submatrix(4, 4, 0, 0).rows(), "empty view at the far corner");
+    }
+
+    public static void errors() {
+        intMatrix m = new intMatrix(3, 4);
+        check.fails(IndexOutOfBoundsException.class, () -> m.get(3, 0), "row = rows");
+        check.fails(IndexOutOfBoundsException.class, () -> m.get(0, -1), "col = -1");
+        check.fails(IndexOutOfBoundsException.class, () -> m.row(0).get(1, 0), "a row view has one row");
+        check.fails(IndexOutOfBoundsException.class, () -> m.submatrix(1, 1, 3, 1), "submatrix past the bottom");
+        check.fails(IndexOutOfBoundsException.class, () -> m.submatrix(0, 2, 1, 3), "submatrix past the right");
+        check.fails(IllegalArgumentException.class, () -> new intMatrix(-1, 4), "negative rows");
+        check.fails(IllegalArgumentException.class, () -> new intMatrix(1 << 16, 1 << 16), "more cells than an array holds");
+        check.fails(IllegalArgumentException.class, () -> new intMatrix(Integer.MAX_VALUE, 2), "MAX_VALUE rows");
+        check.fails(IllegalArgumentException.class, () -> intMatrix.wrap(new int[5], 2, 3), "wrap with the wrong length");
+        check.fails(IllegalArgumentException.class, () -> intMatrix.of(new int[][] {{1, 2}, {3}}), "ragged rows");
+        check.fails(IllegalArgumentException.class, () -> longMatrix.of(new long[][] {{1}, {}}), "ragged long rows");
+        check.fails(IllegalArgumentException.class, () -> doubleMatrix.wrap(new double[3], 2, 2), "double wrap");
+    }
+
+    public static void otherTypes() {
+        long longs[][] = {{Long.MIN_VALUE, 1, 2}, {3, 4, Long.MAX_VALUE}};
+        longMatrix l = longMatrix.of(longs);
+        check.equal(longs, l.toArray(), "longMatrix toArray");
+        check.equal(Long.MAX_VALUE, l.column(2).get(1, 0), "longMatrix column view");
+        l.row(0).fill(-1);
+        check.equal(new long[][] {{-1, -1, -1}, {3, 4, Long.MAX_VALUE}}, l.toArray(), "longMatrix fill a row");
+        check.equal(new long[600][512], new longMatrix(600, 512).toArray(), "padded longMatrix");
+
+        double doubles[][] = {{0.5, -0.0, Double.NaN}, {Double.MAX_VALUE, Double.MIN_VALUE, 1e-300}};
+        doubleMatrix d = doubleMatrix.of(doubles);
+        check.equal(doubles, d.toArray(), "doubleMatrix toArray"); //deepEquals: NaN equals NaN, -0.0 is not 0.0
+        doubleMatrix c = d.submatrix(0, 1, 2, 2).copy();
+        c.set(0, 0, 7);
+        check.equal(new double[][] {{7, Double.NaN}, {Double.MIN_VALUE, 1e-300}}, c.toArray(), "doubleMatrix copy of a view");
+        check.that(Double.doubleToRawLongBits(d.get(0, 1)) == Double.doubleToRawLongBits(-0.0), "setting the copy left d alone");
+    }
+
+    public static void main(String[] args) {
+        views();
+        errors();
+        otherTypes();
+        System.out.println("intMatrixTest passed");
+    }
+}
@@ -0,0 +1,168 @@
+package bench;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.util.BitSet;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// packedBitSet (on and off the heap) against java.util.BitSet, at the sizes of bitSetBenchmark
+// with the same 10% density. Scores are ns per query.
+// get / set: QUERIES random bits per call. Up to 2^20 bits the set stays in cache and this
+// measures the code path, at 2^26 and 2^30 nearly every bit is a cache miss for all three.
+// rank / select: RANK_QUERIES random positions / set bit numbers per call. BitSet has no rank or
+// select, the closest it offers are get(0, i).cardinality() (a copy and a count of everything
+// below i) and k steps of nextSetBit, so its scores grow with the size. packedBitSet builds its
+// index in @Setup, the calls are O(1).
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Thread)
+public class bitSetBench {
+
+    static final int QUERIES = 1 << 12;
+    static final int RANK_QUERIES = 1 << 6;
+    static final double DENSITY = 0.1;
+
+    static final MethodHandle NEW = dsa.constructor("packedBitSet", MethodType.methodType(void.class, long.class, boolean.class));
+    static final MethodHandle GET = dsa.instanceMethod("packedBitSet", "get", MethodType.methodType(boolean.class, long.class));
+    static final MethodHandle SET = dsa.instanceMethod("packedBitSet", "set", MethodType.methodType(void.class, long.class));
+    static final MethodHandle RANK = dsa.instanceMethod("packedBitSet", "rank", MethodType.methodType(long.class, long.class));
+    static final MethodHandle SELECT = dsa.instanceMethod("packedBitSet", "select", MethodType.methodType(long.class, long.class));
+
+    @Param({"BitSet", "packedBitSet", "packedBitSet.offHeap"})
+    String impl;
+
+    @Param({"65536", "1048576", "67108864", "1073741824"})
+    int size;
+
+    BitSet bitSet;
+    Object packed;
+    int queries[];
+    int positions[]; //for rank, 0..size
+    int setBits[]; //for select, 0..cardinality-1
+
+    @Setup
+    public void setup() throws Throwable {
+        if(impl.equals("BitSet")) {
+            bitSet = new BitSet(size);
+        } else {
+            packed = (Object)NEW.invokeExact((long)size, impl.endsWith("offHeap"));
+        }
+        SplittableRandom r = new SplittableRandom(42);
+        for(long k=(long)(size * DENSITY); k>0; k--) {
+            int i = r.nextInt(size);
+            if(bitSet != null) {
+                bitSet.set(i);
+            } else {
+                SET.invokeExact(packed, (long)i);
+            }
+        }
+        queries = new int[QUERIES];
+        for(int q=0; q<QUERIES; q++) {
+            queries[q] = r.nextInt(size);
+        }
+        long cardinality;
+        if(bitSet != null) {
+            cardinality = bitSet.cardinality();
+        } else {
+            cardinality = (long)RANK.invokeExact(packed, (long)size); //also builds the index
+        }
+        positions = new int[RANK_QUERIES];
+        setBits = new int[RANK_QUERIES];
+        for(int q=0; q<RANK_QUERIES; q++) {
+            positions[q] = r.nextInt(size + 1);
+            setBits[q] = r.nextInt((int)cardinality);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public int get() throws Throwable {
+        int found = 0;
+        if(bitSet != null) {
+            for(int i : queries) {
+                if(bitSet.get(i)) {
+                    found++;
+                }
+            }
+        } else {
+            Object p = packed;
+            for(int i : queries) {
+                if((boolean)GET.invokeExact(p, (long)i)) {
+                    found++;
+                }
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public Object set() throws Throwable {
+        if(bitSet != null) {
+            for(int i : queries) {
+                bitSet.set(i);
+            }
+            return bitSet;
+        }
+        Object p = packed;
+        for(int i : queries) {
+            SET.invokeExact(p, (long)i);
+        }
+        return p;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RANK_QUERIES)
+    public long rank() throws Throwable {
+        long sum = 0;
+        if(bitSet != null) {
+            for(int i : positions) {
+                sum += bitSet.get(0, i).cardinality();
+            }
+        } else {
+            Object p = packed;
+            for(int i : positions) {
+                sum += (long)RANK.invokeExact(p, (long)i);
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RANK_QUERIES)
+    public long select() throws Throwable {
+        long sum = 0;
+        if(bitSet != null) {
+            for(int k : setBits) {
+                int i = bitSet.nextSetBit(0);
+                for(int step=0; step<k; step++) {
+                    i = bitSet.nextSetBit(i + 1);
+                }
+                sum += i;
+            }
+        } else {
+            Object p = packed;
+            for(int k : setBits) {
+                sum += (long)SELECT.invokeExact(p, (long)k);
+            }
+        }
+        return sum;
+    }
+}
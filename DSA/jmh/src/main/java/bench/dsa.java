@@ -0,0 +1,93 @@
+package bench;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+// The DSA classes live in the default package, which a named package can't import, and JMH
+// refuses benchmarks in the default package. So the benchmarks reach them through method
+// handles, kept in static final fields. Everything is in the unnamed module, so privateLookupIn can
+// see package-private members too (the sorting methods).
+final class dsa {
+
+    private dsa() {
+    }
+
+    static MethodHandles.Lookup lookup(String className) {
+        try {
+            return MethodHandles.privateLookupIn(Class.forName(className), MethodHandles.lookup());
+        } catch(ReflectiveOperationException e) {
+            throw new IllegalStateException("DSA class "+className+" is not on the classpath", e);
+        }
+    }
+
+    // a DSA class, for the method types of handles that take or return one
+    static Class<?> type(String className) {
+        return lookup(className).lookupClass();
+    }
+
+    static MethodHandle staticMethod(String className, String name, MethodType type) {
+        MethodHandles.Lookup l = lookup(className);
+        try {
+            return l.findStatic(l.lookupClass(), name, type);
+        } catch(ReflectiveOperationException e) {
+            throw new IllegalStateException(className+"."+name+type+" not found", e);
+        }
+    }
+
+    // an instance method as a handle whose receiver is typed Object, since the benchmarks can't
+    // name the DSA class. Kept in a static final field the JIT treats the handle as a constant and
+    // inlines the call like a direct one.
+    static MethodHandle instanceMethod(String className, String name, MethodType type) {
+        MethodHandles.Lookup l = lookup(className);
+        try {
+            MethodHandle m = l.findVirtual(l.lookupClass(), name, type);
+            return m.asType(m.type().changeParameterType(0, Object.class));
+        } catch(ReflectiveOperationException e) {
+            throw new IllegalStateException(className+"."+name+type+" not found", e);
+        }
+    }
+
+    // a constructor as a handle that returns Object
+    static MethodHandle constructor(String className, MethodType type) {
+        MethodHandles.Lookup l = lookup(className);
+        try {
+            MethodHandle c = l.findConstructor(l.lookupClass(), type);
+            return c.asType(c.type().changeReturnType(Object.class));
+        } catch(ReflectiveOperationException e) {
+            throw new IllegalStateException(className+type+" constructor not found", e);
+        }
+    }
+
+    static final MethodType SORT = MethodType.methodType(void.class, int[].class);
+
+    // the sort as an (int[])void handle. "sorting.x" are the non printing versions of the
+    // sorting methods, so printArray is not measured.
+    static MethodHandle sort(String name) {
+        switch(name) {
+            case "sorting.bubble": return staticMethod("sorting", "bubble", SORT);
+            case "sorting.selection": return staticMethod("sorting", "selection", SORT);
+            case "sorting.insertion": return staticMethod("sorting", "insertion", SORT);
+            case "basic.bubble": return staticMethod("basicSorting", "bubbleSort", SORT);
+            case "basic.selection": return staticMethod("basicSorting", "selectionSort", SORT);
+            case "basic.insertion": return staticMethod("basicSorting", "insertionSort", SORT);
+            case "basic.counting": return staticMethod("basicSorting", "countingSort", SORT);
+            case "basic.inBuilt": return staticMethod("basicSorting", "inBuiltSort", SORT);
+            case "basic.radix": return staticMethod("basicSorting", "radixSort", SORT);
+            default: throw new IllegalArgumentException("Unknown sort: "+name);
+        }
+    }
+
+    // sortBenchmark.generate, so both harnesses sort the same inputs
+    static int[] input(String distribution, int n) {
+        MethodHandle generate = staticMethod("sortBenchmark", "generate",
+                                             MethodType.methodType(int[].class, String.class, int.class, long.class));
+        try {
+            return (int[])generate.invokeExact(distribution, n, 42L);
+        } catch(RuntimeException | Error e) {
+            throw e;
+        } catch(Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package bench;
+
+import java.lang.invoke.MethodHandle;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// The O(n) and O(n log n) sorts of basicSorting next to Arrays.parallelSort, up to n = 10^7.
+// Each call copies the input into a work array first and then sorts it. copyOnly does just the
+// copy, subtract it to get the time of the sort alone.
+// One benchmark per sort, each calling a handle in a static final field, which the JIT inlines.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class fastSortBench {
+
+    static final MethodHandle COUNTING = dsa.sort("basic.counting");
+    static final MethodHandle IN_BUILT = dsa.sort("basic.inBuilt");
+    static final MethodHandle RADIX = dsa.sort("basic.radix");
+
+    @Param({"random", "sorted", "reversed", "nearlySorted", "fewUnique", "sawtooth"})
+    String distribution;
+
+    @Param({"16", "256", "4096", "65536", "1048576", "10000000"})
+    int n;
+
+    int input[];
+    int work[];
+
+    @Setup
+    public void setup() {
+        input = dsa.input(distribution, n);
+        work = new int[n];
+    }
+
+    // a fresh copy of the input to sort
+    int[] copy() {
+        System.arraycopy(input, 0, work, 0, n);
+        return work;
+    }
+
+    @Benchmark
+    public int[] counting() throws Throwable {
+        COUNTING.invokeExact(copy());
+        return work;
+    }
+
+    @Benchmark
+    public int[] inBuilt() throws Throwable {
+        IN_BUILT.invokeExact(copy());
+        return work;
+    }
+
+    @Benchmark
+    public int[] radix() throws Throwable {
+        RADIX.invokeExact(copy());
+        return work;
+    }
+
+    @Benchmark
+    public int[] parallelSort() {
+        Arrays.parallelSort(copy());
+        return work;
+    }
+
+    @Benchmark
+    public int[] copyOnly() {
+        return copy();
+    }
+}
@@ -0,0 +1,148 @@
+package bench;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// The matrices operations on an int[][] against the same operations on an intMatrix (one int[]),
+// up to 4096 x 4096. Scores are us per call.
+// search looks for a key that is not there, so it scans every cell. search and diagonalSum print
+// one line per call, System.out goes nowhere during the trial.
+// columnSum adds up every column, through matrix[i][j] for int[][] and column(j) views for the
+// intMatrix, so it walks down the rows instead of along them.
+// The int[][] rows are allocated one after the other on a fresh heap, about the best case for
+// int[][]; in a long running program its rows end up further apart.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class matrixBench {
+
+    static final Class<?> INT_MATRIX = dsa.type("intMatrix");
+
+    static final MethodHandle OF = dsa.staticMethod("intMatrix", "of", MethodType.methodType(INT_MATRIX, int[][].class))
+                                      .asType(MethodType.methodType(Object.class, int[][].class));
+    static final MethodHandle ROWS = dsa.instanceMethod("intMatrix", "rows", MethodType.methodType(int.class));
+    static final MethodHandle COLS = dsa.instanceMethod("intMatrix", "cols", MethodType.methodType(int.class));
+    static final MethodHandle GET = dsa.instanceMethod("intMatrix", "get", MethodType.methodType(int.class, int.class, int.class));
+    static final MethodHandle COLUMN = dsa.instanceMethod("intMatrix", "column", MethodType.methodType(INT_MATRIX, int.class))
+                                          .asType(MethodType.methodType(Object.class, Object.class, int.class));
+
+    static final MethodHandle SEARCH = matrices("search", MethodType.methodType(boolean.class, int[][].class, int.class));
+    static final MethodHandle SEARCH_FLAT = matrices("search", MethodType.methodType(boolean.class, INT_MATRIX, int.class));
+    static final MethodHandle SPIRAL = matrices("spiralOrder", MethodType.methodType(int[].class, int[][].class));
+    static final MethodHandle SPIRAL_FLAT = matrices("spiralOrder", MethodType.methodType(int[].class, INT_MATRIX));
+    static final MethodHandle DIAGONAL_SUM = matrices("diagonalSum", MethodType.methodType(int.class, int[][].class));
+    static final MethodHandle DIAGONAL_SUM_FLAT = matrices("diagonalSum", MethodType.methodType(int.class, INT_MATRIX));
+
+    // matrices.name, with an intMatrix first parameter typed Object
+    static MethodHandle matrices(String name, MethodType type) {
+        MethodHandle m = dsa.staticMethod("matrices", name, type);
+        return type.parameterType(0) == INT_MATRIX ? m.asType(type.changeParameterType(0, Object.class)) : m;
+    }
+
+    static final PrintStream NOWHERE = new PrintStream(new OutputStream() {
+        public void write(int b) {
+        }
+
+        public void write(byte b[], int off, int len) {
+        }
+    });
+
+    @Param({"int[][]", "intMatrix"})
+    String layout;
+
+    @Param({"512", "4096"})
+    int size;
+
+    int matrix[][];
+    Object flat;
+    PrintStream console;
+
+    @Setup
+    public void setup() throws Throwable {
+        SplittableRandom r = new SplittableRandom(42);
+        matrix = new int[size][size];
+        for(int i=0; i<size; i++) {
+            for(int j=0; j<size; j++) {
+                matrix[i][j] = r.nextInt(1 << 20); //never -1, the key search looks for
+            }
+        }
+        if(layout.equals("intMatrix")) {
+            flat = (Object)OF.invokeExact(matrix);
+            matrix = null;
+        }
+        console = System.out;
+        System.setOut(NOWHERE);
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.setOut(console);
+    }
+
+    @Benchmark
+    public boolean search() throws Throwable {
+        if(flat == null) {
+            return (boolean)SEARCH.invokeExact(matrix, -1);
+        }
+        return (boolean)SEARCH_FLAT.invokeExact(flat, -1);
+    }
+
+    @Benchmark
+    public int[] spiral() throws Throwable {
+        if(flat == null) {
+            return (int[])SPIRAL.invokeExact(matrix);
+        }
+        return (int[])SPIRAL_FLAT.invokeExact(flat);
+    }
+
+    @Benchmark
+    public int diagonalSum() throws Throwable {
+        if(flat == null) {
+            return (int)DIAGONAL_SUM.invokeExact(matrix);
+        }
+        return (int)DIAGONAL_SUM_FLAT.invokeExact(flat);
+    }
+
+    @Benchmark
+    public long columnSum() throws Throwable {
+        long sum = 0;
+        if(flat == null) {
+            int m[][] = matrix;
+            for(int j=0; j<m[0].length; j++) {
+                for(int i=0; i<m.length; i++) {
+                    sum += m[i][j];
+                }
+            }
+            return sum;
+        }
+        int cols = (int)COLS.invokeExact(flat);
+        for(int j=0; j<cols; j++) {
+            Object column = (Object)COLUMN.invokeExact(flat, j);
+            int rows = (int)ROWS.invokeExact(column);
+            for(int i=0; i<rows; i++) {
+                sum += (int)GET.invokeExact(column, i, 0);
+            }
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,93 @@
+package bench;
+
+import java.lang.invoke.MethodHandle;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// The O(n^2) sorts of sorting and basicSorting, up to n = 16384 (sortBenchmark.QUADRATIC_MAX_N).
+// Each call copies the input into a work array first and then sorts it; the copy is O(n)
+// next to the O(n^2) sort, fastSortBench measures it on its own as copyOnly.
+// One benchmark per sort, each calling a handle in a static final field, which the JIT inlines.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class quadraticSortBench {
+
+    static final MethodHandle SORTING_BUBBLE = dsa.sort("sorting.bubble");
+    static final MethodHandle SORTING_SELECTION = dsa.sort("sorting.selection");
+    static final MethodHandle SORTING_INSERTION = dsa.sort("sorting.insertion");
+    static final MethodHandle BASIC_BUBBLE = dsa.sort("basic.bubble");
+    static final MethodHandle BASIC_SELECTION = dsa.sort("basic.selection");
+    static final MethodHandle BASIC_INSERTION = dsa.sort("basic.insertion");
+
+    @Param({"random", "sorted", "reversed", "nearlySorted", "fewUnique", "sawtooth"})
+    String distribution;
+
+    @Param({"16", "256", "4096", "16384"})
+    int n;
+
+    int input[];
+    int work[];
+
+    @Setup
+    public void setup() {
+        input = dsa.input(distribution, n);
+        work = new int[n];
+    }
+
+    // a fresh copy of the input to sort
+    int[] copy() {
+        System.arraycopy(input, 0, work, 0, n);
+        return work;
+    }
+
+    @Benchmark
+    public int[] sortingBubble() throws Throwable {
+        SORTING_BUBBLE.invokeExact(copy());
+        return work;
+    }
+
+    @Benchmark
+    public int[] sortingSelection() throws Throwable {
+        SORTING_SELECTION.invokeExact(copy());
+        return work;
+    }
+
+    @Benchmark
+    public int[] sortingInsertion() throws Throwable {
+        SORTING_INSERTION.invokeExact(copy());
+        return work;
+    }
+
+    @Benchmark
+    public int[] basicBubble() throws Throwable {
+        BASIC_BUBBLE.invokeExact(copy());
+        return work;
+    }
+
+    @Benchmark
+    public int[] basicSelection() throws Throwable {
+        BASIC_SELECTION.invokeExact(copy());
+        return work;
+    }
+
+    @Benchmark
+    public int[] basicInsertion() throws Throwable {
+        BASIC_INSERTION.invokeExact(copy());
+        return work;
+    }
+}
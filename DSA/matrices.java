@@ -0,0 +1,293 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntBinaryOperator;
+
+// The Darray matrix operations for both layouts, int[][] and intMatrix (one int[], see intMatrix.java),
+// in a public class of their own so other files (the tests, jmh/matrixBench) can call them.
+// 2Darray.java only holds the auxiliary class Darray, which javac does not look up by file name.
+public class matrices {
+
+    static final int PARALLEL_THRESHOLD = 1 << 16; //cells a parallelSearch task scans on its own
+
+    public static boolean search(int matrix[][], int key) {
+        for(int i=0; i<matrix.length; i++) {
+            for(int j=0; j<matrix[0].length; j++) {
+                if(matrix[i][j] == key) {
+                    System.out.println("Found at cell ("+i+","+j+")");
+                    return true;
+                }
+            }
+        }
+        System.out.println("Element not found");
+        return false;
+    }
+
+    // same as search(int[][]), every row is one stretch of matrix.data
+    public static boolean search(intMatrix matrix, int key) {
+        int data[] = matrix.data;
+        for(int i=0; i<matrix.rows; i++) {
+            int start = matrix.offset + i * matrix.stride;
+            for(int j=0; j<matrix.cols; j++) {
+                if(data[start + j] == key) {
+                    System.out.println("Found at cell ("+i+","+j+")");
+                    return true;
+                }
+            }
+        }
+        System.out.println("Element not found");
+        return false;
+    }
+
+    // The searches below return {row, col} of a cell holding key, or null when there is none.
+
+    // For a matrix sorted along every row and down every column. Start at the top right cell:
+    // bigger than key -> nothing below it in this column is smaller, drop the column;
+    // smaller than key -> nothing left of it in this row is bigger, drop the row. O(rows+cols)
+    public static int[] staircaseSearch(int matrix[][], int key) {
+        int i = 0, j = matrix.length == 0 ? -1 : matrix[0].length-1;
+        while(i < matrix.length && j >= 0) {
+            int cell = matrix[i][j];
+            if(cell == key) {
+                return new int[] {i, j};
+            } else if(cell > key) {
+                j--;
+            } else {
+                i++;
+            }
+        }
+        return null;
+    }
+
+    public static int[] staircaseSearch(intMatrix matrix, int key) {
+        int data[] = matrix.data;
+        int i = 0, j = matrix.cols-1;
+        while(i < matrix.rows && j >= 0) {
+            int cell = data[matrix.offset + i * matrix.stride + j];
+            if(cell == key) {
+                return new int[] {i, j};
+            } else if(cell > key) {
+                j--;
+            } else {
+                i++;
+            }
+        }
+        return null;
+    }
+
+    // For a matrix whose rows are each sorted (the columns need not be): binary search in every
+    // row that can hold key. O(rows * log cols)
+    public static int[] rowBinarySearch(int matrix[][], int key) {
+        for(int i=0; i<matrix.length; i++) {
+            int row[] = matrix[i];
+            if(row.length == 0 || key < row[0] || key > row[row.length-1]) {
+                continue;
+            }
+            int j = arrays.binarySearch(row, key);
+            if(j >= 0) {
+                return new int[] {i, j};
+            }
+        }
+        return null;
+    }
+
+    public static int[] rowBinarySearch(intMatrix matrix, int key) {
+        int data[] = matrix.data;
+        for(int i=0; i<matrix.rows; i++) {
+            int start = matrix.offset + i * matrix.stride;
+            if(matrix.cols == 0 || key < data[start] || key > data[start + matrix.cols-1]) {
+                continue;
+            }
+            int j = arrays.binarySearch(data, start, matrix.cols, key);
+            if(j >= 0) {
+                return new int[] {i, j - start};
+            }
+        }
+        return null;
+    }
+
+    // For any matrix: the rows are split between fork-join tasks. The first match in
+    // row-major order wins, so once a task finds key in row r the others stop scanning
+    // rows after r.
+    public static int[] parallelSearch(int matrix[][], int key) {
+        int cols = matrix.length == 0 ? 0 : matrix[0].length;
+        return parallelSearch(matrix.length, cols, key, (i, k) -> indexOf(matrix[i], 0, matrix[i].length, k));
+    }
+
+    public static int[] parallelSearch(intMatrix matrix, int key) {
+        return parallelSearch(matrix.rows, matrix.cols, key,
+                              (i, k) -> indexOf(matrix.data, matrix.offset + i * matrix.stride, matrix.cols, k));
+    }
+
+    // rowFind(i, key) = column of key in row i, or -1
+    static int[] parallelSearch(int rows, int cols, int key, IntBinaryOperator rowFind) {
+        searchTask task = new searchTask(rowFind, key, 0, rows, Math.max(1, cols), new AtomicInteger(Integer.MAX_VALUE));
+        if((long)rows * cols <= PARALLEL_THRESHOLD) {
+            return task.compute(); //nothing to split, skip the pool
+        }
+        return ForkJoinPool.commonPool().invoke(task);
+    }
+
+    // linear scan of data[start .. start+length), returns the index from start or -1
+    static int indexOf(int data[], int start, int length, int key) {
+        for(int j=0; j<length; j++) {
+            if(data[start + j] == key) {
+                return j;
+            }
+        }
+        return -1;
+    }
+
+    static class searchTask extends RecursiveTask<int[]> {
+        private static final long serialVersionUID = 1L;
+
+        final IntBinaryOperator rowFind;
+        final int key;
+        final int from, to; //rows
+        final int cols;
+        final AtomicInteger firstRow; //smallest row a match was found in so far
+
+        searchTask(IntBinaryOperator rowFind, int key, int from, int to, int cols, AtomicInteger firstRow) {
+            this.rowFind = rowFind;
+            this.key = key;
+            this.from = from;
+            this.to = to;
+            this.cols = cols;
+            this.firstRow = firstRow;
+        }
+
+        @Override
+        protected int[] compute() {
+            if(from >= firstRow.get()) {
+                return null; //an earlier row already has key
+            }
+            if(to - from == 1 || (long)(to - from) * cols <= PARALLEL_THRESHOLD) {
+                for(int i=from; i<to && i<firstRow.get(); i++) {
+                    int j = rowFind.applyAsInt(i, key);
+                    if(j >= 0) {
+                        firstRow.accumulateAndGet(i, Math::min);
+                        return new int[] {i, j};
+                    }
+                }
+                return null;
+            }
+            int mid = (from + to) >>> 1;
+            searchTask right = new searchTask(rowFind, key, mid, to, cols, firstRow);
+            right.fork();
+            int left[] = new searchTask(rowFind, key, from, mid, cols, firstRow).compute();
+            if(left != null) {
+                if(!right.tryUnfork()) {
+                    right.join(); //already running, its rows come after ours so it stops soon
+                }
+                return left;
+            }
+            return right.join();
+        }
+    }
+
+    // the cells in the order printSpiral prints them
+    public static int[] spiralOrder(int matrix[][]) {
+        int rows = matrix.length, cols = rows == 0 ? 0 : matrix[0].length;
+        int order[] = new int[rows * cols];
+        int k = 0;
+        int startRow = 0, startCol = 0, endRow = rows-1, endCol = cols-1;
+        while(startRow <= endRow && startCol <= endCol) {
+            for(int j=startCol; j<=endCol; j++) {
+                order[k++] = matrix[startRow][j];
+            }
+            for(int i=startRow+1; i<=endRow; i++) {
+                order[k++] = matrix[i][endCol];
+            }
+            if(startRow < endRow) {
+                for(int j=endCol-1; j>=startCol; j--) {
+                    order[k++] = matrix[endRow][j];
+                }
+            }
+            if(startCol < endCol) {
+                for(int i=endRow-1; i>=startRow+1; i--) {
+                    order[k++] = matrix[i][startCol];
+                }
+            }
+            startRow++;
+            startCol++;
+            endRow--;
+            endCol--;
+        }
+        return order;
+    }
+
+    // spiralOrder on the flat layout: along a row the index goes +-1, along a column +-stride
+    public static int[] spiralOrder(intMatrix matrix) {
+        int data[] = matrix.data;
+        int stride = matrix.stride;
+        int order[] = new int[matrix.rows * matrix.cols];
+        int k = 0;
+        int startRow = 0, startCol = 0, endRow = matrix.rows-1, endCol = matrix.cols-1;
+        while(startRow <= endRow && startCol <= endCol) {
+            int topLeft = matrix.offset + startRow * stride + startCol;
+            int topRight = topLeft + (endCol - startCol);
+            int bottomRight = topRight + (endRow - startRow) * stride;
+            int bottomLeft = bottomRight - (endCol - startCol);
+            for(int p=topLeft; p<=topRight; p++) {
+                order[k++] = data[p];
+            }
+            for(int p=topRight+stride; p<=bottomRight; p+=stride) {
+                order[k++] = data[p];
+            }
+            if(startRow < endRow) {
+                for(int p=bottomRight-1; p>=bottomLeft; p--) {
+                    order[k++] = data[p];
+                }
+            }
+            if(startCol < endCol) {
+                for(int p=bottomLeft-stride; p>topLeft; p-=stride) {
+                    order[k++] = data[p];
+                }
+            }
+            startRow++;
+            startCol++;
+            endRow--;
+            endCol--;
+        }
+        return order;
+    }
+
+    public static void printSpiral(intMatrix matrix) {
+        int order[] = spiralOrder(matrix);
+        fastOutput.out.printArray(order, 0, order.length, ' ').println().flush();
+    }
+
+    public static int diagonalSum(int matrix[][]) {
+        int sum = 0;
+        for(int i=0; i<matrix.length; i++) {
+            //pd
+            sum += matrix[i][i];
+            //sd
+            if(i != matrix.length-1-i) {
+                sum += matrix[i][matrix.length-1-i];
+            }
+        }
+        System.out.println("Sum of diagonal elements is: "+sum);
+        return sum;
+   }
+
+    // cell (i, i) is i * (stride+1) after the offset, (i, n-1-i) is i * (stride-1) after (0, n-1)
+    public static int diagonalSum(intMatrix matrix) {
+        int n = matrix.rows;
+        if(matrix.cols != n) {
+            throw new IllegalArgumentException("Diagonals need a square matrix, not "+n+" x "+matrix.cols);
+        }
+        int data[] = matrix.data;
+        int sum = 0;
+        for(int i=0; i<n; i++) {
+            //pd
+            sum += data[matrix.offset + i * (matrix.stride + 1)];
+            //sd
+            if(i != n-1-i) {
+                sum += data[matrix.offset + (n-1) + i * (matrix.stride - 1)];
+            }
+        }
+        System.out.println("Sum of diagonal elements is: "+sum);
+        return sum;
+    }
+}
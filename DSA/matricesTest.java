@@ -0,0 +1,217 @@
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.Random;
+
+// matrices on int[][] and on intMatrix (whole matrices, views, padded strides) against
+// each other and simple reference loops, see check.java
+public class matricesTest {
+
+    // search and diagonalSum print, their output is kept here instead of on the console
+    static final ByteArrayOutputStream printed = new ByteArrayOutputStream();
+
+    static int[][] random(int rows, int cols, int bound, Random r) {
+        int matrix[][] = new int[rows][cols];
+        for(int i=0; i<rows; i++) {
+            for(int j=0; j<cols; j++) {
+                matrix[i][j] = r.nextInt(bound);
+            }
+        }
+        return matrix;
+    }
+
+    // walks right, down, left, up and turns at the edge or at a visited cell
+    static int[] spiral(int matrix[][]) {
+        int rows = matrix.length, cols = rows == 0 ? 0 : matrix[0].length;
+        int order[] = new int[rows * cols];
+        boolean seen[][] = new boolean[rows][cols];
+        int di[] = {0, 1, 0, -1}, dj[] = {1, 0, -1, 0};
+        int i = 0, j = 0, d = 0;
+        for(int k=0; k<order.length; k++) {
+            order[k] = matrix[i][j];
+            seen[i][j] = true;
+            int ni = i + di[d], nj = j + dj[d];
+            if(ni < 0 || ni >= rows || nj < 0 || nj >= cols || seen[ni][nj]) {
+                d = (d + 1) % 4;
+                ni = i + di[d];
+                nj = j + dj[d];
+            }
+            i = ni;
+            j = nj;
+        }
+        return order;
+    }
+
+    static boolean contains(int matrix[][], int key) {
+        for(int row[] : matrix) {
+            for(int cell : row) {
+                if(cell == key) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    static void same(int matrix[][], intMatrix flat, String what) {
+        int expected[] = spiral(matrix);
+        check.equal(expected, matrices.spiralOrder(matrix), what+" spiralOrder int[][]");
+        check.equal(expected, matrices.spiralOrder(flat), what+" spiralOrder intMatrix");
+        for(int key : new int[] {matrix.length == 0 || matrix[0].length == 0 ? 0 : matrix[matrix.length-1][0], 3, -1}) {
+            boolean found = contains(matrix, key);
+            check.that(matrices.search(matrix, key) == found, what+" search int[][] "+key);
+            check.that(matrices.search(flat, key) == found, what+" search intMatrix "+key);
+        }
+        if(matrix.length > 0 && matrix.length == matrix[0].length) {
+            int n = matrix.length, sum = 0;
+            for(int i=0; i<n; i++) {
+                sum += matrix[i][i] + (i == n-1-i ? 0 : matrix[i][n-1-i]);
+            }
+            check.equal(sum, matrices.diagonalSum(matrix), what+" diagonalSum int[][]");
+            check.equal(sum, matrices.diagonalSum(flat), what+" diagonalSum intMatrix");
+        }
+    }
+
+    public static void shapes() {
+        Random r = new Random(13);
+        int shapes[][] = {{1, 1}, {1, 5}, {5, 1}, {2, 2}, {3, 3}, {4, 4}, {3, 7}, {7, 3}, {6, 6}, {9, 512}, {520, 520}};
+        for(int shape[] : shapes) {
+            int matrix[][] = random(shape[0], shape[1], 10, r);
+            intMatrix flat = intMatrix.of(matrix);
+            same(matrix, flat, shape[0]+" x "+shape[1]);
+            if(shape[0] > 2 && shape[1] > 2) {
+                //a view in the middle: offset and stride are not those of a fresh matrix
+                intMatrix view = flat.submatrix(1, 1, shape[0]-2, shape[1]-2);
+                same(view.toArray(), view, shape[0]+" x "+shape[1]+" inner view");
+                intMatrix square = flat.submatrix(1, 1, Math.min(shape[0], shape[1])-2, Math.min(shape[0], shape[1])-2);
+                same(square.toArray(), square, shape[0]+" x "+shape[1]+" square view");
+            }
+        }
+        int extremes[][] = {{Integer.MAX_VALUE, 1, Integer.MAX_VALUE}, {0, Integer.MIN_VALUE, 0}, {Integer.MAX_VALUE, 0, -1}};
+        same(extremes, intMatrix.of(extremes), "MIN / MAX cells, the diagonal sum wraps like int +");
+        same(new int[0][0], intMatrix.of(new int[0][0]), "0 x 0");
+        same(new int[3][0], new intMatrix(3, 0), "3 x 0");
+        check.fails(IllegalArgumentException.class, () -> matrices.diagonalSum(new intMatrix(2, 3)), "diagonals of a 2 x 3");
+    }
+
+    // first {row, col} holding key in row-major order, null if there is none
+    static int[] first(int matrix[][], int key) {
+        for(int i=0; i<matrix.length; i++) {
+            for(int j=0; j<matrix[i].length; j++) {
+                if(matrix[i][j] == key) {
+                    return new int[] {i, j};
+                }
+            }
+        }
+        return null;
+    }
+
+    // staircase and rowBinarySearch may return any cell holding key
+    static void holds(int matrix[][], int key, int found[], String what) {
+        if(first(matrix, key) == null) {
+            check.equal(null, found, what);
+        } else {
+            check.that(found != null && matrix[found[0]][found[1]] == key, what+" found "+check.show(found));
+        }
+    }
+
+    static int[] keys(int matrix[][], Random r) {
+        int keys[] = new int[32];
+        keys[0] = Integer.MIN_VALUE;
+        keys[1] = Integer.MAX_VALUE;
+        for(int k=2; k<keys.length; k++) {
+            int row[] = matrix[r.nextInt(matrix.length)];
+            keys[k] = row.length == 0 ? k : row[r.nextInt(row.length)] + (k % 3) - 1;
+        }
+        return keys;
+    }
+
+    // rows and columns sorted: every cell is at least the ones above and left of it
+    static int[][] sortedBothWays(int rows, int cols, Random r) {
+        int matrix[][] = new int[rows][cols];
+        for(int i=0; i<rows; i++) {
+            for(int j=0; j<cols; j++) {
+                int above = i == 0 ? -50 : matrix[i-1][j], left = j == 0 ? -50 : matrix[i][j-1];
+                matrix[i][j] = Math.max(above, left) + r.nextInt(3);
+            }
+        }
+        return matrix;
+    }
+
+    public static void searches() {
+        Random r = new Random(17);
+        int shapes[][] = {{1, 1}, {1, 9}, {9, 1}, {5, 5}, {8, 13}, {40, 40}};
+        for(int shape[] : shapes) {
+            String what = shape[0]+" x "+shape[1];
+            int sorted[][] = sortedBothWays(shape[0] + 2, shape[1] + 2, r);
+            //the inner block of a bigger matrix, so the searches see an offset and a stride
+            intMatrix view = intMatrix.of(sorted).submatrix(1, 1, shape[0], shape[1]);
+            int inner[][] = view.toArray();
+            int rowsOnly[][] = new int[shape[0]][];
+            for(int i=0; i<shape[0]; i++) {
+                rowsOnly[i] = sortedBothWays(1, shape[1], r)[0]; //every row sorted on its own
+            }
+            intMatrix rowsOnlyFlat = intMatrix.of(rowsOnly);
+            for(int key : keys(inner, r)) {
+                holds(inner, key, matrices.staircaseSearch(inner, key), what+" staircase int[][] "+key);
+                holds(inner, key, matrices.staircaseSearch(view, key), what+" staircase view "+key);
+                holds(inner, key, matrices.rowBinarySearch(inner, key), what+" rowBinarySearch int[][] "+key);
+                holds(inner, key, matrices.rowBinarySearch(view, key), what+" rowBinarySearch view "+key);
+                holds(rowsOnly, key, matrices.rowBinarySearch(rowsOnly, key), what+" rowBinarySearch, rows sorted "+key);
+                holds(rowsOnly, key, matrices.rowBinarySearch(rowsOnlyFlat, key), what+" rowBinarySearch flat, rows sorted "+key);
+                check.equal(first(inner, key), matrices.parallelSearch(inner, key), what+" parallelSearch int[][] "+key);
+                check.equal(first(inner, key), matrices.parallelSearch(view, key), what+" parallelSearch view "+key);
+            }
+        }
+        for(int empty[][] : new int[][][] {new int[0][0], new int[3][0]}) {
+            intMatrix flat = intMatrix.of(empty);
+            check.equal(null, matrices.staircaseSearch(empty, 0), "staircase, no cells");
+            check.equal(null, matrices.staircaseSearch(flat, 0), "staircase flat, no cells");
+            check.equal(null, matrices.rowBinarySearch(empty, 0), "rowBinarySearch, no cells");
+            check.equal(null, matrices.rowBinarySearch(flat, 0), "rowBinarySearch flat, no cells");
+            check.equal(null, matrices.parallelSearch(empty, 0), "parallelSearch, no cells");
+            check.equal(null, matrices.parallelSearch(flat, 0), "parallelSearch flat, no cells");
+        }
+    }
+
+    public static void parallel() {
+        //above PARALLEL_THRESHOLD cells, so the rows are split between tasks
+        Random r = new Random(19);
+        int n = 700;
+        int matrix[][] = random(n, n, 1 << 20, r);
+        intMatrix flat = intMatrix.of(matrix);
+        check.equal(null, matrices.parallelSearch(matrix, -1), "parallelSearch, key not there");
+        int places[][] = {{n-1, n-1}, {400, 3}, {350, 600}, {351, 0}, {0, 699}};
+        for(int p[] : places) {
+            matrix[p[0]][p[1]] = -7;
+            flat.set(p[0], p[1], -7);
+            int expected[] = first(matrix, -7);
+            check.equal(expected, matrices.parallelSearch(matrix, -7), "parallelSearch, first of the planted keys");
+            check.equal(expected, matrices.parallelSearch(flat, -7), "parallelSearch flat, first of the planted keys");
+        }
+    }
+
+    public static void rowRanges() {
+        int arr[] = {9, 1, 3, 5, 7, 0};
+        check.equal(3, arrays.binarySearch(arr, 1, 4, 5), "binarySearch in arr[1..5), index in arr");
+        check.equal(-1, arrays.binarySearch(arr, 1, 4, 9), "binarySearch does not look before from");
+        check.equal(-1, arrays.binarySearch(arr, 1, 4, 0), "binarySearch does not look past from+length");
+        check.equal(-1, arrays.binarySearch(arr, 6, 0, 0), "binarySearch in an empty range at the end");
+        check.equal(4, arrays.binarySearch(new int[] {1, 3, 5, 7, 9}, 9), "binarySearch over the whole array");
+        check.fails(IndexOutOfBoundsException.class, () -> arrays.binarySearch(arr, 4, 3, 0), "range past the end");
+        check.fails(IndexOutOfBoundsException.class, () -> arrays.binarySearch(arr, -1, 2, 0), "negative from");
+    }
+
+    public static void main(String[] args) {
+        PrintStream console = System.out;
+        System.setOut(new PrintStream(printed));
+        try {
+            shapes();
+            searches();
+            parallel();
+            rowRanges();
+        } finally {
+            System.setOut(console);
+        }
+        System.out.println("matricesTest passed");
+    }
+}
@@ -0,0 +1,206 @@
+// A^n for a square matrix, and with it the n-th term of any linear recurrence
+//     a(n) = c1*a(n-1) + c2*a(n-2) + ... + ck*a(n-k)
+// in O(k^3 log n) instead of O(k*n).
+//
+// Same square and multiply as fastPower, only with matrices. The matrix is kept in one
+// flat long[] (row i, column j at i*k + j) and the engine owns three of them (result, base,
+// scratch) that are swapped around, so the squaring loop does not allocate anything.
+// Entries are taken mod m when m > 0; with m = 0 the exact values are computed and an
+// ArithmeticException is thrown if one overflows a long.
+// For m above 2^31 a product of two entries does not fit in a long. An odd m keeps the entries
+// in Montgomery form (numberTheory.montgomery) while multiplying, an even m goes through
+// fastPower.mulMod.
+// Inputs can be long[][], int[][] (the matrices used in Darray), longMatrix or intMatrix.
+public class matrixPower {
+
+    final int k;
+    final long m;
+    final numberTheory.montgomery mg; //only for an odd m above 2^31
+    long result[], base[], scratch[];
+
+    public matrixPower(int k, long m) {
+        if(k < 1) {
+            throw new IllegalArgumentException("Matrix size must be positive: "+k);
+        }
+        if(m < 0) {
+            throw new IllegalArgumentException("Modulus must not be negative: "+m);
+        }
+        this.k = k;
+        this.m = m;
+        this.mg = m > (1L << 31) && (m & 1) == 1 ? new numberTheory.montgomery(m) : null;
+        result = new long[k*k];
+        base = new long[k*k];
+        scratch = new long[k*k];
+    }
+
+    // out = x * y, out must not be x or y
+    void multiply(long x[], long y[], long out[]) {
+        java.util.Arrays.fill(out, 0);
+        //i-p-j order: the inner loop runs along rows of y and out, one after another in memory
+        for(int i=0; i<k; i++) {
+            int row = i*k;
+            for(int p=0; p<k; p++) {
+                long xip = x[row + p];
+                if(xip == 0) {
+                    continue;
+                }
+                int prow = p*k;
+                for(int j=0; j<k; j++) {
+                    out[row + j] = combine(out[row + j], xip, y[prow + j]);
+                }
+            }
+        }
+    }
+
+    // acc + a*b, mod m or exact. With mg the entries are in Montgomery form.
+    long combine(long acc, long a, long b) {
+        if(m == 0) {
+            return Math.addExact(acc, Math.multiplyExact(a, b));
+        }
+        if(m <= (1L << 31)) {
+            return (acc + a * b % m) % m;
+        }
+        if(mg != null) {
+            return mg.add(acc, mg.mul(a, b));
+        }
+        long s = acc - (m - fastPower.mulMod(a, b, m));
+        return s < 0 ? s + m : s;
+    }
+
+    // the same for plain entries (pow() hands its result back out of Montgomery form)
+    long combinePlain(long acc, long a, long b) {
+        return mg == null ? combine(acc, a, b) : combine(acc, a, mg.toMont(b)); //a * (b*2^64) * 2^-64 = a*b
+    }
+
+    // a^n into a new k*k array, a is flat row major
+    public long[] pow(long a[], long n) {
+        if(n < 0) {
+            throw new IllegalArgumentException("Exponent must not be negative: "+n);
+        }
+        if(a.length != k*k) {
+            throw new IllegalArgumentException("Expected "+k+"x"+k+" entries, got "+a.length);
+        }
+        java.util.Arrays.fill(result, 0);
+        for(int i=0; i<k; i++) {
+            result[i*k + i] = m == 1 ? 0 : mg != null ? mg.one : 1;
+        }
+        for(int i=0; i<a.length; i++) {
+            base[i] = m == 0 ? a[i] : Math.floorMod(a[i], m);
+            if(mg != null) {
+                base[i] = mg.toMont(base[i]);
+            }
+        }
+        while(n > 0) {
+            if((n & 1) == 1) {
+                multiply(result, base, scratch);
+                long t[] = result;
+                result = scratch;
+                scratch = t;
+            }
+            n >>= 1;
+            if(n > 0) {
+                multiply(base, base, scratch);
+                long t[] = base;
+                base = scratch;
+                scratch = t;
+            }
+        }
+        long out[] = result.clone();
+        if(mg != null) {
+            for(int i=0; i<out.length; i++) {
+                out[i] = mg.fromMont(out[i]);
+            }
+        }
+        return out;
+    }
+
+    public static long[][] pow(long matrix[][], long n, long m) {
+        int k = matrix.length;
+        long flat[] = new long[k*k];
+        for(int i=0; i<k; i++) {
+            if(matrix[i].length != k) {
+                throw new IllegalArgumentException("Matrix is not square");
+            }
+            System.arraycopy(matrix[i], 0, flat, i*k, k);
+        }
+        long p[] = new matrixPower(k, m).pow(flat, n);
+        long out[][] = new long[k][k];
+        for(int i=0; i<k; i++) {
+            System.arraycopy(p, i*k, out[i], 0, k);
+        }
+        return out;
+    }
+
+    // same for the int[][] matrices of Darray
+    public static long[][] pow(int matrix[][], long n, long m) {
+        return pow(intMatrix.of(matrix), n, m).toArray();
+    }
+
+    public static longMatrix pow(longMatrix matrix, long n, long m) {
+        int k = squareSize(matrix.rows(), matrix.cols());
+        long flat[] = new long[k*k];
+        for(int i=0; i<k; i++) {
+            System.arraycopy(matrix.data, matrix.offset + i*matrix.stride, flat, i*k, k);
+        }
+        return longMatrix.wrap(new matrixPower(k, m).pow(flat, n), k, k);
+    }
+
+    public static longMatrix pow(intMatrix matrix, long n, long m) {
+        int k = squareSize(matrix.rows(), matrix.cols());
+        long flat[] = new long[k*k];
+        for(int i=0; i<k; i++) {
+            int from = matrix.offset + i*matrix.stride;
+            for(int j=0; j<k; j++) {
+                flat[i*k + j] = matrix.data[from + j];
+            }
+        }
+        return longMatrix.wrap(new matrixPower(k, m).pow(flat, n), k, k);
+    }
+
+    static int squareSize(int rows, int cols) {
+        if(rows != cols) {
+            throw new IllegalArgumentException("Matrix is not square: "+rows+"x"+cols);
+        }
+        return rows;
+    }
+
+    // a(n) for a(i) = coeffs[0]*a(i-1) + ... + coeffs[k-1]*a(i-k), with a(0..k-1) = initial
+    public static long nthTerm(long coeffs[], long initial[], long n, long m) {
+        int k = coeffs.length;
+        if(initial.length != k) {
+            throw new IllegalArgumentException("Need "+k+" initial terms, got "+initial.length);
+        }
+        if(n < k) {
+            return m == 0 ? initial[(int)n] : Math.floorMod(initial[(int)n], m);
+        }
+        //companion matrix: first row holds the coefficients, below it a shifted identity,
+        //so it maps (a(i-1), ..., a(i-k)) to (a(i), ..., a(i-k+1))
+        long c[] = new long[k*k];
+        System.arraycopy(coeffs, 0, c, 0, k);
+        for(int i=1; i<k; i++) {
+            c[i*k + i-1] = 1;
+        }
+        matrixPower engine = new matrixPower(k, m);
+        long p[] = engine.pow(c, n - k + 1);
+        //first row of C^(n-k+1) times the state (a(k-1), ..., a(0))
+        long term = 0;
+        for(int j=0; j<k; j++) {
+            long v = m == 0 ? initial[k-1-j] : Math.floorMod(initial[k-1-j], m);
+            term = engine.combinePlain(term, p[j], v);
+        }
+        return term;
+    }
+
+    public static void main(String[] args) {
+        int fib[][] = {
+            {1, 1},
+            {1, 0}
+        };
+        long f[][] = pow(fib, 90, 0);
+        System.out.println("F(90) = "+f[0][1]);
+
+        //tribonacci: T(n) = T(n-1) + T(n-2) + T(n-3), T(0..2) = 0, 0, 1
+        System.out.println("T(10^18) mod 1e9+7 = "+nthTerm(new long[]{1, 1, 1}, new long[]{0, 0, 1},
+                                                         1_000_000_000_000_000_000L, 1_000_000_007));
+    }
+}
@@ -0,0 +1,170 @@
+import java.math.BigInteger;
+import java.util.Random;
+
+// matrixPower against multiplying BigInteger matrices n times, see check.java
+public class matrixPowerTest {
+
+    static BigInteger[][] multiply(BigInteger x[][], BigInteger y[][], BigInteger m) {
+        int k = x.length;
+        BigInteger out[][] = new BigInteger[k][k];
+        for(int i=0; i<k; i++) {
+            for(int j=0; j<k; j++) {
+                BigInteger sum = BigInteger.ZERO;
+                for(int p=0; p<k; p++) {
+                    sum = sum.add(x[i][p].multiply(y[p][j]));
+                }
+                out[i][j] = m.signum() == 0 ? sum : sum.mod(m);
+            }
+        }
+        return out;
+    }
+
+    // a^n by plain repeated multiplication, null if an entry leaves the long range (m = 0)
+    static long[][] slowPow(long a[][], int n, long m) {
+        int k = a.length;
+        BigInteger bm = BigInteger.valueOf(m);
+        BigInteger x[][] = new BigInteger[k][k], result[][] = new BigInteger[k][k];
+        for(int i=0; i<k; i++) {
+            for(int j=0; j<k; j++) {
+                x[i][j] = m == 0 ? BigInteger.valueOf(a[i][j]) : BigInteger.valueOf(a[i][j]).mod(bm);
+                result[i][j] = BigInteger.valueOf(i == j ? 1 : 0);
+                if(m != 0) {
+                    result[i][j] = result[i][j].mod(bm);
+                }
+            }
+        }
+        for(int step=0; step<n; step++) {
+            result = multiply(result, x, bm);
+        }
+        long out[][] = new long[k][k];
+        for(int i=0; i<k; i++) {
+            for(int j=0; j<k; j++) {
+                if(result[i][j].bitLength() > 63) {
+                    return null;
+                }
+                out[i][j] = result[i][j].longValue();
+            }
+        }
+        return out;
+    }
+
+    public static void powers() {
+        Random r = new Random(18);
+        long moduli[] = {1, 2, 7, 1_000_000_007L, 1L << 31, (1L << 31) + 1, (1L << 31) + 2, 1L << 62,
+                         (1L << 61) - 1, Long.MAX_VALUE, Long.MAX_VALUE - 1};
+        for(long m : moduli) {
+            for(int k=1; k<=4; k++) {
+                long a[][] = new long[k][k];
+                for(int i=0; i<k; i++) {
+                    for(int j=0; j<k; j++) {
+                        a[i][j] = (i + j) % 3 == 0 ? Long.MIN_VALUE + r.nextInt(10) : r.nextLong();
+                    }
+                }
+                for(int n=0; n<=20; n++) {
+                    check.equal(slowPow(a, n, m), matrixPower.pow(a, n, m), k+"x"+k+" ^"+n+" mod "+m);
+                }
+            }
+        }
+        //exact: small entries until they overflow
+        long a[][] = {{1, 2}, {3, -4}};
+        for(int n=0; n<=70; n++) {
+            long expected[][] = slowPow(a, n, 0);
+            int nn = n;
+            if(expected != null) {
+                check.equal(expected, matrixPower.pow(a, n, 0), "exact ^"+n);
+            } else {
+                check.fails(ArithmeticException.class, () -> matrixPower.pow(a, nn, 0), "exact ^"+n+" overflows");
+            }
+        }
+    }
+
+    public static void bigExponents() {
+        //Fibonacci matrix: [[1,1],[1,0]]^n = [[F(n+1), F(n)], [F(n), F(n-1)]]
+        long fib[][] = {{1, 1}, {1, 0}};
+        for(long m : new long[] {1_000_000_007L, Long.MAX_VALUE, Long.MAX_VALUE - 1, 1L << 40}) {
+            long n = 1_000_000_000_000_000_000L;
+            BigInteger bm = BigInteger.valueOf(m);
+            long p[][] = matrixPower.pow(fib, n, m);
+            //F(2n) = F(n) * (2 F(n+1) - F(n)) is the check, computed from the same matrix
+            long twice[][] = matrixPower.pow(fib, 2 * n, m);
+            BigInteger fn = BigInteger.valueOf(p[0][1]), fn1 = BigInteger.valueOf(p[0][0]);
+            check.equal(fn.multiply(fn1.shiftLeft(1).subtract(fn)).mod(bm).longValue(), twice[0][1],
+                        "F(2n) mod "+m);
+            check.equal(p[1][0], p[0][1], "symmetric mod "+m);
+        }
+        check.equal(new long[][] {{0, 0}, {0, 0}}, matrixPower.pow(fib, 0, 1), "everything is 0 mod 1");
+        check.equal(new long[][] {{1, 0}, {0, 1}}, matrixPower.pow(fib, 0, Long.MAX_VALUE), "n = 0 is the identity");
+    }
+
+    public static void terms() {
+        long f[] = new long[93];
+        f[1] = 1;
+        for(int i=2; i<f.length; i++) {
+            f[i] = f[i-1] + f[i-2];
+        }
+        for(int n=0; n<f.length; n++) {
+            check.equal(f[n], matrixPower.nthTerm(new long[] {1, 1}, new long[] {0, 1}, n, 0), "F("+n+") exact");
+            check.equal(f[n] % 1_000_000_007L, matrixPower.nthTerm(new long[] {1, 1}, new long[] {0, 1}, n, 1_000_000_007L),
+                        "F("+n+") mod 10^9+7");
+            check.equal(f[n] % Long.MAX_VALUE, matrixPower.nthTerm(new long[] {1, 1}, new long[] {0, 1}, n, Long.MAX_VALUE),
+                        "F("+n+") mod MAX_VALUE");
+            check.equal(f[n] % (1L << 62), matrixPower.nthTerm(new long[] {1, 1}, new long[] {0, 1}, n, 1L << 62),
+                        "F("+n+") mod 2^62");
+        }
+        check.fails(ArithmeticException.class, () -> matrixPower.nthTerm(new long[] {1, 1}, new long[] {0, 1}, 93, 0),
+                    "F(93) does not fit");
+        //a(i) = 2a(i-1) - a(i-3) with negative coefficients and starting terms
+        long a[] = {-5, 3, 1, 0, 0, 0, 0, 0, 0, 0, 0};
+        for(int i=3; i<a.length; i++) {
+            a[i] = 2*a[i-1] - a[i-3];
+        }
+        for(int n=0; n<a.length; n++) {
+            check.equal(Math.floorMod(a[n], 1_000_003L),
+                        matrixPower.nthTerm(new long[] {2, 0, -1}, new long[] {-5, 3, 1}, n, 1_000_003L), "a("+n+")");
+        }
+    }
+
+    public static void overloads() {
+        int a[][] = {{2, -1, 0}, {1, 1, 3}, {0, Integer.MIN_VALUE, Integer.MAX_VALUE}};
+        long asLong[][] = new long[3][3];
+        for(int i=0; i<3; i++) {
+            for(int j=0; j<3; j++) {
+                asLong[i][j] = a[i][j];
+            }
+        }
+        for(long m : new long[] {0, 97, Long.MAX_VALUE, 1L << 62}) {
+            long n = m == 0 ? 1 : 1_000_000_007L;
+            long expected[][] = matrixPower.pow(asLong, n, m);
+            check.equal(expected, matrixPower.pow(a, n, m), "int[][] mod "+m);
+            check.equal(expected, matrixPower.pow(intMatrix.of(a), n, m).toArray(), "intMatrix mod "+m);
+            check.equal(expected, matrixPower.pow(longMatrix.of(asLong), n, m).toArray(), "longMatrix mod "+m);
+        }
+        //a view of the middle of a bigger matrix, its rows are not next to each other
+        longMatrix big = new longMatrix(5, 5);
+        for(int i=0; i<5; i++) {
+            for(int j=0; j<5; j++) {
+                big.set(i, j, 10*i + j);
+            }
+        }
+        long block[][] = {{11, 12}, {21, 22}};
+        check.equal(matrixPower.pow(block, 5, 1000), matrixPower.pow(big.submatrix(1, 1, 2, 2), 5, 1000).toArray(),
+                    "submatrix view");
+
+        check.fails(IllegalArgumentException.class, () -> matrixPower.pow(new int[][] {{1, 2}}, 2, 0), "not square");
+        check.fails(IllegalArgumentException.class, () -> matrixPower.pow(new int[][] {{1, 2}, {3}}, 2, 0), "ragged");
+        check.fails(IllegalArgumentException.class, () -> matrixPower.pow(new long[0][0], 2, 0), "empty");
+        check.fails(IllegalArgumentException.class, () -> matrixPower.pow(new intMatrix(2, 3), 2, 0), "intMatrix 2x3");
+        check.fails(IllegalArgumentException.class, () -> matrixPower.pow(asLong, -1, 7), "negative exponent");
+        check.fails(IllegalArgumentException.class, () -> matrixPower.pow(asLong, 1, -7), "negative modulus");
+        check.fails(IllegalArgumentException.class, () -> matrixPower.nthTerm(new long[] {1, 1}, new long[] {1}, 5, 0),
+                    "initial terms missing");
+    }
+
+    public static void main(String[] args) {
+        powers();
+        bigExponents();
+        terms();
+        overloads();
+        System.out.println("matrixPowerTest passed");
+    }
+}
@@ -0,0 +1,197 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// Maximum subarray sum (non empty subarray) with the indices of the subarray.
+//
+// kadane():   one pass, O(n) time, O(1) space.
+// parallel(): divide and conquer on the fork-join pool. Every piece of the array is
+//             described by a summary (total, best prefix, best suffix, best), and two
+//             neighbouring summaries merge in O(1):
+//                 best of both = max(left.best, right.best, left.suffix + right.prefix)
+//             so the pieces can be solved on different cores and combined at the end.
+// All sums are long, so 10^8 elements of any int value cannot overflow.
+public class maxSubarray {
+
+    static final int PARALLEL_THRESHOLD = 1 << 16; //pieces smaller than this are done with kadane
+
+    // Everything needed to combine a run of elements with its neighbours.
+    // Indices are absolute positions in the whole input (first = index of the first element).
+    // Also used by streams: add() takes one element at a time with O(1) state.
+    public static class summary {
+        public long first, count;
+        public long total;
+        public long prefix, prefixEnd; //best sum of [first..prefixEnd]
+        public long suffix, suffixStart; //best sum of [suffixStart..last], this is kadane's running sum
+        public long best, bestStart, bestEnd; //best sum of [bestStart..bestEnd]
+
+        public summary() {
+        }
+
+        public summary(long first) {
+            this.first = first;
+        }
+
+        public boolean isEmpty() {
+            return count == 0;
+        }
+
+        // appends the next element (its index is first + count)
+        public void add(long x) {
+            long index = first + count;
+            if(count == 0) {
+                total = prefix = suffix = best = x;
+                prefixEnd = suffixStart = bestStart = bestEnd = index;
+                count = 1;
+                return;
+            }
+            total += x;
+            if(total > prefix) {
+                prefix = total;
+                prefixEnd = index;
+            }
+            //a negative running sum only makes what comes next smaller: start again here
+            if(suffix < 0) {
+                suffix = x;
+                suffixStart = index;
+            } else {
+                suffix += x;
+            }
+            if(suffix > best) {
+                best = suffix;
+                bestStart = suffixStart;
+                bestEnd = index;
+            }
+            count++;
+        }
+
+        // summary of left followed directly by right
+        public static summary merge(summary left, summary right) {
+            if(left.isEmpty()) {
+                return right.copy();
+            }
+            if(right.isEmpty()) {
+                return left.copy();
+            }
+            if(left.first + left.count != right.first) {
+                throw new IllegalArgumentException("Summaries are not next to each other: "
+                    +(left.first + left.count)+" != "+right.first);
+            }
+
+            summary s = new summary(left.first);
+            s.count = left.count + right.count;
+            s.total = left.total + right.total;
+
+            if(left.total + right.prefix > left.prefix) {
+                s.prefix = left.total + right.prefix;
+                s.prefixEnd = right.prefixEnd;
+            } else {
+                s.prefix = left.prefix;
+                s.prefixEnd = left.prefixEnd;
+            }
+
+            if(right.total + left.suffix > right.suffix) {
+                s.suffix = right.total + left.suffix;
+                s.suffixStart = left.suffixStart;
+            } else {
+                s.suffix = right.suffix;
+                s.suffixStart = right.suffixStart;
+            }
+
+            s.best = left.best;
+            s.bestStart = left.bestStart;
+            s.bestEnd = left.bestEnd;
+            long crossing = left.suffix + right.prefix;
+            if(crossing > s.best) {
+                s.best = crossing;
+                s.bestStart = left.suffixStart;
+                s.bestEnd = right.prefixEnd;
+            }
+            if(right.best > s.best) {
+                s.best = right.best;
+                s.bestStart = right.bestStart;
+                s.bestEnd = right.bestEnd;
+            }
+            return s;
+        }
+
+        public summary copy() {
+            summary s = new summary(first);
+            s.count = count;
+            s.total = total;
+            s.prefix = prefix;
+            s.prefixEnd = prefixEnd;
+            s.suffix = suffix;
+            s.suffixStart = suffixStart;
+            s.best = best;
+            s.bestStart = bestStart;
+            s.bestEnd = bestEnd;
+            return s;
+        }
+
+        @Override
+        public String toString() {
+            if(isEmpty()) {
+                return "empty";
+            }
+            return "sum "+best+" from index "+bestStart+" to "+bestEnd;
+        }
+    }
+
+    // Kadane's algorithm over arr[from..to)
+    public static summary kadane(int arr[], int from, int to) {
+        summary s = new summary(from);
+        for(int i=from; i<to; i++) {
+            s.add(arr[i]);
+        }
+        return s;
+    }
+
+    public static summary kadane(int arr[]) {
+        return kadane(arr, 0, arr.length);
+    }
+
+    public static summary parallel(int arr[]) {
+        if(arr.length <= PARALLEL_THRESHOLD) {
+            return kadane(arr);
+        }
+        return ForkJoinPool.commonPool().invoke(new maxSubarrayTask(arr, 0, arr.length));
+    }
+
+    static class maxSubarrayTask extends RecursiveTask<summary> {
+        private static final long serialVersionUID = 1L;
+
+        final int arr[];
+        final int from, to;
+
+        maxSubarrayTask(int arr[], int from, int to) {
+            this.arr = arr;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected summary compute() {
+            if(to - from <= PARALLEL_THRESHOLD) {
+                return kadane(arr, from, to);
+            }
+            int mid = (from + to) >>> 1;
+            maxSubarrayTask left = new maxSubarrayTask(arr, from, mid);
+            left.fork();
+            summary right = new maxSubarrayTask(arr, mid, to).compute();
+            return summary.merge(left.join(), right);
+        }
+    }
+
+    public static void main(String[] args) {
+        int numbers[] = {1, -2, 6, -1, 3};
+        System.out.println("Maximum subarray: "+kadane(numbers));
+
+        int big[] = new int[10_000_000];
+        java.util.Random r = new java.util.Random(1);
+        for(int i=0; i<big.length; i++) {
+            big[i] = r.nextInt(2001) - 1000;
+        }
+        System.out.println("Kadane:   "+kadane(big));
+        System.out.println("Parallel: "+parallel(big));
+    }
+}
@@ -0,0 +1,130 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ReadableByteChannel;
+
+// Maximum subarray sum over a feed of numbers that does not fit in memory.
+// Numbers go through a maxSubarray.summary one at a time, so the state is O(1) no matter
+// how many numbers came in, and current() can be asked for the best sum so far at any point.
+// Also keeps running count / total / min / max / mean of the same feed.
+//
+// Shards: two streams can be filled independently (say by two threads, each reading
+// its own part of the feed) and merged afterwards. The merged result is the same as
+// if the second shard had been read right after the first one.
+//
+// Input: numbers one by one with add(), text numbers through fastInput, or raw binary
+// 4 byte ints / 8 byte longs from a channel, read in blocks of BLOCK_SIZE bytes.
+public class maxSubarrayStream {
+
+    static final int BLOCK_SIZE = 1 << 16;
+
+    maxSubarray.summary state = new maxSubarray.summary(0);
+    long min = Long.MAX_VALUE;
+    long max = Long.MIN_VALUE;
+
+    public void add(long x) {
+        state.add(x);
+        if(x < min) {
+            min = x;
+        }
+        if(x > max) {
+            max = x;
+        }
+    }
+
+    public void addAll(int arr[], int from, int to) {
+        for(int i=from; i<to; i++) {
+            add(arr[i]);
+        }
+    }
+
+    // reads whitespace separated numbers until the end of the input
+    public void readText(fastInput in) {
+        while(in.hasNext()) {
+            add(in.nextLong());
+        }
+    }
+
+    // reads raw 4 byte ints until the end of the channel
+    public void readInts(ReadableByteChannel channel, ByteOrder order) {
+        readBinary(channel, order, Integer.BYTES);
+    }
+
+    // reads raw 8 byte longs until the end of the channel
+    public void readLongs(ReadableByteChannel channel, ByteOrder order) {
+        readBinary(channel, order, Long.BYTES);
+    }
+
+    void readBinary(ReadableByteChannel channel, ByteOrder order, int width) {
+        ByteBuffer block = ByteBuffer.allocateDirect(BLOCK_SIZE).order(order);
+        try {
+            while(channel.read(block) != -1) {
+                block.flip();
+                while(block.remaining() >= width) {
+                    add(width == Integer.BYTES ? block.getInt() : block.getLong());
+                }
+                block.compact(); //a number cut in half by the read waits for its other half
+            }
+        } catch(IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if(block.position() != 0) {
+            throw new IllegalStateException("Input ended in the middle of a number ("+block.position()+" bytes left)");
+        }
+    }
+
+    // best subarray so far (a copy, the stream can keep going)
+    public maxSubarray.summary current() {
+        return state.copy();
+    }
+
+    public long count() {
+        return state.count;
+    }
+
+    public long total() {
+        return state.total;
+    }
+
+    public long min() {
+        return min;
+    }
+
+    public long max() {
+        return max;
+    }
+
+    public double mean() {
+        return state.count == 0 ? Double.NaN : (double)state.total / state.count;
+    }
+
+    // this stream followed by next, indices of next are moved to come after this one
+    public maxSubarrayStream merge(maxSubarrayStream next) {
+        maxSubarray.summary shifted = next.state.copy();
+        shifted.first = state.first + state.count;
+        long shift = shifted.first - next.state.first;
+        shifted.prefixEnd += shift;
+        shifted.suffixStart += shift;
+        shifted.bestStart += shift;
+        shifted.bestEnd += shift;
+
+        maxSubarrayStream merged = new maxSubarrayStream();
+        merged.state = maxSubarray.summary.merge(state, shifted);
+        merged.min = Math.min(min, next.min);
+        merged.max = Math.max(max, next.max);
+        return merged;
+    }
+
+    @Override
+    public String toString() {
+        return "count "+count()+", total "+total()+", min "+min+", max "+max+", mean "+mean()+", best "+state;
+    }
+
+    public static void main(String[] args) {
+        //java maxSubarrayStream < numbers.txt
+        maxSubarrayStream stream = new maxSubarrayStream();
+        stream.readText(fastInput.in);
+        System.out.println(stream);
+    }
+}
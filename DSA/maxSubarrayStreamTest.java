@@ -0,0 +1,147 @@
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+// maxSubarrayStream against maxSubarray.kadane on the same numbers, see check.java
+public class maxSubarrayStreamTest {
+
+    // hands out at most step bytes per read, so numbers get cut in half between reads
+    static ReadableByteChannel trickle(byte bytes[], int step) {
+        return new ReadableByteChannel() {
+            int pos = 0;
+
+            public int read(ByteBuffer dst) {
+                if(pos == bytes.length) {
+                    return -1;
+                }
+                int n = Math.min(step, Math.min(dst.remaining(), bytes.length - pos));
+                dst.put(bytes, pos, n);
+                pos += n;
+                return n;
+            }
+
+            public boolean isOpen() {
+                return true;
+            }
+
+            public void close() {
+            }
+        };
+    }
+
+    static void same(int arr[], maxSubarrayStream stream, String what) {
+        maxSubarray.summary expected = maxSubarray.kadane(arr);
+        maxSubarray.summary actual = stream.current();
+        check.equal(arr.length, stream.count(), what+": count");
+        check.equal(expected.total, stream.total(), what+": total");
+        check.equal(expected.best, actual.best, what+": best");
+        check.equal(expected.bestStart, actual.bestStart, what+": bestStart");
+        check.equal(expected.bestEnd, actual.bestEnd, what+": bestEnd");
+        long min = Long.MAX_VALUE, max = Long.MIN_VALUE;
+        for(int x : arr) {
+            min = Math.min(min, x);
+            max = Math.max(max, x);
+        }
+        check.equal(min, stream.min(), what+": min");
+        check.equal(max, stream.max(), what+": max");
+    }
+
+    static int[] numbers(Random r, int n) {
+        int arr[] = new int[n];
+        for(int i=0; i<n; i++) {
+            arr[i] = r.nextInt(2001) - 1000;
+        }
+        if(n > 1) {
+            arr[0] = Integer.MIN_VALUE;
+            arr[n-1] = Integer.MAX_VALUE;
+        }
+        return arr;
+    }
+
+    public static void feeds() {
+        Random r = new Random(8);
+        int arr[] = numbers(r, 50_000);
+
+        maxSubarrayStream direct = new maxSubarrayStream();
+        direct.addAll(arr, 0, arr.length);
+        same(arr, direct, "add");
+
+        StringBuilder text = new StringBuilder();
+        for(int x : arr) {
+            text.append(x).append('\n');
+        }
+        maxSubarrayStream fromText = new maxSubarrayStream();
+        fromText.readText(new fastInput(Channels.newChannel(
+            new ByteArrayInputStream(text.toString().getBytes(StandardCharsets.ISO_8859_1))), 100));
+        same(arr, fromText, "text");
+
+        for(ByteOrder order : new ByteOrder[] {ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+            ByteBuffer ints = ByteBuffer.allocate(4 * arr.length).order(order);
+            ByteBuffer longs = ByteBuffer.allocate(8 * arr.length).order(order);
+            for(int x : arr) {
+                ints.putInt(x);
+                longs.putLong(x);
+            }
+            for(int step : new int[] {3, 7, 1 << 20}) {
+                maxSubarrayStream s = new maxSubarrayStream();
+                s.readInts(trickle(ints.array(), step), order);
+                same(arr, s, "ints "+order+", "+step+" bytes per read");
+                s = new maxSubarrayStream();
+                s.readLongs(trickle(longs.array(), step), order);
+                same(arr, s, "longs "+order+", "+step+" bytes per read");
+            }
+        }
+    }
+
+    public static void shards() {
+        Random r = new Random(9);
+        int arr[] = numbers(r, 10_000);
+        for(int cut : new int[] {0, 1, 5000, 9999, 10_000}) {
+            maxSubarrayStream left = new maxSubarrayStream(), right = new maxSubarrayStream();
+            left.addAll(arr, 0, cut);
+            right.addAll(arr, cut, arr.length);
+            maxSubarrayStream merged = left.merge(right);
+            maxSubarray.summary expected = maxSubarray.kadane(arr);
+            check.equal(expected.best, merged.current().best, "merge at "+cut+": best");
+            long sum = 0;
+            for(long i=merged.current().bestStart; i<=merged.current().bestEnd; i++) {
+                sum += arr[(int)i];
+            }
+            check.equal(expected.best, sum, "merge at "+cut+": indices point at the best subarray");
+            check.equal(Integer.MIN_VALUE, merged.min(), "merge at "+cut+": min");
+            check.equal(Integer.MAX_VALUE, merged.max(), "merge at "+cut+": max");
+        }
+    }
+
+    public static void edges() {
+        maxSubarrayStream empty = new maxSubarrayStream();
+        check.equal(0, empty.count(), "empty count");
+        check.that(Double.isNaN(empty.mean()), "empty mean is NaN");
+        check.that(empty.current().isEmpty(), "empty summary");
+        empty.readText(new fastInput(Channels.newChannel(new ByteArrayInputStream(new byte[0]))));
+        check.equal(0, empty.count(), "empty text input");
+
+        maxSubarrayStream big = new maxSubarrayStream();
+        big.add(Long.MAX_VALUE / 2);
+        big.add(Long.MAX_VALUE / 2);
+        check.equal(Long.MAX_VALUE - 1, big.total(), "longs up to the limit");
+
+        check.fails(IllegalStateException.class,
+                    () -> new maxSubarrayStream().readInts(trickle(new byte[6], 4), ByteOrder.BIG_ENDIAN),
+                    "input ends inside an int");
+        check.fails(IllegalStateException.class,
+                    () -> new maxSubarrayStream().readLongs(trickle(new byte[12], 5), ByteOrder.BIG_ENDIAN),
+                    "input ends inside a long");
+    }
+
+    public static void main(String[] args) {
+        feeds();
+        shards();
+        edges();
+        System.out.println("maxSubarrayStreamTest passed");
+    }
+}
@@ -0,0 +1,96 @@
+import java.util.Random;
+
+// maxSubarray against trying every subarray, see check.java
+public class maxSubarrayTest {
+
+    static long bruteForce(int arr[]) {
+        long best = Long.MIN_VALUE;
+        for(int i=0; i<arr.length; i++) {
+            long sum = 0;
+            for(int j=i; j<arr.length; j++) {
+                sum += arr[j];
+                best = Math.max(best, sum);
+            }
+        }
+        return best;
+    }
+
+    // with ties the two methods may pick different subarrays, but the one picked has to add up to best
+    static void valid(int arr[], maxSubarray.summary s, long best, String what) {
+        check.equal(arr.length, s.count, what+": count");
+        check.equal(best, s.best, what+": best");
+        check.that(0 <= s.bestStart && s.bestStart <= s.bestEnd && s.bestEnd < arr.length, what+": indices "+s);
+        long sum = 0, total = 0;
+        for(long i=s.bestStart; i<=s.bestEnd; i++) {
+            sum += arr[(int)i];
+        }
+        for(int x : arr) {
+            total += x;
+        }
+        check.equal(best, sum, what+": sum from bestStart to bestEnd");
+        check.equal(total, s.total, what+": total");
+    }
+
+    public static void small() {
+        Random r = new Random(5);
+        for(int n=1; n<=60; n++) {
+            for(int round=0; round<20; round++) {
+                int arr[] = new int[n];
+                for(int i=0; i<n; i++) {
+                    arr[i] = r.nextInt(21) - 10;
+                }
+                long best = bruteForce(arr);
+                valid(arr, maxSubarray.kadane(arr), best, "kadane, n = "+n);
+                //every split point, merged back together
+                int cut = r.nextInt(n + 1);
+                maxSubarray.summary merged = maxSubarray.summary.merge(maxSubarray.kadane(arr, 0, cut),
+                                                                       maxSubarray.kadane(arr, cut, n));
+                valid(arr, merged, best, "merge at "+cut+", n = "+n);
+            }
+        }
+        valid(new int[] {-5, -1, -3}, maxSubarray.kadane(new int[] {-5, -1, -3}), -1, "all negative");
+        valid(new int[] {7}, maxSubarray.kadane(new int[] {7}), 7, "one element");
+    }
+
+    public static void limits() {
+        int max[] = new int[1 << 18];
+        java.util.Arrays.fill(max, Integer.MAX_VALUE);
+        long sum = (long)Integer.MAX_VALUE * max.length; //far past int
+        valid(max, maxSubarray.kadane(max), sum, "all MAX_VALUE");
+        valid(max, maxSubarray.parallel(max), sum, "all MAX_VALUE, parallel");
+        int min[] = new int[1 << 18];
+        java.util.Arrays.fill(min, Integer.MIN_VALUE);
+        min[12345] = Integer.MIN_VALUE + 1;
+        valid(min, maxSubarray.parallel(min), Integer.MIN_VALUE + 1, "all MIN_VALUE but one, parallel");
+    }
+
+    public static void parallel() {
+        Random r = new Random(6);
+        int arr[] = new int[3_000_001];
+        for(int i=0; i<arr.length; i++) {
+            arr[i] = r.nextInt(2001) - 1000;
+        }
+        maxSubarray.summary s = maxSubarray.kadane(arr);
+        valid(arr, maxSubarray.parallel(arr), s.best, "parallel against kadane");
+    }
+
+    public static void summaries() {
+        maxSubarray.summary empty = maxSubarray.kadane(new int[0]);
+        check.that(empty.isEmpty(), "no elements");
+        check.equal("empty", empty.toString(), "empty toString");
+        maxSubarray.summary one = maxSubarray.kadane(new int[] {3});
+        check.equal(3, maxSubarray.summary.merge(empty, one).best, "empty on the left");
+        check.equal(3, maxSubarray.summary.merge(one, new maxSubarray.summary(1)).best, "empty on the right");
+        check.fails(IllegalArgumentException.class,
+                    () -> maxSubarray.summary.merge(one, maxSubarray.kadane(new int[] {1, 2, 3}, 2, 3)),
+                    "summaries with a gap");
+    }
+
+    public static void main(String[] args) {
+        small();
+        limits();
+        parallel();
+        summaries();
+        System.out.println("maxSubarrayTest passed");
+    }
+}
@@ -0,0 +1,259 @@
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.LongUnaryOperator;
+
+// Bounded memoization for functions of a long (or an int, or two ints packed with arrayCursors.pack)
+// to a long. A HashMap<Long, Long> would box every key and value; here they stay in long arrays.
+//
+// The cache is split into segments by the hash of the key, each with its own lock, so callers
+// working on different keys mostly do not wait for each other (there is no global lock).
+// A hit takes no lock at all: it reads optimistically and only checks afterwards that no
+// insert ran in the same segment meanwhile (StampedLock), else it reads again under the lock.
+// A segment is an open addressing hash table (linear probing) over a fixed number of entry
+// slots. When the slots are full, CLOCK picks the entry to throw out: every hit sets the
+// entry's referenced bit, the clock hand walks over the slots clearing set bits and evicts
+// the first entry whose bit is already clear. Almost LRU, but a hit only writes one byte.
+//
+// get(key, f) calls f outside the lock, so f may itself call get (recursive functions).
+// Two threads missing the same key at the same time may both compute it, which only
+// costs time as long as f always gives the same answer for the same key.
+public class memoCache {
+
+    final segment segments[];
+    final int segmentShift;
+    final LongAdder hits = new LongAdder(), misses = new LongAdder(), evictions = new LongAdder();
+
+    public memoCache(int capacity) {
+        this(capacity, 16);
+    }
+
+    public memoCache(int capacity, int segmentCount) {
+        if(capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: "+capacity);
+        }
+        //power of two segments, at most one per entry
+        int count = Integer.highestOneBit(Math.max(1, Math.min(segmentCount, capacity)));
+        segments = new segment[count];
+        for(int i=0; i<count; i++) {
+            //spread the capacity so the segments add up to exactly capacity
+            segments[i] = new segment(capacity / count + (i < capacity % count ? 1 : 0));
+        }
+        segmentShift = 64 - Integer.numberOfTrailingZeros(count);
+    }
+
+    // murmur3 finalizer, every key bit changes about half of the hash bits
+    static long hash(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return key;
+    }
+
+    segment segmentFor(long h) {
+        //top bits pick the segment, the low bits are left for the table inside it
+        return segments.length == 1 ? segments[0] : segments[(int)(h >>> segmentShift)];
+    }
+
+    public long get(long key, LongUnaryOperator f) {
+        long h = hash(key);
+        segment s = segmentFor(h);
+        //optimistic read: no lock is taken, validate tells afterwards if a writer got in between
+        long stamp = s.lock.tryOptimisticRead();
+        int slot = s.find(key, h);
+        long value = slot >= 0 ? s.values[slot] : 0;
+        if(!s.lock.validate(stamp)) {
+            stamp = s.lock.readLock();
+            try {
+                slot = s.find(key, h);
+                value = slot >= 0 ? s.values[slot] : 0;
+            } finally {
+                s.lock.unlockRead(stamp);
+            }
+        }
+        if(slot >= 0) {
+            s.referenced[slot] = 1; //racy, a lost write only costs the entry its second chance
+            hits.increment();
+            return value;
+        }
+        misses.increment();
+        value = f.applyAsLong(key);
+        stamp = s.lock.writeLock();
+        try {
+            if(s.put(key, h, value)) {
+                evictions.increment();
+            }
+        } finally {
+            s.lock.unlockWrite(stamp);
+        }
+        return value;
+    }
+
+    public boolean contains(long key) {
+        long h = hash(key);
+        segment s = segmentFor(h);
+        long stamp = s.lock.readLock();
+        try {
+            return s.find(key, h) >= 0;
+        } finally {
+            s.lock.unlockRead(stamp);
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for(segment s : segments) {
+            long stamp = s.lock.readLock();
+            size += s.size;
+            s.lock.unlockRead(stamp);
+        }
+        return size;
+    }
+
+    public int capacity() {
+        int capacity = 0;
+        for(segment s : segments) {
+            capacity += s.keys.length;
+        }
+        return capacity;
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    public void clear() {
+        for(segment s : segments) {
+            long stamp = s.lock.writeLock();
+            s.clear();
+            s.lock.unlockWrite(stamp);
+        }
+        hits.reset();
+        misses.reset();
+        evictions.reset();
+    }
+
+    public String toString() {
+        return "size "+size()+"/"+capacity()+", hits "+hits()+", misses "+misses()+", evictions "+evictions();
+    }
+
+    // one lock's worth of the cache; writes hold the write lock, reads may run beside
+    // them (optimistically) so the table always keeps empty slots and every index in range
+    static class segment {
+        final StampedLock lock = new StampedLock();
+        final long keys[], values[];
+        final byte referenced[]; //CLOCK bit per entry slot
+        final int table[]; //entry slot + 1, 0 = empty, at most half full
+        final int mask;
+        int size, hand;
+
+        segment(int capacity) {
+            keys = new long[capacity];
+            values = new long[capacity];
+            referenced = new byte[capacity];
+            table = new int[Integer.highestOneBit(Math.max(1, capacity)) << 2];
+            mask = table.length - 1;
+        }
+
+        // entry slot of key, -1 if it is not here
+        int find(long key, long h) {
+            for(int i=(int)h & mask; ; i=(i+1) & mask) {
+                int e = table[i];
+                if(e == 0) {
+                    return -1;
+                }
+                if(keys[e-1] == key) {
+                    return e-1;
+                }
+            }
+        }
+
+        // returns true if an entry had to be evicted to make room
+        boolean put(long key, long h, long value) {
+            int found = find(key, h);
+            if(found >= 0) { //another thread computed it meanwhile
+                values[found] = value;
+                return false;
+            }
+            boolean evicted = false;
+            int slot;
+            if(size < keys.length) {
+                slot = size++;
+            } else {
+                //clock: give every recently used entry a second chance
+                while(referenced[hand] != 0) {
+                    referenced[hand] = 0;
+                    hand = hand + 1 == keys.length ? 0 : hand + 1;
+                }
+                slot = hand;
+                hand = hand + 1 == keys.length ? 0 : hand + 1;
+                remove(slot);
+                evicted = true;
+            }
+            keys[slot] = key;
+            values[slot] = value;
+            referenced[slot] = 0;
+            int i = (int)h & mask;
+            while(table[i] != 0) {
+                i = (i+1) & mask;
+            }
+            table[i] = slot + 1;
+            return evicted;
+        }
+
+        // takes the entry out of the hash table, moving later entries of the probe run back
+        // into the gap so find never stops early at it (no tombstones needed)
+        void remove(int slot) {
+            int i = (int)hash(keys[slot]) & mask;
+            while(table[i] != slot + 1) {
+                i = (i+1) & mask;
+            }
+            int gap = i;
+            for(int j=(gap+1) & mask; table[j] != 0; j=(j+1) & mask) {
+                int home = (int)hash(keys[table[j]-1]) & mask;
+                //j may move to the gap unless its home lies cyclically in (gap, j]
+                if(((j - home) & mask) >= ((j - gap) & mask)) {
+                    table[gap] = table[j];
+                    gap = j;
+                }
+            }
+            table[gap] = 0;
+        }
+
+        void clear() {
+            Arrays.fill(table, 0);
+            Arrays.fill(referenced, (byte)0);
+            size = 0;
+            hand = 0;
+        }
+    }
+
+    public static void main(String[] args) {
+        memoCache cache = new memoCache(1000);
+        for(int round=0; round<3; round++) {
+            for(int n=1; n<=20; n++) {
+                recursion.factorialMemo(n);
+            }
+        }
+        System.out.println("factorialMemo: "+recursion.FACTORIAL_CACHE);
+
+        //9 of 10 lookups go to 500 hot keys, the rest anywhere in a million: the hot ones stay
+        Random r = new Random(1);
+        for(int k=0; k<100_000; k++) {
+            long key = r.nextInt(10) == 0 ? r.nextInt(1_000_000) : r.nextInt(500);
+            cache.get(key, x -> x * x);
+        }
+        System.out.println("squares: "+cache);
+    }
+}
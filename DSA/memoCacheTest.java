@@ -0,0 +1,149 @@
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// memoCache against the function it caches, see check.java
+public class memoCacheTest {
+
+    static long f(long x) {
+        return x * 31 + 7;
+    }
+
+    // every key the cache holds maps to f(key), found without calling f again
+    static void consistent(memoCache cache, long keys[], String what) {
+        for(long key : keys) {
+            if(cache.contains(key)) {
+                long value = cache.get(key, k -> {
+                    throw new AssertionError(what+": contains("+key+") but get computed it again");
+                });
+                check.equal(f(key), value, what+": cached value of "+key);
+            }
+        }
+    }
+
+    public static void basics() {
+        memoCache cache = new memoCache(100);
+        long keys[] = {0, -1, 1, Long.MIN_VALUE, Long.MAX_VALUE, arrayCursors.pack(-7, Integer.MAX_VALUE)};
+        for(long key : keys) {
+            check.equal(f(key), cache.get(key, memoCacheTest::f), "first get("+key+")");
+        }
+        for(long key : keys) {
+            check.that(cache.contains(key), "contains("+key+")");
+            check.equal(f(key), cache.get(key, memoCacheTest::f), "second get("+key+")");
+        }
+        check.equal(keys.length, cache.size(), "size");
+        check.equal(keys.length, cache.misses(), "misses");
+        check.equal(keys.length, cache.hits(), "hits");
+        check.equal(0, cache.evictions(), "no evictions");
+        check.that(!cache.contains(42), "never asked for 42");
+        cache.clear();
+        check.equal(0, cache.size(), "size after clear");
+        check.that(!cache.contains(0), "cleared");
+        check.equal(0, cache.hits() + cache.misses(), "counters after clear");
+    }
+
+    public static void shapes() {
+        //capacity is exact whatever the number of segments
+        int capacities[] = {1, 2, 3, 15, 16, 17, 100, 1000};
+        int segmentCounts[] = {1, 3, 16, 64};
+        Random r = new Random(19);
+        for(int capacity : capacities) {
+            for(int segmentCount : segmentCounts) {
+                memoCache cache = new memoCache(capacity, segmentCount);
+                String what = "capacity "+capacity+", "+segmentCount+" segments";
+                check.equal(capacity, cache.capacity(), what);
+                long keys[] = new long[5 * capacity + 20];
+                for(int i=0; i<keys.length; i++) {
+                    keys[i] = r.nextLong();
+                    check.equal(f(keys[i]), cache.get(keys[i], memoCacheTest::f), what+": get");
+                    check.that(cache.size() <= capacity, what+": size over capacity");
+                }
+                check.equal(keys.length - cache.size(), cache.evictions(), what+": every miss past the capacity evicts");
+                consistent(cache, keys, what);
+            }
+        }
+        check.fails(IllegalArgumentException.class, () -> new memoCache(0), "capacity 0");
+        check.fails(IllegalArgumentException.class, () -> new memoCache(-5, 4), "negative capacity");
+    }
+
+    public static void eviction() {
+        //one segment, so the clock order is exact: hot keys are hit between every insert and stay
+        memoCache cache = new memoCache(64, 1);
+        for(long hot=0; hot<16; hot++) {
+            cache.get(hot, memoCacheTest::f);
+        }
+        for(long cold=1000; cold<5000; cold++) {
+            for(long hot=0; hot<16; hot++) {
+                cache.get(hot, memoCacheTest::f);
+            }
+            cache.get(cold, memoCacheTest::f);
+        }
+        for(long hot=0; hot<16; hot++) {
+            check.that(cache.contains(hot), "hot key "+hot+" survived");
+        }
+        check.equal(64, cache.size(), "full");
+        //keys whose probe runs overlap, removed and reinserted many times: backward shift deletion
+        //must keep every one of them findable
+        long keys[] = new long[3000];
+        for(int i=0; i<keys.length; i++) {
+            keys[i] = i * 64L;
+        }
+        memoCache small = new memoCache(50, 1);
+        for(int round=0; round<5; round++) {
+            for(long key : keys) {
+                small.get(key, memoCacheTest::f);
+            }
+            consistent(small, keys, "after round "+round);
+        }
+    }
+
+    public static void threads() throws Exception {
+        memoCache cache = new memoCache(512, 8);
+        AtomicBoolean wrong = new AtomicBoolean();
+        Thread workers[] = new Thread[4];
+        for(int t=0; t<workers.length; t++) {
+            long seed = t;
+            workers[t] = new Thread(() -> {
+                Random r = new Random(seed);
+                for(int i=0; i<200_000; i++) {
+                    long key = r.nextInt(4) == 0 ? r.nextInt(100_000) : r.nextInt(300);
+                    if(cache.get(key, memoCacheTest::f) != f(key)) {
+                        wrong.set(true);
+                    }
+                }
+            });
+            workers[t].start();
+        }
+        for(Thread w : workers) {
+            w.join();
+        }
+        check.that(!wrong.get(), "every value right under contention");
+        check.equal(800_000, cache.hits() + cache.misses(), "hits + misses");
+        check.that(cache.size() <= 512, "size within capacity");
+    }
+
+    public static void recursionMemo() {
+        for(int n=0; n<=30; n++) {
+            check.equal(recursion.factorial(n), recursion.factorialMemo(n), "factorialMemo("+n+")");
+        }
+        for(int x=-5; x<=5; x++) {
+            for(int n=0; n<=70; n++) {
+                check.equal(recursion.calcPower(x, n), recursion.calcPowerMemo(x, n), "calcPowerMemo("+x+", "+n+")");
+            }
+        }
+        //calcPower(3, 10^7) would run out of stack, the halving version needs about 24 entries
+        recursion.POWER_CACHE.clear();
+        check.equal(recursion.calcPower2(3, 10_000_000), recursion.calcPowerMemo(3, 10_000_000), "3^(10^7) as int");
+        check.that(recursion.POWER_CACHE.size() <= 25, "log n entries, got "+recursion.POWER_CACHE.size());
+        check.equal(recursion.calcPower2(-7, Integer.MAX_VALUE), recursion.calcPowerMemo(-7, Integer.MAX_VALUE),
+                    "(-7)^MAX_VALUE as int");
+    }
+
+    public static void main(String[] args) throws Exception {
+        basics();
+        shapes();
+        eviction();
+        threads();
+        recursionMemo();
+        System.out.println("memoCacheTest passed");
+    }
+}
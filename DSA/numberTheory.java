@@ -0,0 +1,273 @@
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+// Primality and factorization for long inputs, where trial division like
+// parameters.isPrime1 (O(sqrt n)) is hopeless above about 10^12.
+//
+// isPrime:  Miller-Rabin with the 7 bases known to give the right answer for every
+//           64 bit number, so it is deterministic, about 7 * 64 modular multiplications.
+// factor:   small values straight from a smallest-prime-factor table, bigger ones by
+//           Pollard's rho (Brent's version), which finds a factor in about n^(1/4) steps.
+// factorAll: factors an array of numbers in parallel.
+//
+// Modular multiplication a*b mod n needs the full 128 bit product. Instead of dividing
+// it by n (Java has no 128 bit division) the numbers are kept in Montgomery form,
+// where the reduction is two multiplications and a shift (see montgomery below),
+// and the high 64 bits of a product come from Math.multiplyHigh.
+// Valid for 0 <= n <= Long.MAX_VALUE.
+public class numberTheory {
+
+    static final int SPF_LIMIT = 1 << 20;
+    // Miller-Rabin bases that are enough for all n < 2^64 (Jim Sinclair)
+    static final long MR_BASES[] = {2, 325, 9375, 28178, 450775, 9780504, 1795265022};
+    static final int SMALL_ODD_PRIMES[] = {3, 5, 7, 11, 13, 17, 19, 23, 29, 31, 37};
+
+    // spf[i] = smallest prime factor of i, for 2 <= i < SPF_LIMIT, built on first use
+    static class spfTable {
+        static final int spf[] = build();
+
+        static int[] build() {
+            int spf[] = new int[SPF_LIMIT];
+            for(int i=2; i<SPF_LIMIT; i++) {
+                if(spf[i] == 0) {
+                    for(long j=i; j<SPF_LIMIT; j+=i) {
+                        if(spf[(int)j] == 0) {
+                            spf[(int)j] = i;
+                        }
+                    }
+                }
+            }
+            return spf;
+        }
+    }
+
+    public static int smallestPrimeFactor(int n) {
+        if(n < 2 || n >= SPF_LIMIT) {
+            throw new IllegalArgumentException("n must be in [2, "+SPF_LIMIT+"): "+n);
+        }
+        return spfTable.spf[n];
+    }
+
+    // high 64 bits of the unsigned 128 bit product a*b
+    static long unsignedMultiplyHigh(long a, long b) {
+        return Math.multiplyHigh(a, b) + ((a >> 63) & b) + ((b >> 63) & a);
+    }
+
+    // Arithmetic modulo an odd n in Montgomery form: x is stored as x * 2^64 mod n.
+    // Then a*b*2^-64 mod n can be computed without dividing by n:
+    //     m = low(a*b) * n^-1 mod 2^64,  result = high(a*b) - high(m*n)  (+ n if negative)
+    static class montgomery {
+        final long n;
+        final long nInv; //n * nInv == 1 mod 2^64
+        final long r2; //2^128 mod n, turns a number into Montgomery form
+        final long one; //1 in Montgomery form
+
+        montgomery(long n) {
+            this.n = n;
+            long inv = n; //correct to 3 bits for odd n, every Newton step doubles that
+            for(int i=0; i<5; i++) {
+                inv *= 2 - n*inv;
+            }
+            this.nInv = inv;
+            long r = Long.remainderUnsigned(-n, n); //2^64 mod n
+            this.one = r;
+            for(int i=0; i<64; i++) { //r * 2^64 mod n by doubling 64 times
+                r <<= 1;
+                if(r < 0 || r >= n) { //n < 2^63, so an overflow into the sign bit means r >= n
+                    r -= n;
+                }
+            }
+            this.r2 = r;
+        }
+
+        long reduce(long hi, long lo) {
+            long m = lo * nInv;
+            long t = hi - unsignedMultiplyHigh(m, n);
+            return t < 0 ? t + n : t;
+        }
+
+        long mul(long a, long b) {
+            return reduce(Math.multiplyHigh(a, b), a * b);
+        }
+
+        // a + b mod n, written so it cannot overflow even when n is above 2^62
+        long add(long a, long b) {
+            long s = a - (n - b);
+            return s < 0 ? s + n : s;
+        }
+
+        long toMont(long x) {
+            return mul(x % n, r2);
+        }
+
+        long fromMont(long x) {
+            return reduce(0, x);
+        }
+
+        long pow(long base, long exp) { //base in Montgomery form
+            long result = one;
+            while(exp > 0) {
+                if((exp & 1) == 1) {
+                    result = mul(result, base);
+                }
+                base = mul(base, base);
+                exp >>= 1;
+            }
+            return result;
+        }
+    }
+
+    public static boolean isPrime(long n) {
+        if(n < SPF_LIMIT) {
+            return n >= 2 && spfTable.spf[(int)n] == n;
+        }
+        if((n & 1) == 0) {
+            return false;
+        }
+        //quick filter with a few small primes before the expensive part
+        for(int p : SMALL_ODD_PRIMES) {
+            if(n % p == 0) {
+                return false;
+            }
+        }
+
+        //n - 1 = d * 2^s with d odd
+        long d = n - 1;
+        int s = Long.numberOfTrailingZeros(d);
+        d >>= s;
+        montgomery mg = new montgomery(n);
+        long minusOne = n - mg.one; //n-1 in Montgomery form
+
+        for(long a : MR_BASES) {
+            a %= n;
+            if(a == 0) {
+                continue;
+            }
+            long x = mg.pow(mg.toMont(a), d);
+            if(x == mg.one || x == minusOne) {
+                continue;
+            }
+            boolean composite = true;
+            for(int r=1; r<s; r++) {
+                x = mg.mul(x, x);
+                if(x == minusOne) {
+                    composite = false;
+                    break;
+                }
+            }
+            if(composite) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static long gcd(long a, long b) {
+        if(a == 0) {
+            return b;
+        }
+        if(b == 0) {
+            return a;
+        }
+        int shift = Long.numberOfTrailingZeros(a | b);
+        a >>= Long.numberOfTrailingZeros(a);
+        while(b != 0) {
+            b >>= Long.numberOfTrailingZeros(b);
+            if(a > b) {
+                long t = a;
+                a = b;
+                b = t;
+            }
+            b -= a;
+        }
+        return a << shift;
+    }
+
+    // some non trivial factor of an odd composite n (Brent's variant of Pollard's rho)
+    static long rho(long n) {
+        montgomery mg = new montgomery(n);
+        final int batch = 128; //differences multiplied together before one gcd
+        for(long c=1; ; c++) {
+            long cm = mg.toMont(c);
+            long y = mg.toMont(2), x = y, ys = y, q = mg.one;
+            long g = 1;
+            for(long len=1; g == 1; len<<=1) {
+                x = y;
+                for(long i=0; i<len; i++) {
+                    y = mg.add(mg.mul(y, y), cm);
+                }
+                for(long k=0; k<len && g == 1; k+=batch) {
+                    ys = y;
+                    long steps = Math.min(batch, len - k);
+                    for(long i=0; i<steps; i++) {
+                        y = mg.add(mg.mul(y, y), cm);
+                        q = mg.mul(q, Math.abs(x - y));
+                    }
+                    g = gcd(q, n);
+                }
+            }
+            if(g == n) {
+                //the batch jumped over the factor: redo its steps one gcd at a time
+                do {
+                    ys = mg.add(mg.mul(ys, ys), cm);
+                    g = gcd(Math.abs(x - ys), n);
+                } while(g == 1);
+            }
+            if(g != n) {
+                return g;
+            }
+            //this c went round in a cycle without a factor, try the next one
+        }
+    }
+
+    // prime factors of n in increasing order, repeated as often as they divide n (factor(12) = {2, 2, 3})
+    public static long[] factor(long n) {
+        if(n < 1) {
+            throw new IllegalArgumentException("n must be positive: "+n);
+        }
+        long out[] = new long[64];
+        int size = 0;
+        int tz = Long.numberOfTrailingZeros(n);
+        for(int i=0; i<tz; i++) {
+            out[size++] = 2;
+        }
+        n >>= tz;
+        size = factorOdd(n, out, size);
+        long result[] = Arrays.copyOf(out, size);
+        Arrays.sort(result);
+        return result;
+    }
+
+    static int factorOdd(long n, long out[], int size) {
+        while(n >= SPF_LIMIT && !isPrime(n)) {
+            long d = rho(n);
+            size = factorOdd(d, out, size);
+            n /= d;
+        }
+        if(n >= SPF_LIMIT) {
+            out[size++] = n;
+            return size;
+        }
+        while(n > 1) {
+            int p = spfTable.spf[(int)n];
+            out[size++] = p;
+            n /= p;
+        }
+        return size;
+    }
+
+    // factor(ns[i]) for every i, in parallel
+    public static long[][] factorAll(long ns[]) {
+        long result[][] = new long[ns.length][];
+        IntStream.range(0, ns.length).parallel().forEach(i -> result[i] = factor(ns[i]));
+        return result;
+    }
+
+    public static void main(String[] args) {
+        long numbers[] = {97, 1_000_000_007L, 999_999_999_989L, 600851475143L,
+                          1_000_000_007L * 998_244_353L, Long.MAX_VALUE};
+        for(long n : numbers) {
+            System.out.println(n+" prime: "+isPrime(n)+", factors: "+Arrays.toString(factor(n)));
+        }
+    }
+}
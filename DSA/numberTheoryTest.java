@@ -0,0 +1,97 @@
+import java.math.BigInteger;
+import java.util.Random;
+
+// numberTheory against the sieve and BigInteger, see check.java
+public class numberTheoryTest {
+
+    static void validFactors(long n, long factors[]) {
+        long product = 1;
+        for(int i=0; i<factors.length; i++) {
+            check.that(BigInteger.valueOf(factors[i]).isProbablePrime(50), factors[i]+" in factor("+n+") is prime");
+            check.that(i == 0 || factors[i-1] <= factors[i], "factor("+n+") is sorted");
+            product *= factors[i];
+        }
+        check.equal(n, product, "product of factor("+n+")");
+    }
+
+    public static void primes() {
+        //past SPF_LIMIT, where the table stops and Miller-Rabin takes over
+        int limit = 2 * numberTheory.SPF_LIMIT + 1000;
+        sieve s = new sieve(limit);
+        for(int n=-5; n<=limit; n++) {
+            check.that(numberTheory.isPrime(n) == (n >= 0 && s.isPrime(n)), "isPrime("+n+")");
+        }
+        long primes[] = {2_147_483_647L, 1_000_000_007L, 999_999_999_989L, (1L << 61) - 1,
+                         9_223_372_036_854_775_783L}; //the last one is the largest prime below 2^63
+        for(long p : primes) {
+            check.that(numberTheory.isPrime(p), p+" is prime");
+        }
+        //strong pseudoprimes to some of the bases and Carmichael numbers
+        long composites[] = {2047, 1_373_653, 25_326_001, 3_215_031_751L, 2_152_302_898_747L,
+                             3_474_749_660_383L, 341_550_071_728_321L, 3_825_123_056_546_413_051L,
+                             561, 41041, 2_147_483_647L * 2_147_483_629L, Long.MAX_VALUE, Long.MIN_VALUE};
+        for(long c : composites) {
+            check.that(!numberTheory.isPrime(c), c+" is not prime");
+        }
+        Random r = new Random(14);
+        for(int i=0; i<2000; i++) {
+            long n = r.nextLong() >>> 1;
+            check.that(numberTheory.isPrime(n) == BigInteger.valueOf(n).isProbablePrime(50), "isPrime("+n+")");
+        }
+    }
+
+    public static void montgomery() {
+        Random r = new Random(15);
+        long moduli[] = {3, 1_000_000_007L, (1L << 61) - 1, Long.MAX_VALUE, Long.MAX_VALUE - 2, (1L << 62) + 1};
+        for(long n : moduli) {
+            numberTheory.montgomery mg = new numberTheory.montgomery(n);
+            BigInteger bn = BigInteger.valueOf(n);
+            for(int i=0; i<500; i++) {
+                long a = (r.nextLong() >>> 1) % n, b = i == 0 ? n - 1 : (r.nextLong() >>> 1) % n;
+                long product = mg.fromMont(mg.mul(mg.toMont(a), mg.toMont(b)));
+                check.equal(BigInteger.valueOf(a).multiply(BigInteger.valueOf(b)).mod(bn).longValue(), product,
+                            a+" * "+b+" mod "+n);
+                check.equal(BigInteger.valueOf(a).add(BigInteger.valueOf(b)).mod(bn).longValue(),
+                            mg.fromMont(mg.add(mg.toMont(a), mg.toMont(b))), a+" + "+b+" mod "+n);
+                long e = r.nextLong() >>> 1;
+                check.equal(BigInteger.valueOf(a).modPow(BigInteger.valueOf(e), bn).longValue(),
+                            mg.fromMont(mg.pow(mg.toMont(a), e)), a+"^"+e+" mod "+n);
+            }
+        }
+    }
+
+    public static void factors() {
+        for(long n=1; n<=5000; n++) {
+            validFactors(n, numberTheory.factor(n));
+        }
+        check.equal(new long[0], numberTheory.factor(1), "factor(1)");
+        check.equal(new long[] {7, 7, 73, 127, 337, 92737, 649657}, numberTheory.factor(Long.MAX_VALUE),
+                    "factor(Long.MAX_VALUE)");
+        long n = 1L << 62;
+        check.equal(62, numberTheory.factor(n).length, "factor(2^62)");
+        check.equal(new long[] {2_147_483_629L, 2_147_483_647L}, numberTheory.factor(2_147_483_647L * 2_147_483_629L),
+                    "two primes near 2^31");
+        Random r = new Random(16);
+        long ns[] = new long[200];
+        for(int i=0; i<ns.length; i++) {
+            ns[i] = 1 + (r.nextLong() >>> 1);
+        }
+        long all[][] = numberTheory.factorAll(ns);
+        for(int i=0; i<ns.length; i++) {
+            validFactors(ns[i], all[i]);
+        }
+        check.fails(IllegalArgumentException.class, () -> numberTheory.factor(0), "factor(0)");
+        check.fails(IllegalArgumentException.class, () -> numberTheory.factor(Long.MIN_VALUE), "factor(MIN_VALUE)");
+        check.equal(3, numberTheory.smallestPrimeFactor(999), "smallestPrimeFactor(999)");
+        check.fails(IllegalArgumentException.class, () -> numberTheory.smallestPrimeFactor(1), "smallestPrimeFactor(1)");
+        check.fails(IllegalArgumentException.class, () -> numberTheory.smallestPrimeFactor(numberTheory.SPF_LIMIT),
+                    "smallestPrimeFactor past the table");
+    }
+
+    public static void main(String[] args) {
+        primes();
+        montgomery();
+        factors();
+        System.out.println("numberTheoryTest passed");
+    }
+}
@@ -0,0 +1,201 @@
+import java.util.BitSet;
+import java.util.Random;
+
+// packedBitSet against java.util.BitSet and brute force rank / select, see check.java.
+// Off heap is only tried at small sizes, a second chunk would need 1 GB of direct memory.
+public class packedBitSetTest {
+
+    // the same random changes on both sets
+    static void randomChanges(packedBitSet p, BitSet b, int changes, Random r) {
+        int size = (int)p.size();
+        for(int c=0; c<changes; c++) {
+            int i = r.nextInt(size);
+            switch(r.nextInt(6)) {
+                case 0: p.set(i); b.set(i); break;
+                case 1: p.clear(i); b.clear(i); break;
+                case 2: p.flip(i); b.flip(i); break;
+                case 3: {
+                    boolean v = r.nextBoolean();
+                    p.update(i, v);
+                    b.set(i, v);
+                    break;
+                }
+                default: {
+                    int j = i + r.nextInt(size - i + 1);
+                    if(r.nextBoolean()) {
+                        p.set(i, j);
+                        b.set(i, j);
+                    } else {
+                        p.clear(i, j);
+                        b.clear(i, j);
+                    }
+                }
+            }
+        }
+    }
+
+    static void same(BitSet b, packedBitSet p, String what) {
+        long size = p.size();
+        check.equal(b.cardinality(), p.cardinality(), what+" cardinality");
+        long rank = 0;
+        for(long i=0; i<size; i++) {
+            check.that(p.get(i) == b.get((int)i), what+" get("+i+")");
+            check.equal(rank, p.rank(i), what+" rank("+i+")");
+            if(p.get(i)) {
+                check.equal(i, p.select(rank), what+" select("+rank+")");
+                rank++;
+            }
+            check.equal(b.nextSetBit((int)i), p.nextSetBit(i), what+" nextSetBit("+i+")");
+            long clear = b.nextClearBit((int)i);
+            check.equal(clear < size ? clear : -1, p.nextClearBit(i), what+" nextClearBit("+i+")");
+        }
+        check.equal(rank, p.rank(size), what+" rank(size)");
+        check.equal(-1, p.select(rank), what+" select past the last bit");
+        check.equal(-1, p.nextSetBit(size), what+" nextSetBit(size)");
+        check.equal(-1, p.nextClearBit(size), what+" nextClearBit(size)");
+    }
+
+    public static void againstBitSet() {
+        Random r = new Random(42);
+        //word and block edges, and 100_000 for more than one select sample
+        int sizes[] = {1, 2, 63, 64, 65, 127, 511, 512, 513, 1000, 4097, 100_000};
+        for(int size : sizes) {
+            for(boolean offHeap : new boolean[] {false, true}) {
+                packedBitSet p = new packedBitSet(size, offHeap);
+                check.that(p.isOffHeap() == offHeap, "isOffHeap");
+                BitSet b = new BitSet(size);
+                same(b, p, "new set of "+size);
+                randomChanges(p, b, Math.min(size * 2, 3000), r);
+                same(b, p, "changed set of "+size+(offHeap ? " off heap" : ""));
+                //the rank / select index was built by same, it has to see the next change
+                p.flip(size - 1);
+                b.flip(size - 1);
+                same(b, p, "after a flip, set of "+size);
+            }
+        }
+    }
+
+    public static void dense() {
+        for(int size : new int[] {64, 130, 9000}) {
+            packedBitSet p = new packedBitSet(size);
+            p.set(0, size);
+            BitSet b = new BitSet();
+            b.set(0, size);
+            same(b, p, "every bit set, "+size);
+            check.equal(-1, p.nextClearBit(0), "no clear bit, "+size);
+        }
+    }
+
+    public static void bulk() {
+        Random r = new Random(7);
+        int size = 1000;
+        for(int op=0; op<4; op++) {
+            for(int layout=0; layout<4; layout++) {
+                packedBitSet p = new packedBitSet(size, (layout & 1) != 0);
+                packedBitSet q = new packedBitSet(size, (layout & 2) != 0);
+                BitSet a = new BitSet(), b = new BitSet();
+                randomChanges(p, a, 2000, r);
+                randomChanges(q, b, 2000, r);
+                p.rank(size); //build the index, the bulk operation has to drop it
+                if(op == 0) {
+                    p.and(q);
+                    a.and(b);
+                } else if(op == 1) {
+                    p.or(q);
+                    a.or(b);
+                } else if(op == 2) {
+                    p.xor(q);
+                    a.xor(b);
+                } else {
+                    p.andNot(q);
+                    a.andNot(b);
+                }
+                same(a, p, "bulk op "+op+", layout "+layout);
+            }
+        }
+        check.fails(IllegalArgumentException.class, () -> new packedBitSet(10).and(new packedBitSet(11)), "sizes differ");
+    }
+
+    public static void selectInWord() {
+        long words[] = {1L, Long.MIN_VALUE, -1L, 0x8000_0000_0000_0001L, 0x00FF_0000_0000_FF00L, 0x5555_5555_5555_5555L};
+        for(long x : words) {
+            int r = 0;
+            for(int bit=0; bit<64; bit++) {
+                if((x & (1L << bit)) != 0) {
+                    check.equal(bit, packedBitSet.selectInWord(x, r++), "selectInWord("+Long.toHexString(x)+")");
+                }
+            }
+        }
+    }
+
+    public static void emptyAndErrors() {
+        packedBitSet empty = new packedBitSet(0);
+        check.equal(0, empty.cardinality(), "empty cardinality");
+        check.equal(-1, empty.nextSetBit(0), "empty nextSetBit");
+        check.equal(-1, empty.nextClearBit(0), "empty nextClearBit");
+        check.equal(0, empty.rank(0), "empty rank");
+        check.equal(-1, empty.select(0), "empty select");
+        empty.set(0, 0);
+        check.equal(0, new packedBitSet(0, true).cardinality(), "empty off heap");
+
+        packedBitSet p = new packedBitSet(100);
+        check.fails(IllegalArgumentException.class, () -> new packedBitSet(-1), "negative size");
+        check.fails(IllegalArgumentException.class, () -> new packedBitSet(64L * Integer.MAX_VALUE), "too big for the heap");
+        check.fails(IndexOutOfBoundsException.class, () -> p.get(-1), "get(-1)");
+        check.fails(IndexOutOfBoundsException.class, () -> p.get(100), "get(size)");
+        check.fails(IndexOutOfBoundsException.class, () -> p.set(100), "set(size)");
+        check.fails(IndexOutOfBoundsException.class, () -> p.clear(Long.MIN_VALUE), "clear(MIN_VALUE)");
+        check.fails(IndexOutOfBoundsException.class, () -> p.flip(Long.MAX_VALUE), "flip(MAX_VALUE)");
+        check.fails(IndexOutOfBoundsException.class, () -> p.set(5, 4), "from > to");
+        check.fails(IndexOutOfBoundsException.class, () -> p.set(-1, 4), "from < 0");
+        check.fails(IndexOutOfBoundsException.class, () -> p.clear(0, 101), "to > size");
+        check.fails(IndexOutOfBoundsException.class, () -> p.nextSetBit(-1), "nextSetBit(-1)");
+        check.fails(IndexOutOfBoundsException.class, () -> p.nextClearBit(-1), "nextClearBit(-1)");
+        check.fails(IndexOutOfBoundsException.class, () -> p.rank(101), "rank(size + 1)");
+        check.fails(IndexOutOfBoundsException.class, () -> p.rank(-1), "rank(-1)");
+        check.equal(-1, p.select(-1), "select(-1)");
+        check.equal(-1, p.nextSetBit(Long.MAX_VALUE), "nextSetBit(MAX_VALUE)");
+        packedBitSet off = new packedBitSet(100, true);
+        check.fails(IndexOutOfBoundsException.class, () -> off.get(100), "off heap get(size)");
+        check.fails(IndexOutOfBoundsException.class, () -> off.set(-1), "off heap set(-1)");
+    }
+
+    // select groups of both kinds: spread out (every position kept) and dense (every 32nd kept)
+    public static void selectGroups() {
+        for(boolean offHeap : new boolean[] {false, true}) {
+            packedBitSet p = new packedBitSet(6_000_000, offHeap);
+            for(long i=0; i<1_500_000; i+=100) { //1024 bits over 102400 positions: sparse
+                p.set(i);
+            }
+            for(long i=1_500_000; i<3_000_000; i+=3) { //dense
+                p.set(i);
+            }
+            p.set(3_500_000, 3_600_000); //every bit
+            p.set(5_999_999); //a last group of one bit
+            long k = 0;
+            for(long i=p.nextSetBit(0); i>=0; i=p.nextSetBit(i+1)) {
+                check.equal(i, p.select(k), "select("+k+")"+(offHeap ? " off heap" : ""));
+                check.equal(k, p.rank(i), "rank("+i+")");
+                k++;
+            }
+            check.equal(k, p.cardinality(), "cardinality");
+            check.equal(-1, p.select(k), "select past the last bit");
+            boolean sparse = false, dense = false;
+            for(int e : p.selectEntry) {
+                sparse |= e < 0;
+                dense |= e >= 0;
+            }
+            check.that(sparse && dense, "both kinds of select groups");
+        }
+    }
+
+    public static void main(String[] args) {
+        againstBitSet();
+        dense();
+        bulk();
+        selectGroups();
+        selectInWord();
+        emptyAndErrors();
+        System.out.println("packedBitSetTest passed");
+    }
+}
@@ -1,4 +1,4 @@
-import java.util.*;
+import java.util.PrimitiveIterator;
 
 public class parameters 
 {
@@ -33,73 +33,72 @@ public class parameters
     }
 
     public static int binCoeff(int n, int r) {
-        int n_fact=factorial(n); //as n_fact is a static method, we can call it directly, here a is n
-        int r_fact=factorial(r); //as r_fact is a static method, we can call it directly, here b is r
-        int nmr_fact=factorial(n-r); //as nmr_fact is a static method, we can call it directly, here a-b is n-r
-
-        int binCoeff=n_fact/(r_fact*nmr_fact);
-        return binCoeff;
+        //n!/(r!*(n-r)!) with whole factorials overflows int from n=13 on,
+        //combinatorics.nCr multiplies one factor at a time and only fails if the answer itself is too big
+        return Math.toIntExact(combinatorics.nCr(n, r));
     }
 
     public static boolean isPrime(int n) {
-        boolean isPrime = true; //initializing isPrime as true
+        if(n < 2) { //0, 1 and negatives are not prime
+            return false;
+        }
         //looping from 2 to n-1
         for(int i=2; i<=n-1; i++) {
             if(n%i==0) { //if n is divisible by i
-                isPrime=false;
+                return false; //one divisor is enough, no need to check the rest
             }
         }
 
-        return isPrime;
+        return true;
     }
 
     public static boolean isPrime1(int n) {
-        boolean isPrime = true; //initializing isPrime as true
-        //looping from 2 to n-1
-        for(int i=2; i<=Math.sqrt(n); i++) {
+        if(n < 2) {
+            return false;
+        }
+        //looping from 2 to sqrt(n), i*i<=n is the same check without calling Math.sqrt every time
+        for(int i=2; (long)i*i<=n; i++) {
             if(n%i==0) { //if n is divisible by i
-                isPrime=false;
+                return false;
             }
         }
 
-        return isPrime;
+        return true;
     }
 
+    //for a whole range one sieve is much faster than calling isPrime1 for every i (see sieve.java)
     public static void primeInRange(int n) {
-        for(int i=2; i<=n; i++) {
-            if(isPrime1(i)) {
-                System.out.println(i);
-            }
+        if(n < 2) {
+            return;
         }
-        
+        sieve s = new sieve(n);
+        fastOutput out = fastOutput.out;
+        for(PrimitiveIterator.OfLong it = s.iterator(); it.hasNext(); ) {
+            out.print(it.nextLong()).println();
+        }
+        out.flush();
     }
 
+    // binNum holds binary digits written as a decimal number (binToDec(101) prints 5),
+    // the digits are converted with radixCodec instead of Math.pow for every digit
     public static void binToDec(int binNum) {
-        int decNum=0;
-        int i=0;
-        while(binNum!=0) {
-            int lastDigit=binNum%10;
-            decNum=decNum+lastDigit*(int)Math.pow(2, i);
-            binNum=binNum/10;
-            i++;
-        }
+        binToDec(Integer.toString(binNum));
+    }
+
+    // any length up to 64 binary digits, like binToDec("11111111111111111111")
+    public static void binToDec(String binNum) {
+        long decNum = radixCodec.BINARY.parse(binNum);
         System.out.println("Decimal number is "+decNum);
     }
 
-    public static void decToBin(int decNum) {
-        int binNum=0;
-        int i=0;
-        while(decNum!=0) {
-            int lastDigit=decNum%2;
-            binNum=binNum+lastDigit*(int)Math.pow(10, i);
-            decNum=decNum/2;
-            i++;
-        }
+    // the binary digits go in a String, an int of decimal digits only holds 10 of them
+    public static void decToBin(long decNum) {
+        String binNum = radixCodec.BINARY.toString(decNum);
         System.out.println("Binary number is "+binNum);
     }
 
     public static void main(String[] args) {
-        Scanner sc = new Scanner(System.in);
+        fastInput sc = fastInput.in;
 
         System.out.print("a = ");
         int a = sc.nextInt();
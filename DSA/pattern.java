@@ -1,4 +1,3 @@
-import java.util.Scanner;
 
 public class pattern {
 
@@ -10,49 +9,53 @@ public class pattern {
 	}
 
 	void star() {
+		fastOutput out = fastOutput.out;
 		for(int line=1; line<=4; line++) {
-			for(int star=1; star<=line; star++) {
-				System.out.print("*");
-			}
-			System.out.println();
+			out.repeat('*', line); //line stars
+			out.println();
 		}
+		out.flush();
 	}
 
 	void inverted() {
+		fastOutput out = fastOutput.out;
 		for (int line = 1; line <= 4; line++) {
-			for (int star = 4; star >= line; star--) {
-				System.out.print("*");
-			}
-			System.out.println();
+			out.repeat('*', 4 - line + 1); //stars from 4 down to line
+			out.println();
 		}
+		out.flush();
 	}
 
 	void halfPyramid() {
-		Scanner sc = new Scanner(System.in);
+		fastInput sc = fastInput.in;
 		
 		System.out.print("Enter a number: ");
 		int n = sc.nextInt();
+		fastOutput out = fastOutput.out;
 		for (int line = 1; line <= n; line++) {
 			for (int num = 1; num <= line; num++) {
-				System.out.print(num);
+				out.print(num);
 			}
-			System.out.println();
+			out.println();
 		}
+		out.flush();
 	}
 
 	void charPyramid() {
-		Scanner sc = new Scanner(System.in);
+		fastInput sc = fastInput.in;
 		char ch = 'A';
 
 		System.out.print("Enter a number: ");
 		int n = sc.nextInt();
+		fastOutput out = fastOutput.out;
 		for (int line = 1; line <= n; line++) {
 			for (int chars = 1; chars <= line; chars++) {
-				System.out.print(ch);
+				out.print(ch);
 				ch++;
 			}
-			System.out.println();
+			out.println();
 		}
+		out.flush();
 	}
 	
 
@@ -1,6 +1,7 @@
 public class patterns2 {
 
     public static void hollow_rectangle(int totRows, int totCols) {
+        fastOutput out = fastOutput.out;
 
         //outer loop for rows
         for(int i=1; i<=totRows; i++) {
@@ -11,13 +12,14 @@ public class patterns2 {
                 //if i is 1 or i is totRows or j is 1 or j is totCols(outer boundary)(cell - (i,j))
                 if(i==1 || i==totRows || j==1 || j==totCols) {
                     //boundary cells
-                    System.out.print("*");
+                    out.print('*');
                 } else {
-                    System.out.print(" ");
+                    out.print(' ');
                 }
             }
-            System.out.println();
+            out.println();
         }
+        out.flush();
     }
     public static void main(String[] args) {
         //hollow_rectangle(5, 6);
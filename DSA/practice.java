@@ -3,14 +3,15 @@ import java.util.*;
 public class practice 
 {
     public static void pairArr(int arr[]) {
+        fastOutput out = fastOutput.out;
         for(int i=0; i<arr.length; i++) {
             int curr=arr[i];
 
             for(int j=i+1; j<arr.length; j++) {
-                System.out.print("("+curr+","+arr[j]+") ");
+                out.print('(').print(curr).print(',').print(arr[j]).print(") ");
             }
         }
-        System.out.println();
+        out.println().flush();
 
     }
 
@@ -0,0 +1,271 @@
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+// Conversion between longs and ASCII digits in any base from 2 to 36, for single numbers and
+// for whole dumps of numbers in ByteBuffers (hex or binary files, one number per token).
+// parameters.binToDec / decToBin keep the binary number as decimal digits inside an int and
+// call Math.pow for every digit, so they break above 1023 (10 binary digits) and are slow.
+//
+// Everything goes through two tables:
+//  DIGITS[d]   the ASCII character of digit d ('0'-'9', then 'a'-'z')
+//  VALUE[c]    the digit of ASCII character c (upper or lower case), 36 if c is not a digit
+// For bases 2, 4, 8, 16 and 32 a digit is a group of bits, so both directions are shifts
+// and masks. Other bases divide by base^2 and write two digits at a time from a table.
+//
+// Text form: an optional '-' and the digits. Digits are read as an unsigned 64 bit number,
+// so a full 64 bit hex pattern like ffffffffffffffff comes back as -1 (like Long.parseUnsignedLong).
+// A signed codec writes Long.toString(x, base), an unsigned one Long.toUnsignedString(x, base).
+// In a buffer the tokens are separated by spaces, tabs, new lines or commas.
+public class radixCodec {
+
+    static final byte DIGITS[] = "0123456789abcdefghijklmnopqrstuvwxyz".getBytes(StandardCharsets.US_ASCII);
+    static final byte VALUE[] = new byte[256];
+    static final boolean SEPARATOR[] = new boolean[256];
+    static final int MAX_DIGITS = 64; //binary digits of a 64 bit number
+    static final int MAX_CHARS = MAX_DIGITS + 1; //and a '-'
+
+    static {
+        Arrays.fill(VALUE, (byte)36);
+        for(int d=0; d<36; d++) {
+            VALUE[DIGITS[d]] = (byte)d;
+            VALUE[Character.toUpperCase(DIGITS[d])] = (byte)d;
+        }
+        for(char c : new char[]{' ', '\t', '\n', '\r', ','}) {
+            SEPARATOR[c] = true;
+        }
+    }
+
+    static final radixCodec CODECS[] = new radixCodec[37];
+    static {
+        for(int base=2; base<=36; base++) {
+            CODECS[base] = new radixCodec(base, false);
+        }
+    }
+    public static final radixCodec BINARY = CODECS[2];
+    public static final radixCodec DECIMAL = CODECS[10];
+    public static final radixCodec HEX = CODECS[16];
+
+    final int base;
+    final boolean unsigned;
+    final int shift; //bits per digit for power of two bases, else 0
+    final long maxBeforeMultiply; //largest v with v*base + d still fitting in 64 unsigned bits...
+    final int maxLastDigit; //...when d <= this for v == maxBeforeMultiply
+    final byte pairs[]; //two digit table for the other bases: pairs[2r], pairs[2r+1] are the digits of r < base^2
+
+    // shared signed codec for base
+    public static radixCodec of(int base) {
+        if(base < 2 || base > 36) {
+            throw new IllegalArgumentException("Base must be in [2, 36]: "+base);
+        }
+        return CODECS[base];
+    }
+
+    public radixCodec(int base, boolean unsigned) {
+        if(base < 2 || base > 36) {
+            throw new IllegalArgumentException("Base must be in [2, 36]: "+base);
+        }
+        this.base = base;
+        this.unsigned = unsigned;
+        this.shift = Integer.bitCount(base) == 1 ? Integer.numberOfTrailingZeros(base) : 0;
+        this.maxBeforeMultiply = Long.divideUnsigned(-1L, base);
+        this.maxLastDigit = (int)Long.remainderUnsigned(-1L, base);
+        if(shift == 0) {
+            pairs = new byte[2 * base * base];
+            for(int r=0; r<base*base; r++) {
+                pairs[2*r] = DIGITS[r / base];
+                pairs[2*r + 1] = DIGITS[r % base];
+            }
+        } else {
+            pairs = null;
+        }
+    }
+
+    public int base() {
+        return base;
+    }
+
+    public long parse(CharSequence s) {
+        int n = s.length();
+        if(n == 0) {
+            throw new NumberFormatException("Empty number");
+        }
+        boolean negative = s.charAt(0) == '-';
+        int i = negative ? 1 : 0;
+        if(i == n) {
+            throw new NumberFormatException("No digits in \""+s+"\"");
+        }
+        long v = 0;
+        for(; i<n; i++) {
+            char c = s.charAt(i);
+            int d = c < 256 ? VALUE[c] : 36;
+            if(d >= base) {
+                throw new NumberFormatException("\""+s+"\" is not a base "+base+" number");
+            }
+            if(!fits(v, d)) {
+                throw new NumberFormatException("\""+s+"\" does not fit in 64 bits");
+            }
+            v = append(v, d);
+        }
+        return finish(v, negative, s);
+    }
+
+    // can v*base + d (v << shift | d) still be held in 64 unsigned bits
+    boolean fits(long v, int d) {
+        if(shift != 0) {
+            return (v >>> (64 - shift)) == 0;
+        }
+        return Long.compareUnsigned(v, maxBeforeMultiply) < 0 || (v == maxBeforeMultiply && d <= maxLastDigit);
+    }
+
+    long append(long v, int d) {
+        return shift != 0 ? (v << shift) | d : v * base + d;
+    }
+
+    // -magnitude, or magnitude itself if there was no '-'
+    static long finish(long magnitude, boolean negative, CharSequence s) {
+        if(!negative) {
+            return magnitude;
+        }
+        //-2^63 is the most negative long, its magnitude 2^63 reads back as Long.MIN_VALUE
+        if(Long.compareUnsigned(magnitude, Long.MIN_VALUE) > 0) {
+            throw new NumberFormatException("\""+s+"\" does not fit in a signed long");
+        }
+        return -magnitude;
+    }
+
+    // Reads numbers from in (position to limit) into out[from..to), returns the index after
+    // the last one written. Stops when out is full or the buffer runs out. If the buffer ends
+    // inside a number that may continue in the next read, the position is left at its start
+    // (so in.compact() keeps it), unless endOfInput says there is nothing more to come.
+    // A token may have at most MAX_DIGITS digits (leading zeros count), so a buffer of more than
+    // MAX_CHARS bytes always holds a whole number or its error, and a read/compact loop moves on.
+    public int decode(ByteBuffer in, long out[], int from, int to, boolean endOfInput) {
+        if(!endOfInput && in.capacity() <= MAX_CHARS) {
+            throw new IllegalArgumentException("Buffer of "+in.capacity()+" bytes, a number can take "+MAX_CHARS);
+        }
+        int pos = in.position(), limit = in.limit();
+        int k = from;
+        while(k < to) {
+            while(pos < limit && SEPARATOR[in.get(pos) & 0xFF]) {
+                pos++;
+            }
+            if(pos == limit) {
+                break;
+            }
+            int start = pos;
+            boolean negative = in.get(pos) == '-';
+            if(negative) {
+                pos++;
+            }
+            long v = 0;
+            int digits = 0;
+            while(pos < limit) {
+                int c = in.get(pos) & 0xFF;
+                int d = VALUE[c];
+                if(d >= base) {
+                    if(!SEPARATOR[c]) {
+                        throw new NumberFormatException("Byte '"+(char)c+"' at "+pos+" is not a base "+base+" digit");
+                    }
+                    break;
+                }
+                if(!fits(v, d)) {
+                    throw new NumberFormatException("Number at "+start+" does not fit in 64 bits");
+                }
+                if(++digits > MAX_DIGITS) {
+                    throw new NumberFormatException("Number at "+start+" has more than "+MAX_DIGITS+" digits");
+                }
+                v = append(v, d);
+                pos++;
+            }
+            if(pos == limit && !endOfInput) {
+                pos = start; //might go on in the next block
+                break;
+            }
+            if(digits == 0) {
+                throw new NumberFormatException("No digits at "+start);
+            }
+            if(negative && Long.compareUnsigned(v, Long.MIN_VALUE) > 0) {
+                throw new NumberFormatException("Number at "+start+" does not fit in a signed long");
+            }
+            out[k++] = negative ? -v : v;
+        }
+        in.position(pos);
+        return k;
+    }
+
+    public String toString(long x) {
+        byte tmp[] = new byte[MAX_CHARS];
+        int start = write(x, tmp);
+        return new String(tmp, start, MAX_CHARS - start, StandardCharsets.US_ASCII);
+    }
+
+    // writes the digits of x right aligned at the end of tmp, returns where they start
+    int write(long x, byte tmp[]) {
+        int p = tmp.length;
+        boolean negative = !unsigned && x < 0;
+        long v = negative ? -x : x; //-MIN_VALUE is MIN_VALUE again, which is 2^63 unsigned: right
+        if(shift != 0) {
+            int mask = base - 1;
+            do {
+                tmp[--p] = DIGITS[(int)v & mask];
+                v >>>= shift;
+            } while(v != 0);
+        } else {
+            if(v < 0) { //top bit set: one unsigned division, then everything fits in a signed long
+                long q = Long.divideUnsigned(v, base);
+                tmp[--p] = DIGITS[(int)(v - q * base)];
+                v = q;
+            }
+            int base2 = base * base;
+            while(v >= base2) {
+                long q = v / base2;
+                int r = (int)(v - q * base2);
+                tmp[--p] = pairs[2*r + 1];
+                tmp[--p] = pairs[2*r];
+                v = q;
+            }
+            if(v >= base) {
+                tmp[--p] = pairs[2*(int)v + 1];
+                tmp[--p] = pairs[2*(int)v];
+            } else {
+                tmp[--p] = DIGITS[(int)v];
+            }
+        }
+        if(negative) {
+            tmp[--p] = '-';
+        }
+        return p;
+    }
+
+    // Writes values[from..to) into out, each followed by separator, returns the index after the
+    // last one written. Stops early (without cutting a number) when out is full.
+    public int encode(long values[], int from, int to, ByteBuffer out, byte separator) {
+        byte tmp[] = new byte[MAX_CHARS];
+        int k = from;
+        for(; k<to; k++) {
+            int start = write(values[k], tmp);
+            int len = MAX_CHARS - start;
+            if(out.remaining() < len + 1) {
+                break;
+            }
+            out.put(tmp, start, len).put(separator);
+        }
+        return k;
+    }
+
+    public static void main(String[] args) {
+        System.out.println("1111111111 (binary) = "+BINARY.parse("1111111111"));
+        System.out.println("2024 in binary = "+BINARY.toString(2024));
+        System.out.println("-255 in hex = "+HEX.toString(-255)+", ffffffffffffffff = "+HEX.parse("ffffffffffffffff"));
+
+        long values[] = {0, 1, 42, -7, Long.MAX_VALUE, Long.MIN_VALUE};
+        ByteBuffer buf = ByteBuffer.allocate(1 << 10);
+        of(36).encode(values, 0, values.length, buf, (byte)' ');
+        buf.flip();
+        System.out.print("base 36: "+StandardCharsets.US_ASCII.decode(buf.duplicate()));
+        long back[] = new long[values.length];
+        int n = of(36).decode(buf, back, 0, back.length, true);
+        System.out.println("\nread back "+n+": "+Arrays.toString(back));
+    }
+}
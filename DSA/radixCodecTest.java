@@ -0,0 +1,127 @@
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+// radixCodec against Long.toString / Long.parseLong and their unsigned versions, see check.java
+public class radixCodecTest {
+
+    static long[] values() {
+        Random r = new Random(20);
+        long values[] = new long[200];
+        long fixed[] = {0, 1, -1, 35, 36, -36, Long.MAX_VALUE, Long.MIN_VALUE, Long.MIN_VALUE + 1,
+                        Integer.MAX_VALUE, Integer.MIN_VALUE};
+        System.arraycopy(fixed, 0, values, 0, fixed.length);
+        for(int i=fixed.length; i<values.length; i++) {
+            values[i] = r.nextLong() >> r.nextInt(64);
+        }
+        return values;
+    }
+
+    public static void single() {
+        for(int base=2; base<=36; base++) {
+            radixCodec signed = radixCodec.of(base), unsigned = new radixCodec(base, true);
+            for(long x : values()) {
+                String s = Long.toString(x, base), u = Long.toUnsignedString(x, base);
+                check.equal(s, signed.toString(x), "toString("+x+", "+base+")");
+                check.equal(u, unsigned.toString(x), "unsigned toString("+x+", "+base+")");
+                check.equal(x, signed.parse(s), "parse "+s+" base "+base);
+                check.equal(x, signed.parse(u), "parse unsigned "+u+" base "+base);
+                check.equal(x, signed.parse(s.toUpperCase()), "upper case "+s+" base "+base);
+            }
+            String max = Long.toUnsignedString(-1L, base);
+            check.equal(-1, signed.parse(max), "2^64 - 1 in base "+base);
+            check.equal(0, signed.parse("0".repeat(100)), "leading zeros, base "+base);
+            check.fails(NumberFormatException.class, () -> signed.parse(max + "0"), "one digit past 2^64, base "+base);
+            check.fails(NumberFormatException.class, () -> signed.parse("-" + max), "-(2^64 - 1), base "+base);
+        }
+        check.equal(Long.MIN_VALUE, radixCodec.HEX.parse("-8000000000000000"), "-2^63");
+        check.fails(NumberFormatException.class, () -> radixCodec.HEX.parse("-8000000000000001"), "-2^63 - 1");
+        check.fails(NumberFormatException.class, () -> radixCodec.DECIMAL.parse(""), "empty");
+        check.fails(NumberFormatException.class, () -> radixCodec.DECIMAL.parse("-"), "only a sign");
+        check.fails(NumberFormatException.class, () -> radixCodec.DECIMAL.parse("12a"), "a in base 10");
+        check.fails(NumberFormatException.class, () -> radixCodec.BINARY.parse("102"), "2 in base 2");
+        check.fails(NumberFormatException.class, () -> radixCodec.DECIMAL.parse("1\u0661"), "non ASCII digit");
+        check.fails(IllegalArgumentException.class, () -> radixCodec.of(1), "base 1");
+        check.fails(IllegalArgumentException.class, () -> new radixCodec(37, false), "base 37");
+    }
+
+    // encodes all values through a buffer of size bytes and decodes them back with a compact loop
+    static void roundTrip(radixCodec codec, long values[], int size) {
+        ByteBuffer text = ByteBuffer.allocate(70 * values.length);
+        check.equal(values.length, codec.encode(values, 0, values.length, text, (byte)'\n'), "encode all");
+        text.flip();
+        ByteBuffer buf = ByteBuffer.allocate(size);
+        long back[] = new long[values.length];
+        int k = 0, rounds = 0;
+        while(k < back.length) {
+            while(buf.hasRemaining() && text.hasRemaining()) {
+                buf.put(text.get());
+            }
+            buf.flip();
+            k = codec.decode(buf, back, k, back.length, !text.hasRemaining());
+            buf.compact();
+            check.that(++rounds < 100_000, "decode makes progress, buffer "+size);
+        }
+        check.equal(values, back, "round trip in base "+codec.base()+", buffer "+size);
+    }
+
+    public static void buffers() {
+        long values[] = values();
+        for(int base : new int[] {2, 3, 10, 16, 36}) {
+            for(int size : new int[] {radixCodec.MAX_CHARS + 1, 100, 1 << 12}) {
+                roundTrip(radixCodec.of(base), values, size);
+                roundTrip(new radixCodec(base, true), values, size);
+            }
+        }
+        //separators: spaces, tabs, commas, CRLF, and several in a row
+        ByteBuffer in = ByteBuffer.wrap(" 1,\t-2\r\n\r\nff ,,10".getBytes(StandardCharsets.US_ASCII));
+        long out[] = new long[4];
+        check.equal(4, radixCodec.HEX.decode(in, out, 0, 4, true), "count");
+        check.equal(new long[] {1, -2, 255, 16}, out, "mixed separators");
+        //out full: stops before the next number
+        in = ByteBuffer.wrap("1 2 3".getBytes(StandardCharsets.US_ASCII));
+        check.equal(2, radixCodec.DECIMAL.decode(in, new long[2], 0, 2, true), "stops when out is full");
+        check.equal(3, radixCodec.DECIMAL.decode(in, new long[1], 0, 1, true) + 2, "the third one is still there");
+        //a number cut by the end of the buffer stays for the next read
+        in = ByteBuffer.wrap("12 34".getBytes(StandardCharsets.US_ASCII));
+        ByteBuffer big = ByteBuffer.allocate(100).put(in).flip();
+        check.equal(1, radixCodec.DECIMAL.decode(big, new long[2], 0, 2, false), "34 might go on");
+        check.equal(3, big.position(), "34 left in the buffer");
+        //encode stops without cutting a number
+        ByteBuffer small = ByteBuffer.allocate(6);
+        check.equal(1, radixCodec.DECIMAL.encode(new long[] {123, 456}, 0, 2, small, (byte)' '), "one fits");
+        check.equal(4, small.position(), "123 and a space");
+    }
+
+    public static void errors() {
+        //a buffer full of digits and no separator used to come back with nothing read, forever
+        ByteBuffer full = ByteBuffer.allocate(100);
+        while(full.hasRemaining()) {
+            full.put((byte)'0');
+        }
+        full.flip();
+        check.fails(NumberFormatException.class, () -> radixCodec.BINARY.decode(full, new long[1], 0, 1, false),
+                    "100 digits in one token");
+        ByteBuffer ok = ByteBuffer.wrap(("-"+"1".repeat(63)+" "+"0".repeat(64)).getBytes(StandardCharsets.US_ASCII));
+        long out[] = new long[2];
+        check.equal(2, radixCodec.BINARY.decode(ok, out, 0, 2, true), "64 digits still fit");
+        check.equal(new long[] {-Long.MAX_VALUE, 0}, out, "the longest tokens");
+        check.fails(IllegalArgumentException.class,
+                    () -> radixCodec.DECIMAL.decode(ByteBuffer.allocate(radixCodec.MAX_CHARS), new long[1], 0, 1, false),
+                    "buffer that cannot hold every number");
+        radixCodec.DECIMAL.decode(ByteBuffer.allocate(8).flip(), new long[1], 0, 1, true); //fine at the end of input
+        String bad[] = {"12x", "-", "- 5", "99999999999999999999", "-9223372036854775809"};
+        for(String b : bad) {
+            ByteBuffer in = ByteBuffer.wrap(b.getBytes(StandardCharsets.US_ASCII));
+            check.fails(NumberFormatException.class, () -> radixCodec.DECIMAL.decode(in, new long[2], 0, 2, true),
+                        "decode \""+b+"\"");
+        }
+    }
+
+    public static void main(String[] args) {
+        single();
+        buffers();
+        errors();
+        System.out.println("radixCodecTest passed");
+    }
+}
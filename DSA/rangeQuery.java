@@ -0,0 +1,203 @@
+import java.util.Objects;
+
+// Range queries over an int array without adding up the range again every time
+// (arrays2.maxSubarraySum1 and arrays.printSubArray redo O(n) work per subarray).
+// Ranges are [l, r] with both ends inclusive, like arr[i..j] in arrays.java.
+//
+//  prefixSum    array never changes   sum O(1)                      build O(n)
+//  fenwick      point updates         sum O(log n), update O(log n)  build O(n)
+//  sparseTable  array never changes   min/max O(1)                   build O(n log n)
+//  segmentTree  point updates         min/max O(log n), update O(log n)  build O(n)
+//
+// Everything is primitive arrays, sums are long so they do not overflow.
+public class rangeQuery {
+
+    static void checkRange(int l, int r, int n) {
+        if(l < 0 || r >= n || l > r) {
+            throw new IndexOutOfBoundsException("Range ["+l+", "+r+"] out of bounds for length "+n);
+        }
+    }
+
+    public static class prefixSum {
+        final long prefix[]; //prefix[k] = arr[0] + ... + arr[k-1]
+
+        public prefixSum(int arr[]) {
+            prefix = arrayCursors.prefixSums(arr);
+        }
+
+        public long sum(int l, int r) {
+            checkRange(l, r, prefix.length - 1);
+            return prefix[r+1] - prefix[l];
+        }
+    }
+
+    // Binary indexed tree: tree[k] (1 based) holds the sum of the last lowbit(k) elements up to k
+    public static class fenwick {
+        final int n;
+        final long tree[];
+        final int values[]; //current values, needed by set()
+
+        public fenwick(int arr[]) {
+            n = arr.length;
+            values = arr.clone();
+            tree = new long[n + 1];
+            //O(n) build: every node pushes its sum up to its parent once
+            for(int k=1; k<=n; k++) {
+                tree[k] += arr[k-1];
+                int parent = k + (k & -k);
+                if(parent <= n) {
+                    tree[parent] += tree[k];
+                }
+            }
+        }
+
+        public void add(int i, int delta) {
+            set(i, values[i] + delta);
+        }
+
+        public void set(int i, int value) {
+            long delta = (long)value - values[i]; //as long: int - int can overflow
+            values[i] = value;
+            for(int k=i+1; k<=n; k+=k & -k) {
+                tree[k] += delta;
+            }
+        }
+
+        public int get(int i) {
+            return values[i];
+        }
+
+        // sum of arr[0..i-1]
+        public long prefix(int i) {
+            long sum = 0;
+            for(int k=i; k>0; k-=k & -k) {
+                sum += tree[k];
+            }
+            return sum;
+        }
+
+        public long sum(int l, int r) {
+            checkRange(l, r, n);
+            return prefix(r+1) - prefix(l);
+        }
+    }
+
+    // min[k][i] / max[k][i] = min / max of arr[i .. i + 2^k - 1]
+    // any range is covered by two (overlapping) blocks of the same power of two
+    public static class sparseTable {
+        final int n;
+        final int min[][], max[][];
+
+        public sparseTable(int arr[]) {
+            n = arr.length;
+            int levels = n == 0 ? 1 : 32 - Integer.numberOfLeadingZeros(n);
+            min = new int[levels][];
+            max = new int[levels][];
+            min[0] = arr.clone();
+            max[0] = arr.clone();
+            for(int k=1; k<levels; k++) {
+                int half = 1 << (k-1);
+                int len = n - (1 << k) + 1;
+                min[k] = new int[len];
+                max[k] = new int[len];
+                for(int i=0; i<len; i++) {
+                    min[k][i] = Math.min(min[k-1][i], min[k-1][i+half]);
+                    max[k][i] = Math.max(max[k-1][i], max[k-1][i+half]);
+                }
+            }
+        }
+
+        public int min(int l, int r) {
+            checkRange(l, r, n);
+            int k = 31 - Integer.numberOfLeadingZeros(r - l + 1);
+            return Math.min(min[k][l], min[k][r - (1 << k) + 1]);
+        }
+
+        public int max(int l, int r) {
+            checkRange(l, r, n);
+            int k = 31 - Integer.numberOfLeadingZeros(r - l + 1);
+            return Math.max(max[k][l], max[k][r - (1 << k) + 1]);
+        }
+    }
+
+    // Bottom up segment tree in one array of 2n: leaves at n..2n-1, node k has children 2k and 2k+1
+    public static class segmentTree {
+        final int n;
+        final int min[], max[];
+
+        public segmentTree(int arr[]) {
+            n = arr.length;
+            min = new int[2*n];
+            max = new int[2*n];
+            for(int i=0; i<n; i++) {
+                min[n+i] = arr[i];
+                max[n+i] = arr[i];
+            }
+            for(int k=n-1; k>0; k--) {
+                min[k] = Math.min(min[2*k], min[2*k+1]);
+                max[k] = Math.max(max[2*k], max[2*k+1]);
+            }
+        }
+
+        public void set(int i, int value) {
+            int k = Objects.checkIndex(i, n) + n; //a negative i would land on an inner node
+            min[k] = value;
+            max[k] = value;
+            for(k>>=1; k>0; k>>=1) {
+                min[k] = Math.min(min[2*k], min[2*k+1]);
+                max[k] = Math.max(max[2*k], max[2*k+1]);
+            }
+        }
+
+        public int get(int i) {
+            return min[Objects.checkIndex(i, n) + n];
+        }
+
+        public int min(int l, int r) {
+            checkRange(l, r, n);
+            int result = Integer.MAX_VALUE;
+            //walk up from both ends, taking the nodes that hang just inside the range
+            for(int lo=l+n, hi=r+n+1; lo<hi; lo>>=1, hi>>=1) {
+                if((lo & 1) == 1) {
+                    result = Math.min(result, min[lo++]);
+                }
+                if((hi & 1) == 1) {
+                    result = Math.min(result, min[--hi]);
+                }
+            }
+            return result;
+        }
+
+        public int max(int l, int r) {
+            checkRange(l, r, n);
+            int result = Integer.MIN_VALUE;
+            for(int lo=l+n, hi=r+n+1; lo<hi; lo>>=1, hi>>=1) {
+                if((lo & 1) == 1) {
+                    result = Math.max(result, max[lo++]);
+                }
+                if((hi & 1) == 1) {
+                    result = Math.max(result, max[--hi]);
+                }
+            }
+            return result;
+        }
+    }
+
+    public static void main(String[] args) {
+        int arr[] = {1, -2, 6, -1, 3, 8, -5};
+
+        prefixSum ps = new prefixSum(arr);
+        System.out.println("Sum of [2, 4]: "+ps.sum(2, 4));
+
+        fenwick fw = new fenwick(arr);
+        fw.set(3, 10);
+        System.out.println("Sum of [2, 4] after arr[3] = 10: "+fw.sum(2, 4));
+
+        sparseTable st = new sparseTable(arr);
+        System.out.println("Min / max of [1, 5]: "+st.min(1, 5)+" / "+st.max(1, 5));
+
+        segmentTree seg = new segmentTree(arr);
+        seg.set(5, -9);
+        System.out.println("Min / max of [1, 5] after arr[5] = -9: "+seg.min(1, 5)+" / "+seg.max(1, 5));
+    }
+}
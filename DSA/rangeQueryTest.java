@@ -0,0 +1,98 @@
+import java.util.Random;
+
+// rangeQuery against loops over the range, see check.java
+public class rangeQueryTest {
+
+    // every range of arr on all four structures
+    static void allRanges(int arr[], rangeQuery.prefixSum ps, rangeQuery.fenwick fw, rangeQuery.sparseTable st,
+                          rangeQuery.segmentTree seg, String what) {
+        for(int l=0; l<arr.length; l++) {
+            long sum = 0;
+            int min = Integer.MAX_VALUE, max = Integer.MIN_VALUE;
+            for(int r=l; r<arr.length; r++) {
+                sum += arr[r];
+                min = Math.min(min, arr[r]);
+                max = Math.max(max, arr[r]);
+                String range = what+" ["+l+", "+r+"]";
+                if(ps != null) {
+                    check.equal(sum, ps.sum(l, r), range+": prefixSum");
+                }
+                if(st != null) {
+                    check.equal(min, st.min(l, r), range+": sparseTable min");
+                    check.equal(max, st.max(l, r), range+": sparseTable max");
+                }
+                check.equal(sum, fw.sum(l, r), range+": fenwick");
+                check.equal(min, seg.min(l, r), range+": segmentTree min");
+                check.equal(max, seg.max(l, r), range+": segmentTree max");
+            }
+        }
+    }
+
+    public static void staticArrays() {
+        Random r = new Random(12);
+        for(int n=1; n<=40; n++) {
+            int arr[] = r.ints(n, -100, 100).toArray();
+            allRanges(arr, new rangeQuery.prefixSum(arr), new rangeQuery.fenwick(arr), new rangeQuery.sparseTable(arr),
+                      new rangeQuery.segmentTree(arr), "n = "+n);
+        }
+        int limits[] = {Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MAX_VALUE, Integer.MIN_VALUE};
+        allRanges(limits, new rangeQuery.prefixSum(limits), new rangeQuery.fenwick(limits),
+                  new rangeQuery.sparseTable(limits), new rangeQuery.segmentTree(limits), "MIN/MAX");
+    }
+
+    public static void updates() {
+        Random r = new Random(13);
+        int n = 37;
+        int arr[] = r.ints(n, -100, 100).toArray();
+        rangeQuery.fenwick fw = new rangeQuery.fenwick(arr);
+        rangeQuery.segmentTree seg = new rangeQuery.segmentTree(arr);
+        for(int round=0; round<50; round++) {
+            int i = r.nextInt(n);
+            int value = round % 10 == 0 ? Integer.MIN_VALUE : round % 10 == 1 ? Integer.MAX_VALUE : r.nextInt(200) - 100;
+            if(round % 2 == 0) {
+                fw.set(i, value);
+            } else {
+                fw.add(i, value - arr[i]); //int arithmetic wraps, so this lands on value too
+            }
+            seg.set(i, value);
+            arr[i] = value;
+            check.equal(value, fw.get(i), "fenwick get after update "+round);
+            check.equal(value, seg.get(i), "segmentTree get after update "+round);
+            allRanges(arr, null, fw, null, seg, "after update "+round);
+        }
+    }
+
+    public static void errors() {
+        int arr[] = {1, 2, 3};
+        rangeQuery.prefixSum ps = new rangeQuery.prefixSum(arr);
+        rangeQuery.fenwick fw = new rangeQuery.fenwick(arr);
+        rangeQuery.sparseTable st = new rangeQuery.sparseTable(arr);
+        rangeQuery.segmentTree seg = new rangeQuery.segmentTree(arr);
+        int bad[][] = {{-1, 0}, {0, 3}, {2, 1}, {Integer.MIN_VALUE, Integer.MAX_VALUE}};
+        for(int b[] : bad) {
+            String range = "["+b[0]+", "+b[1]+"]";
+            check.fails(IndexOutOfBoundsException.class, () -> ps.sum(b[0], b[1]), "prefixSum "+range);
+            check.fails(IndexOutOfBoundsException.class, () -> fw.sum(b[0], b[1]), "fenwick "+range);
+            check.fails(IndexOutOfBoundsException.class, () -> st.min(b[0], b[1]), "sparseTable "+range);
+            check.fails(IndexOutOfBoundsException.class, () -> seg.max(b[0], b[1]), "segmentTree "+range);
+        }
+        check.fails(IndexOutOfBoundsException.class, () -> seg.set(-1, 0), "segmentTree set(-1)");
+        check.fails(IndexOutOfBoundsException.class, () -> seg.set(3, 0), "segmentTree set(n)");
+        check.fails(IndexOutOfBoundsException.class, () -> seg.get(-1), "segmentTree get(-1)");
+        check.fails(IndexOutOfBoundsException.class, () -> fw.set(3, 0), "fenwick set(n)");
+        check.equal(1, seg.min(0, 2), "set(-1) left the tree alone");
+
+        int empty[] = {};
+        check.fails(IndexOutOfBoundsException.class, () -> new rangeQuery.prefixSum(empty).sum(0, 0), "empty prefixSum");
+        check.fails(IndexOutOfBoundsException.class, () -> new rangeQuery.fenwick(empty).sum(0, 0), "empty fenwick");
+        check.fails(IndexOutOfBoundsException.class, () -> new rangeQuery.sparseTable(empty).min(0, 0), "empty sparseTable");
+        check.fails(IndexOutOfBoundsException.class, () -> new rangeQuery.segmentTree(empty).min(0, 0), "empty segmentTree");
+    }
+
+    public static void main(String[] args) {
+        staticArrays();
+        updates();
+        errors();
+        System.out.println("rangeQueryTest passed");
+    }
+}
@@ -48,6 +48,68 @@ public class recursion {
         fibo(b, c, n-1); // Recursive call with the next two Fibonacci numbers
     }
 
+    // Stack safe versions of printNo, sumNatural, factorial and fibo.
+    // The pending work moves into an accumulator so every recursive call is a tail call,
+    // and trampoline.run makes those calls in a loop: n = 10^8 needs no more stack than n = 1.
+
+    public static void printNoSafe(int n) {
+        if(n < 0) {
+            throw new IllegalArgumentException("n must not be negative: "+n);
+        }
+        trampoline.run(n, 0, 0, f -> {
+            if(f.n == 0) {
+                f.finish(0);
+                return;
+            }
+            System.out.println(f.n);
+            f.call(f.n - 1, 0, 0);
+        });
+    }
+
+    // sum(n, acc) = sum(n-1, acc+n), in long so it does not overflow for any int n
+    public static long sumNaturalSafe(int n) {
+        if(n < 0) {
+            throw new IllegalArgumentException("n must not be negative: "+n);
+        }
+        return trampoline.run(n, 0, 0, f -> {
+            if(f.n == 0) {
+                f.finish(f.a);
+            } else {
+                f.call(f.n - 1, f.a + f.n, 0);
+            }
+        });
+    }
+
+    // fact(n, acc) = fact(n-1, acc*n), ArithmeticException past 20! instead of a wrong int
+    public static long factorialSafe(int n) {
+        if(n < 0) {
+            throw new IllegalArgumentException("n must not be negative: "+n);
+        }
+        return trampoline.run(n, 1, 0, f -> {
+            if(f.n <= 1) {
+                f.finish(f.a);
+            } else {
+                f.call(f.n - 1, Math.multiplyExact(f.a, f.n), 0);
+            }
+        });
+    }
+
+    // terms are long, so they wrap after F(92) (the int ones after F(46)), exact values are in fastFibonacci
+    public static void fiboSafe(long a, long b, int n) {
+        if(n < 0) {
+            throw new IllegalArgumentException("n must not be negative: "+n);
+        }
+        trampoline.run(n, a, b, f -> {
+            if(f.n == 0) {
+                f.finish(0);
+                return;
+            }
+            long c = f.a + f.b;
+            System.out.println(c);
+            f.call(f.n - 1, f.b, c);
+        });
+    }
+
     public static int calcPower(int x, int n) {
         if (n==0) {
             return 1; // Base case: if n is 0, return 1
@@ -60,6 +122,41 @@ public class recursion {
         return x * calcPower(x, n - 1); // Recursive call to calculate power
     }
 
+    // Memoized factorial and calcPower: results are kept in a bounded memoCache, so calls with
+    // overlapping arguments reuse what was computed before (factorialMemo(20) after
+    // factorialMemo(19) is one multiplication). Same int results as the plain versions.
+    // The functions handed to the cache are static methods that read everything from the key,
+    // so no lambda is created per call. calcPowerMemo halves n like calcPower2, so x^n needs
+    // about log2(n) cached entries instead of n, and recurses only that deep.
+    static final memoCache FACTORIAL_CACHE = new memoCache(1 << 12);
+    static final memoCache POWER_CACHE = new memoCache(1 << 16);
+
+    public static int factorialMemo(int n) {
+        return (int)FACTORIAL_CACHE.get(n, recursion::factorialOf);
+    }
+
+    static long factorialOf(long key) {
+        int n = (int)key;
+        return n <= 1 ? 1 : n * factorialMemo(n - 1);
+    }
+
+    public static int calcPowerMemo(int x, int n) {
+        //both arguments in one long key
+        return (int)POWER_CACHE.get(arrayCursors.pack(x, n), recursion::powerOf);
+    }
+
+    static long powerOf(long key) {
+        int x = arrayCursors.first(key), n = arrayCursors.second(key);
+        if(n == 0) {
+            return 1;
+        }
+        if(x == 0) {
+            return 0;
+        }
+        int half = calcPowerMemo(x, n/2);
+        return n%2 == 0 ? half * half : half * half * x;
+    }
+
     public static int calcPower2(int x, int n) {
         if (n==0) {
             return 1; // Base case: if n is 0, return 1
@@ -69,10 +166,11 @@ public class recursion {
             return 0; // Base case: if x is 0, return 0
         }
 
+        int half = calcPower2(x, n/2); // Only one recursive call, calling it twice makes this O(n) again
         if(n%2==0) {
-            return calcPower2(x, n/2) * calcPower2(x, n/2); // If n is even, square x and halve n
+            return half * half; // If n is even, square x and halve n
         } else {
-            return  calcPower2(x, n/2) * calcPower2(x, n/2) * x; // If n is odd, multiply by x and adjust n
+            return half * half * x; // If n is odd, multiply by x and adjust n
         }
     }
 
@@ -0,0 +1,135 @@
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Arrays;
+
+// Recursive methods of recursion against their stack safe (trampoline) ports.
+// Same setup as sortBenchmark: warmup iterations for the JIT, then measured ones, small n
+// repeated in batches so the timer can see them. printNo and fibo print, so System.out
+// goes to a stream that throws everything away while they are measured.
+// The recursive versions are only measured up to RECURSIVE_MAX_N, above that they overflow the
+// stack. At n = 10^8 both versions are run once: what the recursive one ends with is printed
+// (a StackOverflowError with the default stack), next to the time of the safe one.
+//
+// Run:  java recursionBenchmark                    -> all methods, all sizes
+//       java recursionBenchmark sum,fact 10,1000    -> only these methods at these n
+public class recursionBenchmark {
+
+    static final String METHODS[] = {"printNo", "sumNatural", "factorial", "fibo"};
+    static final int SIZES[] = {10, 100, 1000, 5000};
+    static final int BIG_N = 100_000_000;
+
+    static final int RECURSIVE_MAX_N = 5000;
+    static final int WARMUP_ITERATIONS = 5;
+    static final int MEASURE_ITERATIONS = 10;
+    static final long BATCH_STEPS = 1 << 20; //small n are repeated in batches so the timer can see them
+
+    static final PrintStream NOWHERE = new PrintStream(new OutputStream() {
+        public void write(int b) {
+        }
+
+        public void write(byte b[], int off, int len) {
+        }
+    });
+    static long sink; //keeps the JIT from throwing the results away
+
+    public static void run(String method, boolean safe, int n) {
+        switch(method) {
+            case "printNo":
+                if(safe) {
+                    recursion.printNoSafe(n);
+                } else {
+                    recursion.printNo(n);
+                }
+                break;
+            case "sumNatural":
+                sink += safe ? recursion.sumNaturalSafe(n) : recursion.sumNatural(n);
+                break;
+            case "factorial":
+                //only 20! fits in a long, the recursion depth is what is measured here
+                int k = Math.min(n, 20);
+                for(int i=0; i<n/k; i++) {
+                    sink += safe ? recursion.factorialSafe(k) : recursion.factorial(k);
+                }
+                break;
+            case "fibo":
+                if(safe) {
+                    recursion.fiboSafe(0, 1, n);
+                } else {
+                    recursion.fibo(0, 1, n);
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown method: "+method);
+        }
+    }
+
+    // returns the average ns per call over the measured iterations
+    public static double measure(String method, boolean safe, int n) {
+        int batch = (int)Math.max(1, BATCH_STEPS / n);
+        long total = 0;
+        for(int it=0; it<WARMUP_ITERATIONS+MEASURE_ITERATIONS; it++) {
+            long start = System.nanoTime();
+            for(int b=0; b<batch; b++) {
+                run(method, safe, n);
+            }
+            long time = System.nanoTime() - start;
+            if(it >= WARMUP_ITERATIONS) {
+                total += time;
+            }
+        }
+        return (double)total / ((long)MEASURE_ITERATIONS * batch);
+    }
+
+    // one unbatched call: its time in ms, or the error it stopped with
+    static String runOnce(String method, boolean safe, int n) {
+        long start = System.nanoTime();
+        try {
+            run(method, safe, n);
+        } catch(StackOverflowError e) {
+            return "StackOverflowError";
+        }
+        return (System.nanoTime() - start) / 1_000_000+" ms";
+    }
+
+    public static void main(String[] args) {
+        String methods[] = METHODS;
+        int sizes[] = SIZES;
+        if(args.length > 0) {
+            String filter[] = args[0].split(",");
+            methods = Arrays.stream(METHODS)
+                            .filter(m -> Arrays.stream(filter).anyMatch(m::contains))
+                            .toArray(String[]::new);
+        }
+        if(args.length > 1) {
+            sizes = Arrays.stream(args[1].split(",")).mapToInt(Integer::parseInt).toArray();
+        }
+
+        PrintStream console = System.out;
+        console.printf("%-12s %10s %16s %16s %8s%n", "method", "n", "recursive ns", "safe ns", "ratio");
+        for(String method : methods) {
+            for(int n : sizes) {
+                System.setOut(NOWHERE);
+                double recursive = n <= RECURSIVE_MAX_N ? measure(method, false, n) : Double.NaN;
+                double safe = measure(method, true, n);
+                System.setOut(console);
+                console.printf("%-12s %10d %16.0f %16.0f %8.2f%n", method, n, recursive, safe, safe/recursive);
+            }
+        }
+
+        //far beyond any stack: only the safe versions can do this
+        //(not factorial, 10^8! does not fit in a long and factorialSafe says so at once)
+        System.setOut(NOWHERE);
+        for(String method : methods) {
+            if(method.equals("factorial")) {
+                continue;
+            }
+            String recursive = runOnce(method, false, BIG_N);
+            String safe = runOnce(method, true, BIG_N);
+            console.printf("%-12s %10d %16s %16s%n", method, BIG_N, recursive, safe);
+        }
+        System.setOut(console);
+        if(sink == 42) {
+            System.out.println();
+        }
+    }
+}
@@ -0,0 +1,160 @@
+// Search index over a sorted int[] for answering lots of lookups on the same keys.
+// arrays.binarySearch jumps around the whole array, so for a big array almost every
+// step is a cache miss and the if/else on each step is a coin flip for the branch predictor.
+//
+// Here the keys are stored in Eytzinger (BFS) order, like a binary heap:
+// the root at 1, the children of k at 2k and 2k+1. The first levels of the search
+// always touch the same few cache lines, and one step is just
+//     k = 2*k + (values[k] < key ? 1 : 0)
+// with no branch to mispredict. The batch methods walk a group of queries down the
+// tree level by level together, so the memory loads of different queries overlap.
+//
+// Time: O(log n) per lookup, build O(n). Space: two int arrays of about n (values and ranks).
+// The arrays are padded to a power of two, so at most 2^30 - 1 keys fit.
+public class searchIndex {
+
+    static final int BATCH_GROUP = 16; //queries walked down the tree together
+    static final int MAX_SIZE = (1 << 30) - 1; //2^depth has to stay a positive int
+
+    final int n;
+    final int depth; //levels of the tree, every search takes exactly this many steps
+    final int values[]; //Eytzinger order, values[0] unused, padded up to 2^depth
+    final int rank[]; //rank[k] = position in the sorted array of values[k], rank[0] = n
+
+    // sorted must be in non decreasing order, it is copied so it can change afterwards
+    public searchIndex(int sorted[]) {
+        n = sorted.length;
+        depth = depth(n);
+        for(int i=1; i<sorted.length; i++) {
+            if(sorted[i-1] > sorted[i]) {
+                throw new IllegalArgumentException("Array is not sorted at index "+i);
+            }
+        }
+        int size = 1 << depth;
+        values = new int[size];
+        rank = new int[size];
+        rank[0] = n;
+
+        //in order walk of the implicit tree hands out the sorted values one by one
+        int stack[] = new int[depth + 1];
+        int top = 0, k = 1, next = 0;
+        while(k <= n || top > 0) {
+            if(k <= n) {
+                stack[top++] = k;
+                k = 2*k;
+            } else {
+                k = stack[--top];
+                values[k] = sorted[next];
+                rank[k] = next;
+                next++;
+                k = 2*k + 1;
+            }
+        }
+    }
+
+    // floor(log2 n) + 1, 0 for an empty array
+    static int depth(int n) {
+        if(n > MAX_SIZE) {
+            throw new IllegalArgumentException("searchIndex holds at most "+MAX_SIZE+" keys, got "+n);
+        }
+        return 32 - Integer.numberOfLeadingZeros(n);
+    }
+
+    public int size() {
+        return n;
+    }
+
+    // Eytzinger index of the first value >= key (upper = false) or > key (upper = true), 0 if there is none
+    int descend(int key, boolean upper) {
+        int k = 1;
+        for(int level=0; level<depth; level++) {
+            //a slot past n counts as smaller than key, so the walk goes right and the answer is unchanged
+            int v = values[k];
+            boolean right = k > n || (upper ? v <= key : v < key);
+            k = 2*k + (right ? 1 : 0);
+        }
+        //the answer is the last node where the walk went left: drop the trailing right turns and that left turn
+        return k >>> (Integer.numberOfTrailingZeros(~k) + 1);
+    }
+
+    // index of the first element >= key, n if every element is smaller
+    public int lowerBound(int key) {
+        return rank[descend(key, false)];
+    }
+
+    // index of the first element > key, n if no element is bigger
+    public int upperBound(int key) {
+        return rank[descend(key, true)];
+    }
+
+    // index of key (the first one if it repeats), -1 if it is not there
+    public int indexOf(int key) {
+        int k = descend(key, false);
+        return k != 0 && values[k] == key ? rank[k] : -1;
+    }
+
+    public boolean contains(int key) {
+        return indexOf(key) != -1;
+    }
+
+    // out[i] = lowerBound(keys[i])
+    public void lowerBound(int keys[], int out[]) {
+        batch(keys, out, false, false);
+    }
+
+    // out[i] = upperBound(keys[i])
+    public void upperBound(int keys[], int out[]) {
+        batch(keys, out, true, false);
+    }
+
+    // out[i] = indexOf(keys[i])
+    public void indexOf(int keys[], int out[]) {
+        batch(keys, out, false, true);
+    }
+
+    void batch(int keys[], int out[], boolean upper, boolean exact) {
+        if(out.length < keys.length) {
+            throw new IllegalArgumentException("out is shorter than keys");
+        }
+        int ks[] = new int[BATCH_GROUP];
+        for(int from=0; from<keys.length; from+=BATCH_GROUP) {
+            int g = Math.min(BATCH_GROUP, keys.length - from);
+            for(int q=0; q<g; q++) {
+                ks[q] = 1;
+            }
+            //one level for every query of the group before going deeper, so their loads are in flight together
+            for(int level=0; level<depth; level++) {
+                for(int q=0; q<g; q++) {
+                    int k = ks[q];
+                    int v = values[k];
+                    int key = keys[from+q];
+                    boolean right = k > n || (upper ? v <= key : v < key);
+                    ks[q] = 2*k + (right ? 1 : 0);
+                }
+            }
+            for(int q=0; q<g; q++) {
+                int k = ks[q] >>> (Integer.numberOfTrailingZeros(~ks[q]) + 1);
+                if(exact) {
+                    out[from+q] = k != 0 && values[k] == keys[from+q] ? rank[k] : -1;
+                } else {
+                    out[from+q] = rank[k];
+                }
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        int arr[] = {2, 4, 6, 8, 10, 12, 14, 16, 18, 20};
+        searchIndex index = new searchIndex(arr);
+
+        System.out.println("Index of 12: "+index.indexOf(12));
+        System.out.println("Index of 13: "+index.indexOf(13));
+        System.out.println("Lower bound of 13: "+index.lowerBound(13));
+        System.out.println("Upper bound of 12: "+index.upperBound(12));
+
+        int keys[] = {1, 2, 11, 20, 21};
+        int out[] = new int[keys.length];
+        index.lowerBound(keys, out);
+        System.out.println("Lower bounds: "+java.util.Arrays.toString(out));
+    }
+}
@@ -0,0 +1,90 @@
+import java.util.Arrays;
+import java.util.Random;
+
+// searchIndex against a plain binary search on the sorted array, see check.java
+public class searchIndexTest {
+
+    // first index whose value is >= key (upper = false) or > key (upper = true)
+    static int bound(int sorted[], int key, boolean upper) {
+        int lo = 0, hi = sorted.length;
+        while(lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if(upper ? sorted[mid] <= key : sorted[mid] < key) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    // every key in the array, next to it and the int limits, one by one and as a batch
+    static void matches(int sorted[], String what) {
+        searchIndex index = new searchIndex(sorted);
+        check.equal(sorted.length, index.size(), what+": size");
+        int keys[] = new int[3 * sorted.length + 4];
+        int k = 0;
+        for(int x : sorted) {
+            keys[k++] = x;
+            keys[k++] = x == Integer.MIN_VALUE ? x : x - 1;
+            keys[k++] = x == Integer.MAX_VALUE ? x : x + 1;
+        }
+        keys[k++] = Integer.MIN_VALUE;
+        keys[k++] = Integer.MAX_VALUE;
+        keys[k++] = 0;
+        keys[k++] = -1;
+        int lower[] = new int[keys.length], upper[] = new int[keys.length], found[] = new int[keys.length];
+        index.lowerBound(keys, lower);
+        index.upperBound(keys, upper);
+        index.indexOf(keys, found);
+        for(int q=0; q<keys.length; q++) {
+            int key = keys[q];
+            int lo = bound(sorted, key, false);
+            int expected = lo < sorted.length && sorted[lo] == key ? lo : -1;
+            check.equal(lo, index.lowerBound(key), what+": lowerBound("+key+")");
+            check.equal(bound(sorted, key, true), index.upperBound(key), what+": upperBound("+key+")");
+            check.equal(expected, index.indexOf(key), what+": indexOf("+key+")");
+            check.that(index.contains(key) == (expected != -1), what+": contains("+key+")");
+            check.equal(lo, lower[q], what+": batch lowerBound("+key+")");
+            check.equal(bound(sorted, key, true), upper[q], what+": batch upperBound("+key+")");
+            check.equal(expected, found[q], what+": batch indexOf("+key+")");
+        }
+    }
+
+    public static void sizes() {
+        Random r = new Random(7);
+        //every size up to a few full trees, so the padding past n is walked through at every shape
+        for(int n=0; n<=70; n++) {
+            int sorted[] = new int[n];
+            for(int i=0; i<n; i++) {
+                sorted[i] = r.nextInt(2 * n + 1) - n;
+            }
+            Arrays.sort(sorted);
+            matches(sorted, "n = "+n);
+        }
+        int repeats[] = new int[1000];
+        Arrays.fill(repeats, 500, 1000, 9);
+        matches(repeats, "two long runs");
+        matches(new int[] {Integer.MIN_VALUE, Integer.MIN_VALUE, -1, 0, Integer.MAX_VALUE, Integer.MAX_VALUE},
+                "int limits");
+        int big[] = r.ints(100_000).toArray();
+        Arrays.sort(big);
+        matches(big, "100000 random ints");
+    }
+
+    public static void errors() {
+        check.fails(IllegalArgumentException.class, () -> new searchIndex(new int[] {1, 3, 2}), "unsorted");
+        check.fails(IllegalArgumentException.class, () -> new searchIndex(new int[3]).lowerBound(new int[4], new int[3]),
+                    "out shorter than keys");
+        check.equal(0, searchIndex.depth(0), "depth of an empty array");
+        check.equal(30, searchIndex.depth(searchIndex.MAX_SIZE), "depth at the limit");
+        check.fails(IllegalArgumentException.class, () -> searchIndex.depth(searchIndex.MAX_SIZE + 1), "2^30 keys");
+        check.fails(IllegalArgumentException.class, () -> searchIndex.depth(Integer.MAX_VALUE), "Integer.MAX_VALUE keys");
+    }
+
+    public static void main(String[] args) {
+        sizes();
+        errors();
+        System.out.println("searchIndexTest passed");
+    }
+}
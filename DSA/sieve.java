@@ -0,0 +1,168 @@
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+import java.util.Spliterator;
+import java.util.Spliterators;
+
+// Segmented Sieve of Eratosthenes, all primes up to limit.
+// Even numbers are never stored: bit i of the table stands for the odd number 2i+1,
+// a set bit means composite. That is limit/16 bytes (about 6 MB for 10^8).
+// The table is sieved in segments of SEGMENT_WORDS longs (32 KB, fits in L1 cache),
+// every segment only writes its own words so the segments run in parallel.
+// After the build isPrime(n) is one bit lookup, O(1).
+public class sieve {
+
+    static final int SEGMENT_WORDS = 1 << 12; //4096 longs = 32 KB = 262144 odd numbers
+    static final long SEGMENT_BITS = (long)SEGMENT_WORDS * 64;
+
+    final long limit;
+    final long bits; //number of odd numbers 1, 3, ..., <= limit
+    final long composite[];
+    long count = -1; //number of primes, counted on first use
+
+    public sieve(long limit) {
+        if(limit < 0 || limit / 128 >= Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("limit out of range: "+limit);
+        }
+        this.limit = limit;
+        this.bits = (limit + 1) / 2;
+        this.composite = new long[(int)((bits + 63) / 64)];
+        if(bits > 0) {
+            composite[0] |= 1L; //1 is not prime
+        }
+
+        int basePrimes[] = smallPrimes((int)Math.sqrt((double)limit) + 1);
+        int segments = (int)((bits + SEGMENT_BITS - 1) / SEGMENT_BITS);
+        IntStream.range(0, segments).parallel().forEach(seg -> sieveSegment(seg, basePrimes));
+    }
+
+    // odd primes <= n with a plain sieve, used to cross off the segments
+    static int[] smallPrimes(int n) {
+        boolean notPrime[] = new boolean[n + 1];
+        int found = 0;
+        for(int i=3; i<=n; i+=2) {
+            if(!notPrime[i]) {
+                found++;
+                for(long j=(long)i*i; j<=n; j+=2*i) {
+                    notPrime[(int)j] = true;
+                }
+            }
+        }
+        int primes[] = new int[found];
+        int k = 0;
+        for(int i=3; i<=n; i+=2) {
+            if(!notPrime[i]) {
+                primes[k++] = i;
+            }
+        }
+        return primes;
+    }
+
+    void sieveSegment(int seg, int basePrimes[]) {
+        long fromBit = seg * SEGMENT_BITS;
+        long toBit = Math.min(bits, fromBit + SEGMENT_BITS);
+        long highest = 2*(toBit-1) + 1; //largest odd number in this segment
+        for(int p : basePrimes) {
+            long pp = (long)p * p;
+            if(pp > highest) {
+                break;
+            }
+            //first odd multiple of p inside the segment, but not below p*p
+            long lowest = 2*fromBit + 1;
+            long m = Math.max(pp, (lowest + p - 1) / p * p);
+            if((m & 1) == 0) {
+                m += p;
+            }
+            //odd multiples of p are 2p apart, that is p apart in bits
+            for(long b=(m-1)/2; b<toBit; b+=p) {
+                composite[(int)(b >>> 6)] |= 1L << b;
+            }
+        }
+    }
+
+    public long limit() {
+        return limit;
+    }
+
+    public boolean isPrime(long n) {
+        if(n < 0 || n > limit) {
+            throw new IllegalArgumentException(n+" is outside the sieve (0.."+limit+")");
+        }
+        if((n & 1) == 0) {
+            return n == 2;
+        }
+        long b = n >>> 1;
+        return (composite[(int)(b >>> 6)] & (1L << b)) == 0;
+    }
+
+    // number of primes <= limit
+    public long count() {
+        if(count < 0) {
+            long c = limit >= 2 ? 1 : 0; //2 is the only even prime
+            int full = (int)(bits / 64);
+            for(int w=0; w<full; w++) {
+                c += Long.bitCount(~composite[w]);
+            }
+            int rest = (int)(bits % 64);
+            if(rest > 0) {
+                c += Long.bitCount(~composite[full] & ((1L << rest) - 1));
+            }
+            count = c;
+        }
+        return count;
+    }
+
+    // next prime >= n, -1 if there is none up to limit
+    public long nextPrime(long n) {
+        if(n <= 2) {
+            return limit >= 2 ? 2 : -1;
+        }
+        long b = n >>> 1; //bit of n if n is odd, of n+1 if n is even
+        while(b < bits) {
+            int w = (int)(b >>> 6);
+            long free = ~composite[w] & (-1L << b); //primes in this word at or after b
+            if(free != 0) {
+                long found = ((long)w << 6) + Long.numberOfTrailingZeros(free);
+                return found < bits ? 2*found + 1 : -1;
+            }
+            b = (long)(w + 1) << 6;
+        }
+        return -1;
+    }
+
+    // primes in increasing order, no boxing
+    public PrimitiveIterator.OfLong iterator() {
+        return new PrimitiveIterator.OfLong() {
+            long next = nextPrime(2);
+
+            public boolean hasNext() {
+                return next != -1;
+            }
+
+            public long nextLong() {
+                if(next == -1) {
+                    throw new NoSuchElementException();
+                }
+                long p = next;
+                next = p == limit ? -1 : nextPrime(p + 1);
+                return p;
+            }
+        };
+    }
+
+    public LongStream primes() {
+        return StreamSupport.longStream(Spliterators.spliterator(iterator(), count(),
+            Spliterator.ORDERED | Spliterator.SORTED | Spliterator.DISTINCT | Spliterator.NONNULL), false);
+    }
+
+    public static void main(String[] args) {
+        long limit = args.length > 0 ? Long.parseLong(args[0]) : 100_000_000;
+        long start = System.nanoTime();
+        sieve s = new sieve(limit);
+        long built = System.nanoTime();
+        System.out.println("Primes up to "+limit+": "+s.count()+" (sieve took "+(built-start)/1_000_000+" ms)");
+        System.out.println("Is 99999989 prime? "+(limit >= 99999989 && s.isPrime(99999989)));
+    }
+}
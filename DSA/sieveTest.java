@@ -0,0 +1,88 @@
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+// sieve against trial division and known prime counts, see check.java
+public class sieveTest {
+
+    static boolean trialDivision(long n) {
+        if(n < 2) {
+            return false;
+        }
+        for(long d=2; d*d<=n; d++) {
+            if(n % d == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static void smallLimits() {
+        //every limit up to 200 covers 0, 1, 2 and the word edges of the table
+        for(int limit=0; limit<=200; limit++) {
+            sieve s = new sieve(limit);
+            long count = 0;
+            for(int n=0; n<=limit; n++) {
+                check.that(s.isPrime(n) == trialDivision(n), "isPrime("+n+"), limit "+limit);
+                count += trialDivision(n) ? 1 : 0;
+            }
+            check.equal(count, s.count(), "count, limit "+limit);
+            check.equal(count, s.primes().count(), "primes(), limit "+limit);
+            long next = -1;
+            for(int n=limit; n>=0; n--) {
+                if(trialDivision(n)) {
+                    next = n;
+                }
+                check.equal(next, s.nextPrime(n), "nextPrime("+n+"), limit "+limit);
+            }
+        }
+    }
+
+    public static void segments() {
+        //the last odd number of a segment, the first of the next, and a limit just past a segment
+        long limits[] = {2 * sieve.SEGMENT_BITS - 1, 2 * sieve.SEGMENT_BITS, 2 * sieve.SEGMENT_BITS + 1,
+                         6 * sieve.SEGMENT_BITS + 99};
+        for(long limit : limits) {
+            sieve s = new sieve(limit);
+            for(long n=limit-3000; n<=limit; n++) {
+                check.that(s.isPrime(n) == trialDivision(n), "isPrime("+n+"), limit "+limit);
+            }
+            for(long n=2*sieve.SEGMENT_BITS-2000; n<2*sieve.SEGMENT_BITS+2000 && n<=limit; n++) {
+                check.that(s.isPrime(n) == trialDivision(n), "isPrime("+n+") around the segment edge");
+            }
+        }
+    }
+
+    public static void counts() {
+        check.equal(78_498, new sieve(1_000_000).count(), "primes up to 10^6");
+        sieve s = new sieve(10_000_000);
+        check.equal(664_579, s.count(), "primes up to 10^7");
+        check.equal(9_999_991, s.nextPrime(9_999_990), "largest prime below 10^7");
+        check.equal(-1, s.nextPrime(9_999_992), "no prime after the last one");
+        check.equal(-1, s.nextPrime(Long.MAX_VALUE), "nextPrime past the limit");
+        check.that(s.isPrime(2) && !s.isPrime(1) && !s.isPrime(0) && !s.isPrime(9_999_999), "small cases");
+        check.equal(s.count(), s.primes().count(), "primes() has count() elements");
+    }
+
+    public static void errors() {
+        sieve s = new sieve(10);
+        check.fails(IllegalArgumentException.class, () -> s.isPrime(-1), "isPrime(-1)");
+        check.fails(IllegalArgumentException.class, () -> s.isPrime(11), "isPrime past the limit");
+        check.fails(IllegalArgumentException.class, () -> new sieve(-1), "negative limit");
+        check.fails(IllegalArgumentException.class, () -> new sieve(128L * Integer.MAX_VALUE), "table past an int[]");
+        check.fails(IllegalArgumentException.class, () -> new sieve(Long.MAX_VALUE), "Long.MAX_VALUE");
+        PrimitiveIterator.OfLong it = new sieve(7).iterator();
+        check.equal(new long[] {2, 3, 5, 7}, new long[] {it.nextLong(), it.nextLong(), it.nextLong(), it.nextLong()},
+                    "iterator up to a prime limit");
+        check.that(!it.hasNext(), "iterator done");
+        check.fails(NoSuchElementException.class, it::nextLong, "iterator past the end");
+        check.that(!new sieve(1).iterator().hasNext(), "no primes up to 1");
+    }
+
+    public static void main(String[] args) {
+        smallLimits();
+        segments();
+        counts();
+        errors();
+        System.out.println("sieveTest passed");
+    }
+}
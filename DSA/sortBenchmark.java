@@ -0,0 +1,162 @@
+import java.util.Arrays;
+import java.util.Random;
+
+// Benchmark for every sort in sorting and basicSorting.
+// Same idea as a JMH run: warmup iterations first so the JIT has compiled the sort,
+// then measured iterations, and the input copies are made before the timer starts.
+// The sorting sorts run through their non printing versions (sorting.bubble, ...), so printArray
+// is not part of the time.
+// This is the quick check; jmh/ has the same sorts as a JMH suite with forks and error bars.
+//
+// Run:  java sortBenchmark                      -> all sorts, all distributions, all sizes
+//       java sortBenchmark radix,counting 1000000 -> only these sorts at n = 10^6
+public class sortBenchmark {
+
+    static final String SORTS[] = {
+        "sorting.bubble", "sorting.selection", "sorting.insertion",
+        "basic.bubble", "basic.selection", "basic.insertion",
+        "basic.counting", "basic.inBuilt", "basic.radix", "parallelSort"
+    };
+    static final String DISTRIBUTIONS[] = {
+        "random", "sorted", "reversed", "nearlySorted", "fewUnique", "sawtooth"
+    };
+    static final int SIZES[] = {16, 256, 4096, 16384, 65536, 1 << 20, 10_000_000};
+
+    static final int QUADRATIC_MAX_N = 16384; //O(n^2) sorts are skipped above this
+    static final int WARMUP_ITERATIONS = 5;
+    static final int MEASURE_ITERATIONS = 10;
+    static final long BATCH_STEPS = 1 << 20; //small arrays are sorted in batches so the timer can see them
+
+    static long sink; //keeps the JIT from throwing the sorted result away
+
+    public static int[] generate(String dist, int n, long seed) {
+        Random r = new Random(seed);
+        int arr[] = new int[n];
+        switch(dist) {
+            case "random":
+                for(int i=0; i<n; i++) {
+                    arr[i] = r.nextInt();
+                }
+                break;
+            case "sorted":
+                for(int i=0; i<n; i++) {
+                    arr[i] = i;
+                }
+                break;
+            case "reversed":
+                for(int i=0; i<n; i++) {
+                    arr[i] = n-i;
+                }
+                break;
+            case "nearlySorted":
+                //sorted, then about 1% of the elements swapped with a random partner
+                for(int i=0; i<n; i++) {
+                    arr[i] = i;
+                }
+                for(int k=0; k<Math.max(1, n/100); k++) {
+                    int a = r.nextInt(n), b = r.nextInt(n);
+                    int temp = arr[a];
+                    arr[a] = arr[b];
+                    arr[b] = temp;
+                }
+                break;
+            case "fewUnique":
+                for(int i=0; i<n; i++) {
+                    arr[i] = r.nextInt(16);
+                }
+                break;
+            case "sawtooth":
+                int tooth = Math.max(2, (int)Math.sqrt(n));
+                for(int i=0; i<n; i++) {
+                    arr[i] = i % tooth;
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown distribution: "+dist);
+        }
+        return arr;
+    }
+
+    public static void runSort(String name, int arr[]) {
+        switch(name) {
+            case "sorting.bubble": sorting.bubble(arr); break;
+            case "sorting.selection": sorting.selection(arr); break;
+            case "sorting.insertion": sorting.insertion(arr); break;
+            case "basic.bubble": basicSorting.bubbleSort(arr); break;
+            case "basic.selection": basicSorting.selectionSort(arr); break;
+            case "basic.insertion": basicSorting.insertionSort(arr); break;
+            case "basic.counting": basicSorting.countingSort(arr); break;
+            case "basic.inBuilt": basicSorting.inBuiltSort(arr); break;
+            case "basic.radix": basicSorting.radixSort(arr); break;
+            case "parallelSort": Arrays.parallelSort(arr); break;
+            default: throw new IllegalArgumentException("Unknown sort: "+name);
+        }
+    }
+
+    static boolean isQuadratic(String name) {
+        return name.endsWith("bubble") || name.endsWith("selection") || name.endsWith("insertion");
+    }
+
+    // about how many steps one sort of n elements takes, so the batch is sized by work and not by n
+    static long steps(String sort, int n) {
+        long m = Math.max(1, n);
+        return isQuadratic(sort) ? m * m : m;
+    }
+
+    // returns the average ns per sort over the measured iterations
+    public static double measure(String sort, int input[]) {
+        int n = input.length;
+        int batch = (int)Math.max(1, BATCH_STEPS / steps(sort, n));
+        int copies[][] = new int[batch][];
+        long total = 0;
+
+        for(int it=0; it<WARMUP_ITERATIONS+MEASURE_ITERATIONS; it++) {
+            for(int b=0; b<batch; b++) {
+                copies[b] = input.clone();
+            }
+            long start = System.nanoTime();
+            for(int b=0; b<batch; b++) {
+                runSort(sort, copies[b]);
+            }
+            long time = System.nanoTime() - start;
+            for(int b=0; b<batch; b++) {
+                sink += copies[b][0] ^ copies[b][n-1];
+            }
+            if(it >= WARMUP_ITERATIONS) {
+                total += time;
+            }
+        }
+        return (double)total / ((long)MEASURE_ITERATIONS * batch);
+    }
+
+    public static void main(String[] args) {
+        String sorts[] = SORTS;
+        int sizes[] = SIZES;
+        if(args.length > 0) {
+            String filter[] = args[0].split(",");
+            sorts = Arrays.stream(SORTS)
+                          .filter(s -> Arrays.stream(filter).anyMatch(s::contains))
+                          .toArray(String[]::new);
+        }
+        if(args.length > 1) {
+            sizes = Arrays.stream(args[1].split(",")).mapToInt(Integer::parseInt).toArray();
+        }
+
+        System.out.printf("%-18s %-13s %10s %16s %12s%n", "sort", "distribution", "n", "ns/op", "ns/element");
+        for(String sort : sorts) {
+            for(String dist : DISTRIBUTIONS) {
+                for(int n : sizes) {
+                    if(isQuadratic(sort) && n > QUADRATIC_MAX_N) {
+                        continue;
+                    }
+                    int input[] = generate(dist, n, 42);
+                    double ns = measure(sort, input);
+                    System.out.printf("%-18s %-13s %10d %16.0f %12.2f%n", sort, dist, n, ns, ns/n);
+                }
+            }
+        }
+        if(sink == 42) {
+            System.out.println();
+        }
+    }
+}
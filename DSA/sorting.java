@@ -1,13 +1,13 @@
 public class sorting {
 
     void printArray(int[] arr) {
-    for(int i = 0; i < arr.length; i++) {
-        System.out.print(arr[i] + " ");
+        fastOutput out = fastOutput.out;
+        for(int i = 0; i < arr.length; i++) {
+            out.print(arr[i]).print(' ');
+        }
+        out.println().flush();
     }
 
-    System.out.println();
-
-    }
     // Bubble Sort
     // The algorithm repeatedly steps through the list, compares adjacent elements,
     // and swaps them if they are in the wrong order. The pass through the list is
@@ -16,20 +16,25 @@ public class sorting {
     // Space Complexity: O(1) since it sorts in place.
     // Stable sort: Yes, it maintains the relative order of equal elements.
     void bubbleSort(int[] arr) {
-    int n = arr.length;
-    for (int i = 0; i < n - 1; i++) {
-        for (int j = 0; j < n - i - 1; j++) {
-            if (arr[j] > arr[j + 1]) {
-                // Swap arr[j] and arr[j+1]
-                int temp = arr[j];
-                arr[j] = arr[j + 1];
-                arr[j + 1] = temp;
+        bubble(arr);
+        System.out.println("Sorted array:");
+        printArray(arr);
+    }
+
+    // the sort alone, without printing (sortBenchmark and jmh/ time this)
+    static void bubble(int[] arr) {
+        int n = arr.length;
+        for (int i = 0; i < n - 1; i++) {
+            for (int j = 0; j < n - i - 1; j++) {
+                if (arr[j] > arr[j + 1]) {
+                    // Swap arr[j] and arr[j+1]
+                    int temp = arr[j];
+                    arr[j] = arr[j + 1];
+                    arr[j + 1] = temp;
+                }
             }
         }
     }
-    System.out.println("Sorted array:");
-    printArray(arr);
-    }
 
     // Selection Sort
     // The algorithm divides the input array into two parts: a sorted part and an unsorted 
@@ -41,6 +46,13 @@ public class sorting {
     // Example: For the array {7, 8, 3, 1, 2}, the sorted array will be {1, 2, 3, 7, 8}.
     // Usage: Call selectionSort(arr) where arr is the array to be sorted.
     void selectionSort(int[] arr) {
+        selection(arr);
+        System.out.println("Sorted array:");
+        printArray(arr);
+    }
+
+    // the sort alone, without printing
+    static void selection(int[] arr) {
         int n = arr.length;
         for (int i = 0; i < n - 1; i++) {
             int minIndex = i;
@@ -54,8 +66,6 @@ public class sorting {
             arr[i] = arr[minIndex];
             arr[minIndex] = temp;
         }
-        System.out.println("Sorted array:");
-        printArray(arr);
     }
     
 
@@ -69,6 +79,13 @@ public class sorting {
     // Example: For the array {7, 8, 3, 1, 2}, the sorted array will be {1, 2, 3, 7, 8}.
     // Usage: Call insertionSort(arr) where arr is the array to be sorted.
     void insertionSort(int[] arr) {
+        insertion(arr);
+        System.out.println("Sorted array:");
+        printArray(arr);
+    }
+
+    // the sort alone, without printing
+    static void insertion(int[] arr) {
         int n = arr.length;
         for (int i = 1; i < n; i++) {
             int key = arr[i];
@@ -82,9 +99,6 @@ public class sorting {
             }
             arr[j + 1] = key;
         }
-        System.out.println("Sorted array:");
-        printArray(arr);
-        
     }
 
     public static void main(String[] args) {
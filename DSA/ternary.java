@@ -1,8 +1,7 @@
-import java.util.*;
 public class ternary {
 
 	void oddeven() {
-		Scanner sc = new Scanner(System.in);
+		fastInput sc = fastInput.in;
 		
 		System.out.print("Enter a number: ");
 		int num = sc.nextInt();
@@ -14,7 +13,7 @@ public class ternary {
 	}
 	
 	void marks() {
-		Scanner sc = new Scanner(System.in);
+		fastInput sc = fastInput.in;
 		
 		System.out.print("Enter your marks: ");
 		int marks = sc.nextInt();
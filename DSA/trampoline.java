@@ -0,0 +1,122 @@
+import java.util.function.Supplier;
+
+// Runs recursive functions without growing the Java stack.
+// Every recursive call in recursion.java takes a stack frame, so n = 10^5 or so ends in a
+// StackOverflowError (it depends on -Xss). If the recursive call is the last thing a function
+// does (a tail call), the function can instead return "call me again with these arguments"
+// and a loop makes that call. The stack then stays the same size however big n is.
+// Functions like n + sumNatural(n-1) are not tail calls yet; the pending work moves into an
+// extra argument first (an accumulator): sum(n, acc) = sum(n-1, acc+n).
+//
+// Two forms:
+//  trampoline<T>        any result type, every bounce is a small object
+//  frame + step         up to three long registers (n, a, b) in one reused frame, so bouncing
+//                       allocates nothing; this is what the recursion ports use
+public abstract class trampoline<T> {
+
+    abstract boolean done();
+
+    abstract T result();
+
+    abstract trampoline<T> next();
+
+    public static <T> trampoline<T> done(T value) {
+        return new trampoline<T>() {
+            boolean done() {
+                return true;
+            }
+
+            T result() {
+                return value;
+            }
+
+            trampoline<T> next() {
+                throw new IllegalStateException("already done");
+            }
+        };
+    }
+
+    // the tail call, made later by run()
+    public static <T> trampoline<T> call(Supplier<trampoline<T>> next) {
+        return new trampoline<T>() {
+            boolean done() {
+                return false;
+            }
+
+            T result() {
+                throw new IllegalStateException("not done yet");
+            }
+
+            trampoline<T> next() {
+                return next.get();
+            }
+        };
+    }
+
+    public T run() {
+        trampoline<T> t = this;
+        while(!t.done()) {
+            t = t.next();
+        }
+        return t.result();
+    }
+
+    // arguments of the current call, overwritten by every tail call
+    public static final class frame {
+        public long n, a, b;
+        boolean finished;
+
+        public frame(long n, long a, long b) {
+            this.n = n;
+            this.a = a;
+            this.b = b;
+        }
+
+        public void call(long n, long a, long b) {
+            this.n = n;
+            this.a = a;
+            this.b = b;
+        }
+
+        // stop here, the answer is left in a
+        public void finish(long result) {
+            a = result;
+            finished = true;
+        }
+    }
+
+    // one call of the function: either f.call(...) for the tail call or f.finish(...)
+    public interface step {
+        void apply(frame f);
+    }
+
+    // runs step until it finishes and returns the result it left in a
+    public static long run(long n, long a, long b, step s) {
+        frame f = new frame(n, a, b);
+        while(!f.finished) {
+            s.apply(f);
+        }
+        return f.a;
+    }
+
+    static trampoline<Boolean> isEven(long n) {
+        return n == 0 ? done(true) : call(() -> isOdd(n - 1));
+    }
+
+    static trampoline<Boolean> isOdd(long n) {
+        return n == 0 ? done(false) : call(() -> isEven(n - 1));
+    }
+
+    public static void main(String[] args) {
+        //mutual recursion 10^7 deep, far beyond the default stack
+        System.out.println("10^7 is even: "+isEven(10_000_000).run());
+        long sum = run(100_000_000, 0, 0, f -> {
+            if(f.n == 0) {
+                f.finish(f.a);
+            } else {
+                f.call(f.n - 1, f.a + f.n, 0);
+            }
+        });
+        System.out.println("1 + 2 + ... + 10^8 = "+sum);
+    }
+}
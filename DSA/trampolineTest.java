@@ -0,0 +1,87 @@
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+// trampoline and the stack safe ports in recursion against the recursive originals, see check.java.
+// The deep cases go far past what the default stack allows for the recursive versions.
+public class trampolineTest {
+
+    static final int DEEP = 3_000_000;
+
+    // what code prints to System.out
+    static String printed(Runnable code) {
+        PrintStream console = System.out;
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(bytes, true));
+        try {
+            code.run();
+        } finally {
+            System.setOut(console);
+        }
+        return bytes.toString();
+    }
+
+    public static void generic() {
+        check.equal(true, trampoline.isEven(0).run(), "0 is even");
+        check.equal(false, trampoline.isOdd(0).run(), "0 is not odd");
+        check.equal(false, trampoline.isEven(DEEP + 1).run(), DEEP+1+" is not even");
+        check.equal(true, trampoline.isOdd(DEEP + 1).run(), DEEP+1+" is odd");
+        check.equal("x", trampoline.done("x").run(), "done right away");
+        check.fails(IllegalStateException.class, () -> trampoline.done(1).next(), "next() after done");
+        check.fails(IllegalStateException.class, () -> trampoline.call(() -> trampoline.done(1)).result(),
+                    "result() before done");
+    }
+
+    public static void frames() {
+        //counts down n and multiplies b into a, one reused frame
+        long result = trampoline.run(DEEP, 0, 7, f -> {
+            if(f.n == 0) {
+                f.finish(f.a);
+            } else {
+                f.call(f.n - 1, f.a + f.b, f.b);
+            }
+        });
+        check.equal(7L * DEEP, result, "7 added "+DEEP+" times");
+        check.equal(42, trampoline.run(5, 0, 0, f -> f.finish(42)), "finish on the first step");
+    }
+
+    public static void ports() {
+        for(int n=0; n<=1000; n++) {
+            check.equal(recursion.sumNatural(n), recursion.sumNaturalSafe(n), "sumNatural("+n+")");
+        }
+        long fact = 1;
+        for(int n=0; n<=20; n++) {
+            fact *= Math.max(n, 1);
+            check.equal(fact, recursion.factorialSafe(n), n+"!");
+            if(n <= 12) {
+                check.equal(recursion.factorial(n), recursion.factorialSafe(n), n+"! in int");
+            }
+        }
+        check.fails(ArithmeticException.class, () -> recursion.factorialSafe(21), "21! does not fit");
+        check.fails(ArithmeticException.class, () -> recursion.factorialSafe(Integer.MAX_VALUE), "MAX_VALUE!");
+        //the int version wraps past 2^31, the long one does not
+        check.equal((long)DEEP * (DEEP + 1) / 2, recursion.sumNaturalSafe(DEEP), "sum up to "+DEEP);
+
+        for(int n : new int[] {0, 1, 5, 45}) {
+            check.equal(printed(() -> recursion.printNo(n)), printed(() -> recursion.printNoSafe(n)), "printNo("+n+")");
+            //past n = 45 the int terms of fibo wrap
+            check.equal(printed(() -> recursion.fibo(0, 1, n)), printed(() -> recursion.fiboSafe(0, 1, n)), "fibo("+n+")");
+        }
+        String lines[] = printed(() -> recursion.printNoSafe(DEEP)).split("\\R");
+        check.equal(DEEP, lines.length, "printNoSafe("+DEEP+") line count");
+        check.equal("1", lines[DEEP - 1], "printNoSafe ends at 1");
+        lines = printed(() -> recursion.fiboSafe(0, 1, 92)).split("\\R");
+        check.equal(String.valueOf(fastFibonacci.fib(92)), lines[90], "fiboSafe prints F(92) as a long");
+
+        for(check.code c : new check.code[] {() -> recursion.printNoSafe(-1), () -> recursion.sumNaturalSafe(-1),
+                                             () -> recursion.factorialSafe(-1), () -> recursion.fiboSafe(0, 1, -1)}) {
+            check.fails(IllegalArgumentException.class, c, "negative n");
+        }
+    }
+
+    public static void main(String[] args) {
+        generic();
+        frames();
+        ports();
+        System.out.println("trampolineTest passed");
+    }
+}
@@ -0,0 +1,90 @@
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+// Vector API version of arrayKernels: every step handles SPECIES.length() ints at once
+// (16 with AVX-512, 8 with AVX2, 4 with NEON/SSE), then a scalar loop does the leftovers.
+// Needs --add-modules jdk.incubator.vector to compile and run, see arrayKernels.java.
+public class arrayVectorKernels implements arrayKernels.kernels {
+
+    static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    // lanes of the preferred species, arrayKernels only uses this class when it is big enough
+    public static int lanes() {
+        return SPECIES.length();
+    }
+
+    public int linearSearch(int numbers[], int key) {
+        int i = 0;
+        int bound = SPECIES.loopBound(numbers.length);
+        for(; i<bound; i+=SPECIES.length()) {
+            VectorMask<Integer> eq = IntVector.fromArray(SPECIES, numbers, i).eq(key);
+            if(eq.anyTrue()) {
+                return i + eq.firstTrue();
+            }
+        }
+        for(; i<numbers.length; i++) {
+            if(numbers[i] == key) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public int[] minMax(int numbers[]) {
+        IntVector lo = IntVector.broadcast(SPECIES, Integer.MAX_VALUE);
+        IntVector hi = IntVector.broadcast(SPECIES, Integer.MIN_VALUE);
+        int i = 0;
+        int bound = SPECIES.loopBound(numbers.length);
+        for(; i<bound; i+=SPECIES.length()) {
+            IntVector v = IntVector.fromArray(SPECIES, numbers, i);
+            lo = lo.min(v);
+            hi = hi.max(v);
+        }
+        int smallest = lo.reduceLanes(VectorOperators.MIN);
+        int largest = hi.reduceLanes(VectorOperators.MAX);
+        for(; i<numbers.length; i++) {
+            smallest = Math.min(smallest, numbers[i]);
+            largest = Math.max(largest, numbers[i]);
+        }
+        return new int[]{smallest, largest};
+    }
+
+    public int[] reverseArray(int arr[]) {
+        int lanes = SPECIES.length();
+        //lane i takes lane (lanes-1-i): reverses the order inside one vector
+        VectorShuffle<Integer> backwards = VectorShuffle.iota(SPECIES, lanes-1, -1, true);
+        int start = 0, end = arr.length; //end is exclusive here
+        //swap a vector from the front with one from the back, both reversed
+        while(end - start >= 2*lanes) {
+            IntVector front = IntVector.fromArray(SPECIES, arr, start).rearrange(backwards);
+            IntVector back = IntVector.fromArray(SPECIES, arr, end-lanes).rearrange(backwards);
+            back.intoArray(arr, start);
+            front.intoArray(arr, end-lanes);
+            start += lanes;
+            end -= lanes;
+        }
+        end--;
+        while(start < end) {
+            int temp = arr[start];
+            arr[start] = arr[end];
+            arr[end] = temp;
+            start++;
+            end--;
+        }
+        return arr;
+    }
+
+    public void addScalar(int marks[], int delta) {
+        int i = 0;
+        int bound = SPECIES.loopBound(marks.length);
+        for(; i<bound; i+=SPECIES.length()) {
+            IntVector.fromArray(SPECIES, marks, i).add(delta).intoArray(marks, i);
+        }
+        for(; i<marks.length; i++) {
+            marks[i] += delta;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+// Vector API version of bitKernels: every step works on a whole SIMD register of elements,
+// then a scalar loop does the leftovers. Shifts by a vector of positions are lanewise LSHL / LSHR,
+// which, like << and >>> in Java, only use the low 5 (int) or 6 (long) bits of the position.
+// Needs --add-modules jdk.incubator.vector to compile and run, see bitKernels.java.
+public class bitVectorKernels implements bitKernels.kernels {
+
+    static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+    static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+    // as many ints as LONGS has longs, for the int[] positions of a long[] array
+    static final VectorSpecies<Integer> LONG_POSITIONS =
+        VectorSpecies.of(int.class, VectorShape.forBitSize(LONGS.vectorBitSize() / 2));
+
+    // lanes of the preferred int species, bitKernels only uses this class when it is big enough
+    public static int lanes() {
+        return INTS.length();
+    }
+
+    public void getBit(int arr[], int pos, int out[]) {
+        int i = 0;
+        int bound = INTS.loopBound(arr.length);
+        for(; i<bound; i+=INTS.length()) {
+            IntVector.fromArray(INTS, arr, i).lanewise(VectorOperators.LSHR, pos).and(1).intoArray(out, i);
+        }
+        for(; i<arr.length; i++) {
+            out[i] = (arr[i] >>> pos) & 1;
+        }
+    }
+
+    public void setBit(int arr[], int pos) {
+        int bitMask = 1 << pos;
+        int i = 0;
+        int bound = INTS.loopBound(arr.length);
+        for(; i<bound; i+=INTS.length()) {
+            IntVector.fromArray(INTS, arr, i).or(bitMask).intoArray(arr, i);
+        }
+        for(; i<arr.length; i++) {
+            arr[i] |= bitMask;
+        }
+    }
+
+    public void clearBit(int arr[], int pos) {
+        int notMask = ~(1 << pos);
+        int i = 0;
+        int bound = INTS.loopBound(arr.length);
+        for(; i<bound; i+=INTS.length()) {
+            IntVector.fromArray(INTS, arr, i).and(notMask).intoArray(arr, i);
+        }
+        for(; i<arr.length; i++) {
+            arr[i] &= notMask;
+        }
+    }
+
+    public void getBit(int arr[], int pos[], int out[]) {
+        int i = 0;
+        int bound = INTS.loopBound(arr.length);
+        for(; i<bound; i+=INTS.length()) {
+            IntVector shift = IntVector.fromArray(INTS, pos, i);
+            IntVector.fromArray(INTS, arr, i).lanewise(VectorOperators.LSHR, shift).and(1).intoArray(out, i);
+        }
+        for(; i<arr.length; i++) {
+            out[i] = (arr[i] >>> pos[i]) & 1;
+        }
+    }
+
+    public void setBit(int arr[], int pos[]) {
+        IntVector one = IntVector.broadcast(INTS, 1);
+        int i = 0;
+        int bound = INTS.loopBound(arr.length);
+        for(; i<bound; i+=INTS.length()) {
+            IntVector bitMask = one.lanewise(VectorOperators.LSHL, IntVector.fromArray(INTS, pos, i));
+            IntVector.fromArray(INTS, arr, i).or(bitMask).intoArray(arr, i);
+        }
+        for(; i<arr.length; i++) {
+            arr[i] |= 1 << pos[i];
+        }
+    }
+
+    public void clearBit(int arr[], int pos[]) {
+        IntVector one = IntVector.broadcast(INTS, 1);
+        int i = 0;
+        int bound = INTS.loopBound(arr.length);
+        for(; i<bound; i+=INTS.length()) {
+            IntVector bitMask = one.lanewise(VectorOperators.LSHL, IntVector.fromArray(INTS, pos, i));
+            IntVector.fromArray(INTS, arr, i).lanewise(VectorOperators.AND_NOT, bitMask).intoArray(arr, i);
+        }
+        for(; i<arr.length; i++) {
+            arr[i] &= ~(1 << pos[i]);
+        }
+    }
+
+    public void getBit(long arr[], int pos, long out[]) {
+        int i = 0;
+        int bound = LONGS.loopBound(arr.length);
+        for(; i<bound; i+=LONGS.length()) {
+            LongVector.fromArray(LONGS, arr, i).lanewise(VectorOperators.LSHR, pos).and(1L).intoArray(out, i);
+        }
+        for(; i<arr.length; i++) {
+            out[i] = (arr[i] >>> pos) & 1;
+        }
+    }
+
+    public void setBit(long arr[], int pos) {
+        long bitMask = 1L << pos;
+        int i = 0;
+        int bound = LONGS.loopBound(arr.length);
+        for(; i<bound; i+=LONGS.length()) {
+            LongVector.fromArray(LONGS, arr, i).or(bitMask).intoArray(arr, i);
+        }
+        for(; i<arr.length; i++) {
+            arr[i] |= bitMask;
+        }
+    }
+
+    public void clearBit(long arr[], int pos) {
+        long notMask = ~(1L << pos);
+        int i = 0;
+        int bound = LONGS.loopBound(arr.length);
+        for(; i<bound; i+=LONGS.length()) {
+            LongVector.fromArray(LONGS, arr, i).and(notMask).intoArray(arr, i);
+        }
+        for(; i<arr.length; i++) {
+            arr[i] &= notMask;
+        }
+    }
+
+    // the int positions widened to one long lane each
+    static LongVector positions(int pos[], int i) {
+        return (LongVector)IntVector.fromArray(LONG_POSITIONS, pos, i).convertShape(VectorOperators.I2L, LONGS, 0);
+    }
+
+    public void getBit(long arr[], int pos[], long out[]) {
+        int i = 0;
+        int bound = LONGS.loopBound(arr.length);
+        for(; i<bound; i+=LONGS.length()) {
+            LongVector.fromArray(LONGS, arr, i).lanewise(VectorOperators.LSHR, positions(pos, i)).and(1L).intoArray(out, i);
+        }
+        for(; i<arr.length; i++) {
+            out[i] = (arr[i] >>> pos[i]) & 1;
+        }
+    }
+
+    public void setBit(long arr[], int pos[]) {
+        LongVector one = LongVector.broadcast(LONGS, 1L);
+        int i = 0;
+        int bound = LONGS.loopBound(arr.length);
+        for(; i<bound; i+=LONGS.length()) {
+            LongVector bitMask = one.lanewise(VectorOperators.LSHL, positions(pos, i));
+            LongVector.fromArray(LONGS, arr, i).or(bitMask).intoArray(arr, i);
+        }
+        for(; i<arr.length; i++) {
+            arr[i] |= 1L << pos[i];
+        }
+    }
+
+    public void clearBit(long arr[], int pos[]) {
+        LongVector one = LongVector.broadcast(LONGS, 1L);
+        int i = 0;
+        int bound = LONGS.loopBound(arr.length);
+        for(; i<bound; i+=LONGS.length()) {
+            LongVector bitMask = one.lanewise(VectorOperators.LSHL, positions(pos, i));
+            LongVector.fromArray(LONGS, arr, i).lanewise(VectorOperators.AND_NOT, bitMask).intoArray(arr, i);
+        }
+        for(; i<arr.length; i++) {
+            arr[i] &= ~(1L << pos[i]);
+        }
+    }
+}
@@ -1,4 +1,3 @@
-import java.util.Scanner;
 
 public class while_loop {
 	void print100x() {
@@ -23,7 +22,7 @@ public class while_loop {
 	}
 	
 	void print_range() {
-		Scanner sc = new Scanner(System.in);
+		fastInput sc = fastInput.in;
 		
 		System.out.println("Counter init: ");
 		int counter=sc.nextInt();
@@ -40,7 +39,7 @@ public class while_loop {
 	}
 	
 	void natural_1st() {
-		Scanner sc = new Scanner(System.in);
+		fastInput sc = fastInput.in;
 		
 		System.out.println("Enter range for natural numbers: ");
 		int n=sc.nextInt();